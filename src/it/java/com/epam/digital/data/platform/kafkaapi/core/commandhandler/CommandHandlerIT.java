@@ -27,7 +27,9 @@ import com.epam.digital.data.platform.kafkaapi.core.impl.commandhandler.TestEnti
 import com.epam.digital.data.platform.kafkaapi.core.impl.commandhandler.TestEntityUpdateCommandHandler;
 import com.epam.digital.data.platform.kafkaapi.core.impl.model.TestEntity;
 import com.epam.digital.data.platform.kafkaapi.core.impl.tabledata.TestEntityTableDataProvider;
+import com.epam.digital.data.platform.kafkaapi.core.service.EntityCache;
 import com.epam.digital.data.platform.kafkaapi.core.service.JwtInfoProvider;
+import com.epam.digital.data.platform.kafkaapi.core.service.SearchResultCache;
 import com.epam.digital.data.platform.kafkaapi.core.util.DaoTestUtils;
 import com.epam.digital.data.platform.kafkaapi.core.util.SecurityUtils;
 import com.epam.digital.data.platform.model.core.kafka.Request;
@@ -41,6 +43,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 
 @TestConfiguration
 @SpringBootTest(
@@ -55,6 +58,8 @@ import org.springframework.boot.test.context.SpringBootTest;
         TokenParser.class,
         GenericConfig.class
     })
+@MockBean(EntityCache.class)
+@MockBean(SearchResultCache.class)
 class CommandHandlerIT {
 
   @Autowired
@@ -28,7 +28,9 @@ import com.epam.digital.data.platform.kafkaapi.core.impl.commandhandler.TestEnti
 import com.epam.digital.data.platform.kafkaapi.core.impl.model.TestEntityWithAutoGeneratedValue;
 import com.epam.digital.data.platform.kafkaapi.core.impl.sequencedata.TestEntityWithAutoGeneratedValueSequenceDataProvider;
 import com.epam.digital.data.platform.kafkaapi.core.impl.tabledata.TestEntityWithAutoGeneratedValueTableDataProvider;
+import com.epam.digital.data.platform.kafkaapi.core.service.EntityCache;
 import com.epam.digital.data.platform.kafkaapi.core.service.JwtInfoProvider;
+import com.epam.digital.data.platform.kafkaapi.core.service.SearchResultCache;
 import com.epam.digital.data.platform.kafkaapi.core.service.SequenceGenerator;
 import com.epam.digital.data.platform.kafkaapi.core.util.DaoTestUtils;
 import com.epam.digital.data.platform.kafkaapi.core.util.SecurityUtils;
@@ -42,6 +44,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 
 @TestConfiguration
 @SpringBootTest(
@@ -58,6 +61,8 @@ import org.springframework.boot.test.context.SpringBootTest;
         TokenParser.class,
         GenericConfig.class
     })
+@MockBean(EntityCache.class)
+@MockBean(SearchResultCache.class)
 class TestEntityWithAutoGeneratedValueCommandHandlerIT {
 
   @Autowired
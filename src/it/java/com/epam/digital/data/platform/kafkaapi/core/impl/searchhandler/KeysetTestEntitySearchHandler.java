@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.impl.searchhandler;
+
+import com.epam.digital.data.platform.kafkaapi.core.impl.model.KeysetTestEntitySearchConditions;
+import com.epam.digital.data.platform.kafkaapi.core.impl.model.TestEntity;
+import com.epam.digital.data.platform.kafkaapi.core.searchhandler.AbstractSearchHandler;
+import com.epam.digital.data.platform.kafkaapi.core.util.PageableUtils;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.SelectFieldOrAsterisk;
+import org.jooq.impl.DSL;
+
+public class KeysetTestEntitySearchHandler
+    extends AbstractSearchHandler<KeysetTestEntitySearchConditions, TestEntity> {
+
+  @Override
+  protected Condition whereClause(KeysetTestEntitySearchConditions searchConditions) {
+    var c = DSL.noCondition();
+
+    if (searchConditions.getPersonGender() != null) {
+      c = c.and(DSL.field("person_gender").eq(searchConditions.getPersonGender()).toString());
+    }
+
+    return c;
+  }
+
+  @Override
+  public String tableName() {
+    return "test_entity_by_enum_and_name_starts_with_limit_offset_v";
+  }
+
+  @Override
+  public Class<TestEntity> entityType() {
+    return TestEntity.class;
+  }
+
+  @Override
+  public List<SelectFieldOrAsterisk> selectFields() {
+    return Arrays.asList(
+        DSL.field("id"), DSL.field("person_gender"), DSL.field("person_full_name"));
+  }
+
+  @Override
+  protected List<Field<?>> keysetFields() {
+    return List.of(DSL.field("id", UUID.class));
+  }
+
+  @Override
+  protected String continuationToken(KeysetTestEntitySearchConditions searchConditions) {
+    return searchConditions.getContinuationToken();
+  }
+
+  @Override
+  public Integer limit(KeysetTestEntitySearchConditions searchConditions) {
+    return Optional.ofNullable(searchConditions.getPageSize())
+        .orElse(PageableUtils.DEFAULT_PAGE_SIZE);
+  }
+}
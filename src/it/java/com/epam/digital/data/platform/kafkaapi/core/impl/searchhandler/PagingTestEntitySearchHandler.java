@@ -37,7 +37,6 @@ public class PagingTestEntitySearchHandler
   public SearchConditionPage<TestEntity> search(Request<PagingTestEntitySearchConditions> input) {
     var searchCriteria = input.getPayload();
     SearchConditionPage<TestEntity> response = super.search(input);
-    response.setTotalElements(count(input));
     response.setPageSize(limit(searchCriteria));
     response.setTotalPages(
         PageableUtils.getTotalPages(response.getPageSize(), response.getTotalElements()));
@@ -46,6 +45,11 @@ public class PagingTestEntitySearchHandler
     return response;
   }
 
+  @Override
+  protected boolean isPaged() {
+    return true;
+  }
+
   @Override
   protected Condition whereClause(PagingTestEntitySearchConditions searchConditions) {
     var c = DSL.noCondition();
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.queryhandler;
+
+import static com.epam.digital.data.platform.kafkaapi.core.util.DaoTestUtils.TEST_ENTITY_ID;
+import static com.epam.digital.data.platform.kafkaapi.core.util.SecurityUtils.mockSecurityContext;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.kafkaapi.core.config.GenericConfig;
+import com.epam.digital.data.platform.kafkaapi.core.config.TestConfiguration;
+import com.epam.digital.data.platform.kafkaapi.core.exception.ForbiddenOperationException;
+import com.epam.digital.data.platform.kafkaapi.core.impl.model.TestEntity;
+import com.epam.digital.data.platform.kafkaapi.core.impl.queryhandler.TestEntityQueryHandler;
+import com.epam.digital.data.platform.kafkaapi.core.impl.tabledata.TestEntityTableDataProvider;
+import com.epam.digital.data.platform.kafkaapi.core.service.AccessPermissionService;
+import com.epam.digital.data.platform.kafkaapi.core.service.EntityCache;
+import com.epam.digital.data.platform.kafkaapi.core.service.JwtInfoProvider;
+import com.epam.digital.data.platform.kafkaapi.core.service.PermissionDecisionCache;
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.epam.digital.data.platform.starter.security.jwt.TokenParser;
+import com.nimbusds.jose.JOSEException;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+@TestConfiguration
+@SpringBootTest(
+    classes = {
+        TestEntityQueryHandler.class,
+        TestEntityTableDataProvider.class,
+        AccessPermissionService.class,
+        JwtInfoProvider.class,
+        TokenParser.class,
+        GenericConfig.class
+    },
+    properties = "data-platform.permission-check.inline=true")
+@MockBean(EntityCache.class)
+class InlineAccessCheckQueryHandlerIT {
+
+  @Autowired
+  private TestEntityQueryHandler queryHandler;
+
+  @MockBean
+  private PermissionDecisionCache permissionDecisionCache;
+
+  @Test
+  void expectEntityFoundWithAccessCheckedInline() throws JOSEException {
+    Optional<TestEntity> found =
+        queryHandler.findById(new Request<>(TEST_ENTITY_ID, null, mockSecurityContext()));
+
+    assertThat(queryHandler.isAccessCheckedInline()).isTrue();
+    assertThat(found).isPresent();
+    assertThat(found.get().getId()).isEqualTo(TEST_ENTITY_ID);
+  }
+
+  @Test
+  void expectEmptyResultWhenEntityNotFound() throws JOSEException {
+    Optional<TestEntity> found =
+        queryHandler.findById(new Request<>(UUID.randomUUID(), null, mockSecurityContext()));
+
+    assertThat(found).isEmpty();
+  }
+
+  @Test
+  void expectForbiddenWhenAccessDenied() throws JOSEException {
+    when(permissionDecisionCache.get(eq("test_entity"), any(), any()))
+        .thenReturn(Optional.of(false));
+    var request = new Request<>(TEST_ENTITY_ID, null, mockSecurityContext());
+
+    assertThrows(ForbiddenOperationException.class, () -> queryHandler.findById(request));
+  }
+}
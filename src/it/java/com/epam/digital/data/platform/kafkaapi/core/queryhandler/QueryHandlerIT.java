@@ -25,6 +25,8 @@ import com.epam.digital.data.platform.kafkaapi.core.impl.model.TestEntity;
 import com.epam.digital.data.platform.kafkaapi.core.impl.queryhandler.TestEntityQueryHandler;
 import com.epam.digital.data.platform.kafkaapi.core.impl.tabledata.TestEntityTableDataProvider;
 import com.epam.digital.data.platform.kafkaapi.core.service.AccessPermissionService;
+import com.epam.digital.data.platform.kafkaapi.core.service.EntityCache;
+import com.epam.digital.data.platform.kafkaapi.core.service.PermissionDecisionCache;
 import com.epam.digital.data.platform.kafkaapi.core.service.JwtInfoProvider;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.starter.security.jwt.TokenParser;
@@ -35,6 +37,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 
 @TestConfiguration
 @SpringBootTest(
@@ -46,6 +49,8 @@ import org.springframework.boot.test.context.SpringBootTest;
         TokenParser.class,
         GenericConfig.class
     })
+@MockBean(EntityCache.class)
+@MockBean(PermissionDecisionCache.class)
 class QueryHandlerIT {
 
   @Autowired
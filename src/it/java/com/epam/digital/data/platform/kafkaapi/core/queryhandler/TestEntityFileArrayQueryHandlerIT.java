@@ -22,6 +22,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.epam.digital.data.platform.kafkaapi.core.config.GenericConfig;
 import com.epam.digital.data.platform.kafkaapi.core.impl.tabledata.TestEntityFileArrayTableDataProvider;
+import com.epam.digital.data.platform.kafkaapi.core.service.EntityCache;
+import com.epam.digital.data.platform.kafkaapi.core.service.PermissionDecisionCache;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.kafkaapi.core.config.TestConfiguration;
 import com.epam.digital.data.platform.kafkaapi.core.impl.model.TestEntityFileArray;
@@ -35,6 +37,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 
 @TestConfiguration
 @SpringBootTest(
@@ -46,6 +49,8 @@ import org.springframework.boot.test.context.SpringBootTest;
       TokenParser.class,
       GenericConfig.class
     })
+@MockBean(EntityCache.class)
+@MockBean(PermissionDecisionCache.class)
 class TestEntityFileArrayQueryHandlerIT {
 
   @Autowired
@@ -17,25 +17,41 @@
 package com.epam.digital.data.platform.kafkaapi.core.searchhandler;
 
 import com.epam.digital.data.platform.kafkaapi.core.config.TestConfiguration;
+import com.epam.digital.data.platform.kafkaapi.core.exception.ConstraintViolationException;
+import com.epam.digital.data.platform.kafkaapi.core.impl.model.KeysetTestEntitySearchConditions;
 import com.epam.digital.data.platform.kafkaapi.core.impl.model.PagingTestEntitySearchConditions;
 import com.epam.digital.data.platform.kafkaapi.core.impl.model.TestEntity;
 import com.epam.digital.data.platform.kafkaapi.core.impl.model.TestEntitySearchConditions;
 import com.epam.digital.data.platform.kafkaapi.core.impl.model.TypGender;
+import com.epam.digital.data.platform.kafkaapi.core.impl.searchhandler.KeysetTestEntitySearchHandler;
 import com.epam.digital.data.platform.kafkaapi.core.impl.searchhandler.PagingTestEntitySearchHandler;
 import com.epam.digital.data.platform.kafkaapi.core.impl.searchhandler.TestEntitySearchHandler;
+import com.epam.digital.data.platform.kafkaapi.core.model.KeysetSearchConditionPage;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.search.SearchConditionPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.epam.digital.data.platform.kafkaapi.core.util.DaoTestUtils.TEST_ENTITY;
 import static com.epam.digital.data.platform.kafkaapi.core.util.SearchHandlerTestUtil.mockRequest;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @TestConfiguration
-@SpringBootTest(classes = {TestEntitySearchHandler.class, PagingTestEntitySearchHandler.class})
+@SpringBootTest(
+    classes = {
+        TestEntitySearchHandler.class,
+        PagingTestEntitySearchHandler.class,
+        KeysetTestEntitySearchHandler.class
+    })
 class SearchHandlerIT {
 
   static final String STARTS_WITH = "John";
@@ -44,6 +60,8 @@ class SearchHandlerIT {
   TestEntitySearchHandler instance;
   @Autowired
   PagingTestEntitySearchHandler pagingInstance;
+  @Autowired
+  KeysetTestEntitySearchHandler keysetInstance;
 
   TestEntitySearchConditions searchCriteria;
   PagingTestEntitySearchConditions pagingSearchCriteria;
@@ -65,6 +83,15 @@ class SearchHandlerIT {
     assertThat(allRecords.getContent()).hasSize(3);
   }
 
+  @Test
+  void shouldStreamAllFoundEntities() {
+    List<TestEntity> streamed = new ArrayList<>();
+
+    instance.searchStreamed(request, streamed::add);
+
+    assertThat(streamed).hasSize(3);
+  }
+
   @Test
   void shouldSearchByMultipleSearchCriteria() {
     searchCriteria.setPersonFullName(STARTS_WITH);
@@ -99,4 +126,70 @@ class SearchHandlerIT {
     assertThat(found.getTotalPages()).isEqualTo(2);
     assertThat(found.getTotalElements()).isEqualTo(2);
   }
+
+  @Test
+  void shouldCountTotalWithinContentQuery() {
+    ReflectionTestUtils.setField(pagingInstance, "defaultCountStrategy", CountStrategy.WINDOW);
+    pagingSearchCriteria.setPersonFullName(STARTS_WITH);
+    pagingSearchCriteria.setPersonGender(TypGender.M);
+    pagingSearchCriteria.setPageSize(1);
+
+    try {
+      var firstPage = pagingInstance.search(pagingRequest);
+      pagingSearchCriteria.setPageNo(5);
+      var pagePastTheEnd = pagingInstance.search(pagingRequest);
+
+      assertThat(firstPage.getContent()).hasSize(1);
+      assertThat(firstPage.getTotalElements()).isEqualTo(2);
+      assertThat(firstPage.getTotalPages()).isEqualTo(2);
+      assertThat(pagePastTheEnd.getContent()).isEmpty();
+      assertThat(pagePastTheEnd.getTotalElements()).isEqualTo(2);
+    } finally {
+      ReflectionTestUtils.setField(pagingInstance, "defaultCountStrategy", CountStrategy.SEPARATE);
+    }
+  }
+
+  @Test
+  void shouldEstimateTotal() {
+    ReflectionTestUtils.setField(pagingInstance, "defaultCountStrategy", CountStrategy.ESTIMATE);
+
+    try {
+      var found = pagingInstance.search(pagingRequest);
+
+      assertThat(found.getContent()).hasSize(3);
+      assertThat(found.getTotalElements()).isNotNull().isNotNegative();
+    } finally {
+      ReflectionTestUtils.setField(pagingInstance, "defaultCountStrategy", CountStrategy.SEPARATE);
+    }
+  }
+
+  @Test
+  void shouldReadAllPagesByContinuationToken() {
+    var keysetSearchCriteria = new KeysetTestEntitySearchConditions();
+    keysetSearchCriteria.setPageSize(2);
+
+    var firstPage = (KeysetSearchConditionPage<TestEntity>) keysetInstance.search(
+        mockRequest(keysetSearchCriteria));
+    keysetSearchCriteria.setContinuationToken(firstPage.getContinuationToken());
+    var lastPage = (KeysetSearchConditionPage<TestEntity>) keysetInstance.search(
+        mockRequest(keysetSearchCriteria));
+
+    assertThat(firstPage.getContent()).hasSize(2);
+    assertThat(firstPage.getContinuationToken()).isNotNull();
+    assertThat(lastPage.getContent()).hasSize(1);
+    assertThat(lastPage.getContinuationToken()).isNull();
+    var ids = Stream.concat(firstPage.getContent().stream(), lastPage.getContent().stream())
+        .map(TestEntity::getId)
+        .collect(Collectors.toList());
+    assertThat(ids).hasSize(3).doesNotHaveDuplicates();
+  }
+
+  @Test
+  void shouldRejectMalformedContinuationToken() {
+    var keysetSearchCriteria = new KeysetTestEntitySearchConditions();
+    keysetSearchCriteria.setContinuationToken("malformed");
+    var keysetRequest = mockRequest(keysetSearchCriteria);
+
+    assertThrows(ConstraintViolationException.class, () -> keysetInstance.search(keysetRequest));
+  }
 }
@@ -16,6 +16,7 @@
 
 package com.epam.digital.data.platform.kafkaapi.core.aspect;
 
+import com.epam.digital.data.platform.kafkaapi.core.exception.ExternalCallRejectedException;
 import com.epam.digital.data.platform.model.core.kafka.Response;
 import com.epam.digital.data.platform.model.core.kafka.Status;
 import com.epam.digital.data.platform.starter.actuator.livenessprobe.LivenessStateHandler;
@@ -40,7 +41,12 @@ public class LivenessStateCheckAspect implements KafkaResponseListenerAspect {
 
   @Override
   public void handleKafkaResponse(Message<? extends Response> response) {
-    livenessStateHandler
-        .handleResponse(response.getPayload().getStatus(), LIVENESS_UNHEALTHY_STATUSES::contains);
+    var payload = response.getPayload();
+    // calls rejected by an open circuit breaker or a full bulkhead were never made, they say
+    // nothing about the health of the application
+    if (ExternalCallRejectedException.DETAILS.equals(payload.getDetails())) {
+      return;
+    }
+    livenessStateHandler.handleResponse(payload.getStatus(), LIVENESS_UNHEALTHY_STATUSES::contains);
   }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.aspect;
+
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.DecodedValues;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.RequestFormatHolder;
+import java.util.Arrays;
+import java.util.Optional;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the wire format of the consumed request to the response creation for the time the
+ * listener is running.
+ */
+@Aspect
+@Component
+public class RequestFormatAspect {
+
+  @Around("@annotation(org.springframework.kafka.annotation.KafkaListener)")
+  Object requestFormatAdvice(ProceedingJoinPoint joinPoint) throws Throwable {
+    var requestFormat = Arrays.stream(joinPoint.getArgs())
+        .map(DecodedValues::formatOf)
+        .flatMap(Optional::stream)
+        .findFirst();
+    if (requestFormat.isEmpty()) {
+      return joinPoint.proceed();
+    }
+
+    RequestFormatHolder.set(requestFormat.get());
+    try {
+      return joinPoint.proceed();
+    } finally {
+      RequestFormatHolder.reset();
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.aspect;
+
+import com.epam.digital.data.platform.kafkaapi.core.config.ResilienceConfig;
+import com.epam.digital.data.platform.kafkaapi.core.exception.ExternalCallRejectedException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Guards calls to external services with a bulkhead, which bounds the number of concurrent calls
+ * per service, and a circuit breaker, which fails calls fast while the service is unavailable and
+ * lets a few probe calls through after the wait duration. Rejected calls fail with
+ * {@link ExternalCallRejectedException}, so a sick service does not hold listener threads that
+ * are needed by requests not depending on it, and the rejections do not affect the liveness.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "data-platform.resilience.enabled", havingValue = "true",
+    matchIfMissing = true)
+public class ResilienceAspect {
+
+  private final CircuitBreakerRegistry circuitBreakerRegistry;
+  private final BulkheadRegistry bulkheadRegistry;
+
+  public ResilienceAspect(CircuitBreakerRegistry circuitBreakerRegistry,
+      BulkheadRegistry bulkheadRegistry) {
+    this.circuitBreakerRegistry = circuitBreakerRegistry;
+    this.bulkheadRegistry = bulkheadRegistry;
+  }
+
+  @Around("within(com.epam.digital.data.platform.integration.ceph.service.CephService+)"
+      + " || within(com.epam.digital.data.platform.kafkaapi.core.service.AsyncCephService)")
+  public Object guardCephCommunication(ProceedingJoinPoint joinPoint) throws Throwable {
+    return guard(joinPoint, ResilienceConfig.CEPH);
+  }
+
+  @Around("within(com.epam.digital.data.platform.dso.client.*+)"
+      + " || within(com.epam.digital.data.platform.kafkaapi.core.service.AsyncDigitalSealClient)")
+  public Object guardDsoCommunication(ProceedingJoinPoint joinPoint) throws Throwable {
+    return guard(joinPoint, ResilienceConfig.DIGITAL_SIGNATURE_OPS);
+  }
+
+  @Around("within(com.epam.digital.data.platform.integration.idm.service.PublicIdmService+)")
+  public Object guardIdmCommunication(ProceedingJoinPoint joinPoint) throws Throwable {
+    return guard(joinPoint, ResilienceConfig.IDM);
+  }
+
+  Object guard(ProceedingJoinPoint joinPoint, String dependency) throws Throwable {
+    var bulkhead = bulkheadRegistry.bulkhead(dependency);
+    var circuitBreaker = circuitBreakerRegistry.circuitBreaker(dependency);
+    var returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+    if (CompletionStage.class.isAssignableFrom(returnType)) {
+      return guardAsync(joinPoint, bulkhead, circuitBreaker);
+    }
+
+    acquirePermissions(bulkhead, circuitBreaker);
+    long start = System.nanoTime();
+    try {
+      var result = joinPoint.proceed();
+      circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return result;
+    } catch (Throwable e) {
+      circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+      throw e;
+    } finally {
+      bulkhead.onComplete();
+    }
+  }
+
+  private CompletableFuture<?> guardAsync(ProceedingJoinPoint joinPoint, Bulkhead bulkhead,
+      CircuitBreaker circuitBreaker) throws Throwable {
+    try {
+      acquirePermissions(bulkhead, circuitBreaker);
+    } catch (ExternalCallRejectedException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+
+    long start = System.nanoTime();
+    CompletionStage<?> stage;
+    try {
+      stage = (CompletionStage<?>) joinPoint.proceed();
+    } catch (Throwable e) {
+      circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+      bulkhead.onComplete();
+      throw e;
+    }
+    return stage.toCompletableFuture().whenComplete((result, e) -> {
+      bulkhead.onComplete();
+      if (e == null) {
+        circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      } else {
+        var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, cause);
+      }
+    });
+  }
+
+  private void acquirePermissions(Bulkhead bulkhead, CircuitBreaker circuitBreaker) {
+    if (!bulkhead.tryAcquirePermission()) {
+      throw new ExternalCallRejectedException(
+          String.format("Too many concurrent calls to %s", bulkhead.getName()));
+    }
+    if (!circuitBreaker.tryAcquirePermission()) {
+      bulkhead.onComplete();
+      throw new ExternalCallRejectedException(
+          String.format("Circuit breaker of %s is %s, the call is not permitted",
+              circuitBreaker.getName(), circuitBreaker.getState()));
+    }
+  }
+}
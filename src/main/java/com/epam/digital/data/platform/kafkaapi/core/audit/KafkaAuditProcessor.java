@@ -16,19 +16,26 @@
 
 package com.epam.digital.data.platform.kafkaapi.core.audit;
 
+import static com.epam.digital.data.platform.kafkaapi.core.util.Header.X_ACCESS_TOKEN;
+
 import com.epam.digital.data.platform.kafkaapi.core.exception.AuditException;
 import com.epam.digital.data.platform.kafkaapi.core.util.Operation;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Response;
+import com.epam.digital.data.platform.model.core.kafka.SecurityContext;
 import com.epam.digital.data.platform.model.core.kafka.Status;
 import com.epam.digital.data.platform.starter.audit.model.EventType;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -57,7 +64,7 @@ public class KafkaAuditProcessor implements AuditProcessor<Operation> {
 
   @Override
   public Object process(ProceedingJoinPoint joinPoint, Operation operation) throws Throwable {
-    var request = getArgumentByType(joinPoint, Request.class);
+    var request = getRequest(joinPoint);
     switch (operation) {
       case CREATE:
         return prepareAndSendKafkaAudit(joinPoint, request, CREATE);
@@ -76,6 +83,36 @@ public class KafkaAuditProcessor implements AuditProcessor<Operation> {
     }
   }
 
+  private Request<?> getRequest(ProceedingJoinPoint joinPoint) {
+    boolean hasRequestArgument = Arrays.stream(joinPoint.getArgs())
+        .anyMatch(arg -> arg != null && arg.getClass().equals(Request.class));
+    if (hasRequestArgument) {
+      return getArgumentByType(joinPoint, Request.class);
+    }
+
+    // listeners consuming raw records have no deserialized request yet, only the token header
+    var securityContext = new SecurityContext();
+    securityContext.setAccessToken(getAccessTokenHeader(joinPoint));
+    return new Request<>(null, null, securityContext);
+  }
+
+  private String getAccessTokenHeader(ProceedingJoinPoint joinPoint) {
+    var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    var parameterAnnotations = method.getParameterAnnotations();
+    for (int i = 0; i < parameterAnnotations.length; i++) {
+      for (Annotation annotation : parameterAnnotations[i]) {
+        if (annotation instanceof Header && isAccessTokenHeader((Header) annotation)) {
+          return (String) joinPoint.getArgs()[i];
+        }
+      }
+    }
+    throw new AuditException("Neither request nor access token header found in listener arguments");
+  }
+
+  private boolean isAccessTokenHeader(Header header) {
+    return X_ACCESS_TOKEN.equals(header.value()) || X_ACCESS_TOKEN.equals(header.name());
+  }
+
   private Object prepareAndSendKafkaAudit(ProceedingJoinPoint joinPoint, Request<?> request,
       String action) throws Throwable {
 
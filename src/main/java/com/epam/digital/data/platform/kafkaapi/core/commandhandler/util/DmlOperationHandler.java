@@ -19,6 +19,8 @@ package com.epam.digital.data.platform.kafkaapi.core.commandhandler.util;
 import com.epam.digital.data.platform.kafkaapi.core.audit.AuditableDatabaseOperation;
 import com.epam.digital.data.platform.kafkaapi.core.commandhandler.model.DmlOperationArgs;
 import com.epam.digital.data.platform.kafkaapi.core.exception.ProcedureErrorException;
+import com.epam.digital.data.platform.kafkaapi.core.service.EntityCache;
+import com.epam.digital.data.platform.kafkaapi.core.service.SearchResultCache;
 import com.epam.digital.data.platform.kafkaapi.core.util.JwtClaimsUtils;
 import com.epam.digital.data.platform.kafkaapi.core.util.Operation;
 import com.epam.digital.data.platform.kafkaapi.core.util.SQLExceptionResolverUtil;
@@ -42,9 +44,14 @@ public class DmlOperationHandler {
   private final Logger log = LoggerFactory.getLogger(DmlOperationHandler.class);
 
   private final DataSource dataSource;
+  private final EntityCache entityCache;
+  private final SearchResultCache searchResultCache;
 
-  public DmlOperationHandler(DataSource dataSource) {
+  public DmlOperationHandler(DataSource dataSource, EntityCache entityCache,
+      SearchResultCache searchResultCache) {
     this.dataSource = dataSource;
+    this.entityCache = entityCache;
+    this.searchResultCache = searchResultCache;
   }
 
   @AuditableDatabaseOperation(Operation.CREATE)
@@ -63,6 +70,7 @@ public class DmlOperationHandler {
 
       ResultSet resultSet = statement.executeQuery();
       if (resultSet.next()) {
+        searchResultCache.incrementVersionOnCommit(args.getTableName());
         return resultSet.getString(INSERT_ID_COLUMN);
       } else {
         throw new ProcedureErrorException(
@@ -89,6 +97,8 @@ public class DmlOperationHandler {
       statement.setArray(5, rolesDbArray);
 
       statement.execute();
+      entityCache.invalidateOnCommit(args.getTableName(), args.getEntityId());
+      searchResultCache.incrementVersionOnCommit(args.getTableName());
     } catch (SQLException e) {
       throw SQLExceptionResolverUtil.getDetailedExceptionFromSql(e);
     }
@@ -109,6 +119,8 @@ public class DmlOperationHandler {
       statement.setArray(4, rolesDbArray);
 
       statement.execute();
+      entityCache.invalidateOnCommit(args.getTableName(), args.getEntityId());
+      searchResultCache.incrementVersionOnCommit(args.getTableName());
     } catch (SQLException e) {
       throw SQLExceptionResolverUtil.getDetailedExceptionFromSql(e);
     }
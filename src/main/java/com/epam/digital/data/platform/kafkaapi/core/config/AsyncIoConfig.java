@@ -0,0 +1,176 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.config;
+
+import com.epam.digital.data.platform.dso.api.dto.VerificationRequestDto;
+import com.epam.digital.data.platform.dso.client.DigitalSealRestClient;
+import com.epam.digital.data.platform.kafkaapi.core.service.AsyncCephService;
+import com.epam.digital.data.platform.kafkaapi.core.service.AsyncDigitalSealClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Feign;
+import feign.RequestInterceptor;
+import feign.codec.ErrorDecoder;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.cloud.openfeign.FeignContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = AsyncIoConfig.ENABLED_PROPERTY, havingValue = "true")
+public class AsyncIoConfig {
+
+  public static final String ENABLED_PROPERTY = "data-platform.async-io.enabled";
+  public static final String DATAFACTORY_ASYNC_CEPH_SERVICE = "datafactoryAsyncCephService";
+  public static final String DATAFACTORY_RESPONSE_ASYNC_CEPH_SERVICE =
+      "datafactoryResponseAsyncCephService";
+
+  @Value("${data-platform.async-io.ceph.max-concurrency:64}")
+  private int cephMaxConcurrency;
+
+  @Bean(destroyMethod = "close")
+  public S3AsyncClient datafactoryCephAsyncClient(
+      @Value("${ceph.http-endpoint}") String uri,
+      @Value("${ceph.access-key}") String accessKey,
+      @Value("${ceph.secret-key}") String secretKey) {
+    return s3AsyncClient(uri, accessKey, secretKey);
+  }
+
+  @Bean(destroyMethod = "close")
+  public S3AsyncClient datafactoryResponseCephAsyncClient(
+      @Value("${datafactory-response-ceph.http-endpoint}") String uri,
+      @Value("${datafactory-response-ceph.access-key}") String accessKey,
+      @Value("${datafactory-response-ceph.secret-key}") String secretKey) {
+    return s3AsyncClient(uri, accessKey, secretKey);
+  }
+
+  @Bean(DATAFACTORY_ASYNC_CEPH_SERVICE)
+  public AsyncCephService datafactoryAsyncCephService(
+      @Qualifier("datafactoryCephAsyncClient") S3AsyncClient s3AsyncClient) {
+    return new AsyncCephService(s3AsyncClient);
+  }
+
+  @Bean(DATAFACTORY_RESPONSE_ASYNC_CEPH_SERVICE)
+  public AsyncCephService datafactoryResponseAsyncCephService(
+      @Qualifier("datafactoryResponseCephAsyncClient") S3AsyncClient s3AsyncClient) {
+    return new AsyncCephService(s3AsyncClient);
+  }
+
+  /**
+   * The endpoint and the error decoder are taken from the {@link DigitalSealRestClient} feign
+   * client, so both clients call the same service and fail in the same way.
+   */
+  @Bean
+  public AsyncDigitalSealClient asyncDigitalSealClient(
+      @Value("${data-platform.async-io.dso.connect-timeout:5s}") Duration connectTimeout,
+      @Value("${data-platform.async-io.dso.request-timeout:30s}") Duration requestTimeout,
+      Environment environment,
+      FeignContext feignContext,
+      ObjectMapper objectMapper) {
+    var feignClient = Objects.requireNonNull(
+        AnnotatedElementUtils.findMergedAnnotation(DigitalSealRestClient.class, FeignClient.class),
+        "DigitalSealRestClient is not a feign client");
+    var verifyMethod = Objects.requireNonNull(
+        ReflectionUtils.findMethod(DigitalSealRestClient.class, "verify",
+            VerificationRequestDto.class),
+        "DigitalSealRestClient has no verify method");
+
+    var contextId = StringUtils.hasText(feignClient.contextId())
+        ? feignClient.contextId()
+        : feignClient.name();
+    var clientName = environment.resolvePlaceholders(contextId);
+    var errorDecoder = feignContext.getInstance(clientName, ErrorDecoder.class);
+    // the same interceptors, in the same order, as the feign client applies
+    var requestInterceptors = new ArrayList<RequestInterceptor>();
+    var interceptorBeans = feignContext.getInstances(clientName, RequestInterceptor.class);
+    if (interceptorBeans != null) {
+      requestInterceptors.addAll(interceptorBeans.values());
+    }
+    AnnotationAwareOrderComparator.sort(requestInterceptors);
+
+    var httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(connectTimeout)
+        .build();
+    return new AsyncDigitalSealClient(
+        httpClient,
+        verifyUri(environment, feignClient, verifyMethod),
+        requestTimeout,
+        objectMapper,
+        errorDecoder != null ? errorDecoder : new ErrorDecoder.Default(),
+        Feign.configKey(DigitalSealRestClient.class, verifyMethod),
+        requestInterceptors);
+  }
+
+  private URI verifyUri(Environment environment, FeignClient feignClient, Method verifyMethod) {
+    var mapping = Objects.requireNonNull(
+        AnnotatedElementUtils.findMergedAnnotation(verifyMethod, RequestMapping.class),
+        "DigitalSealRestClient.verify has no request mapping");
+    // the same defaults as feign uses: the client name without the url and http without a scheme
+    var url = environment.resolveRequiredPlaceholders(
+        StringUtils.hasText(feignClient.url()) ? feignClient.url() : feignClient.name());
+    if (!url.contains("://")) {
+      url = "http://" + url;
+    }
+    var path = environment.resolveRequiredPlaceholders(feignClient.path());
+    var methodPath = mapping.path().length > 0
+        ? environment.resolveRequiredPlaceholders(mapping.path()[0])
+        : "";
+    return URI.create(trimSlashes(url) + segment(path) + segment(methodPath));
+  }
+
+  private String segment(String path) {
+    var trimmed = trimSlashes(path);
+    return trimmed.isEmpty() ? "" : "/" + trimmed;
+  }
+
+  private String trimSlashes(String path) {
+    return StringUtils.trimTrailingCharacter(StringUtils.trimLeadingCharacter(path, '/'), '/');
+  }
+
+  private S3AsyncClient s3AsyncClient(String uri, String accessKey, String secretKey) {
+    return S3AsyncClient.builder()
+        .endpointOverride(URI.create(uri))
+        // ceph ignores the region, but the sdk requires one to sign requests
+        .region(Region.US_EAST_1)
+        .credentialsProvider(
+            StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)))
+        .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+        .httpClientBuilder(NettyNioAsyncHttpClient.builder().maxConcurrency(cephMaxConcurrency))
+        .build();
+  }
+}
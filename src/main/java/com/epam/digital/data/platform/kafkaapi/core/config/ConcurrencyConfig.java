@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ConcurrencyConfig {
+
+  public static final String INPUT_VALIDATION_EXECUTOR = "inputValidationExecutor";
+  public static final String SPECULATIVE_VALIDATION_EXECUTOR = "speculativeValidationExecutor";
+  public static final String CEPH_READ_EXECUTOR = "cephReadExecutor";
+  public static final String SEARCH_COUNT_EXECUTOR = "searchCountExecutor";
+
+  @Bean(INPUT_VALIDATION_EXECUTOR)
+  public ThreadPoolTaskExecutor inputValidationExecutor(
+      @Value("${data-platform.kafka-request.validation.checks-parallelism:32}") int parallelism,
+      @Value("${data-platform.kafka-request.validation.queue-capacity:256}") int queueCapacity) {
+    return boundedExecutor("input-validation-", parallelism, queueCapacity);
+  }
+
+  // the whole validation runs here, so it never waits for its own checks queued in the same pool
+  @Bean(SPECULATIVE_VALIDATION_EXECUTOR)
+  public ThreadPoolTaskExecutor speculativeValidationExecutor(
+      @Value("${data-platform.kafka-request.speculative-execution.parallelism:32}") int parallelism,
+      @Value("${data-platform.kafka-request.speculative-execution.queue-capacity:256}")
+          int queueCapacity) {
+    return boundedExecutor("speculative-validation-", parallelism, queueCapacity);
+  }
+
+  @Bean(CEPH_READ_EXECUTOR)
+  public ThreadPoolTaskExecutor cephReadExecutor(
+      @Value("${ceph.hedging.parallelism:32}") int parallelism,
+      @Value("${ceph.hedging.queue-capacity:256}") int queueCapacity) {
+    return boundedExecutor("ceph-read-", parallelism, queueCapacity);
+  }
+
+  @Bean(SEARCH_COUNT_EXECUTOR)
+  public ThreadPoolTaskExecutor searchCountExecutor(
+      @Value("${data-platform.search.count.parallelism:16}") int parallelism,
+      @Value("${data-platform.search.count.queue-capacity:256}") int queueCapacity) {
+    return boundedExecutor("search-count-", parallelism, queueCapacity);
+  }
+
+  private ThreadPoolTaskExecutor boundedExecutor(
+      String threadNamePrefix, int parallelism, int queueCapacity) {
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(parallelism);
+    executor.setMaxPoolSize(parallelism);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix(threadNamePrefix);
+    // when the pool is saturated the caller runs the task itself, which keeps the number of
+    // concurrent calls to external services bounded
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    return executor;
+  }
+}
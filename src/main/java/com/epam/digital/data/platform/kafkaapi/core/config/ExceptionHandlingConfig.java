@@ -0,0 +1,54 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.config;
+
+import com.epam.digital.data.platform.kafkaapi.core.exception.RequestProcessingException;
+import com.epam.digital.data.platform.kafkaapi.core.util.RequestProcessingErrorLogger;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExceptionHandlingConfig {
+
+  @Value("${data-platform.exceptions.lightweight-statuses:CONSTRAINT_VIOLATION,FORBIDDEN_OPERATION,JWT_EXPIRED,JWT_INVALID,NOT_FOUND}")
+  private String[] lightweightStatuses;
+
+  @Value("${data-platform.exceptions.max-stack-traces-per-second:10}")
+  private long maxStackTracesPerSecond;
+
+  @PostConstruct
+  void postConstruct() {
+    RequestProcessingException.setLightweightStatuses(
+        Arrays.stream(lightweightStatuses)
+            .map(String::trim)
+            .filter(status -> !status.isEmpty())
+            .map(Status::valueOf)
+            .collect(Collectors.toSet()));
+    RequestProcessingErrorLogger.setMaxStackTracesPerSecond(maxStackTracesPerSecond);
+  }
+
+  // the settings are static, they must not outlive the context that set them
+  @PreDestroy
+  void preDestroy() {
+    RequestProcessingException.resetLightweightStatuses();
+  }
+}
@@ -19,6 +19,7 @@ package com.epam.digital.data.platform.kafkaapi.core.config;
 import com.epam.digital.data.platform.kafkaapi.core.dbserializer.LineSerializer;
 import com.epam.digital.data.platform.kafkaapi.core.dbserializer.PointSerializer;
 import com.epam.digital.data.platform.kafkaapi.core.dbserializer.PolygonSerializer;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.PayloadFormat;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -36,10 +37,7 @@ public class GenericConfig {
   @Primary
   @Bean
   public ObjectMapper objectMapper() {
-    final ObjectMapper mapper = new ObjectMapper();
-    mapper.registerModule(new JavaTimeModule());
-    mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-    return mapper;
+    return PayloadFormat.JSON.createObjectMapper();
   }
 
   @Bean("hstoreSerializingMapper")
@@ -16,11 +16,13 @@
 
 package com.epam.digital.data.platform.kafkaapi.core.config;
 
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.ContentTypeSerializer;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.PayloadFormat;
 import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 @Configuration
 public class KafkaConfig {
@@ -31,7 +33,8 @@ public class KafkaConfig {
   }
 
   @Bean
-  public <I> Serializer<I> valueSerializer() {
-    return new JsonSerializer<>();
+  public <I> ContentTypeSerializer<I> valueSerializer(
+      @Value("${data-platform.kafka.value-format:json}") String valueFormat) {
+    return new ContentTypeSerializer<>(PayloadFormat.fromName(valueFormat));
   }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.config;
+
+import com.epam.digital.data.platform.kafkaapi.core.service.RenderedQueryCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jooq.ExecuteListenerProvider;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Render metrics are only needed to compare the render time saved by the rendered query cache, so
+ * the listener is registered only when the cache is enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = RenderedQueryCache.ENABLED_PROPERTY, havingValue = "true")
+public class QueryMetricsConfig {
+
+  @Bean
+  public ExecuteListenerProvider renderMetricsExecuteListenerProvider(
+      MeterRegistry meterRegistry) {
+    return new DefaultExecuteListenerProvider(new RenderMetricsExecuteListener(meterRegistry));
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.jooq.ExecuteContext;
+import org.jooq.Select;
+import org.jooq.impl.DefaultExecuteListener;
+
+/**
+ * Records the time jOOQ spends rendering the SQL of each query. Selects built with the DSL are
+ * tagged as {@code dsl}, other queries, including the ones executed from the
+ * {@link com.epam.digital.data.platform.kafkaapi.core.service.RenderedQueryCache}, as
+ * {@code plain-sql}, so the render time saved by the cache can be compared.
+ */
+public class RenderMetricsExecuteListener extends DefaultExecuteListener {
+
+  static final String RENDER_TIMER = "jooq.query.render";
+  private static final String RENDER_START = "render-metrics.start";
+
+  private final Timer dslRenderTimer;
+  private final Timer plainSqlRenderTimer;
+
+  public RenderMetricsExecuteListener(MeterRegistry meterRegistry) {
+    this.dslRenderTimer = Timer.builder(RENDER_TIMER)
+        .tag("source", "dsl")
+        .register(meterRegistry);
+    this.plainSqlRenderTimer = Timer.builder(RENDER_TIMER)
+        .tag("source", "plain-sql")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void renderStart(ExecuteContext ctx) {
+    ctx.data(RENDER_START, System.nanoTime());
+  }
+
+  @Override
+  public void renderEnd(ExecuteContext ctx) {
+    var start = ctx.data(RENDER_START);
+    if (start == null) {
+      return;
+    }
+    var timer = ctx.query() instanceof Select ? dslRenderTimer : plainSqlRenderTimer;
+    timer.record(System.nanoTime() - (Long) start, TimeUnit.NANOSECONDS);
+  }
+}
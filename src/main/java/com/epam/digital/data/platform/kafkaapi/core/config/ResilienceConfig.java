@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.config;
+
+import com.epam.digital.data.platform.dso.client.exception.BadRequestException;
+import com.epam.digital.data.platform.dso.client.exception.InvalidSignatureException;
+import com.epam.digital.data.platform.integration.ceph.exception.MisconfigurationException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ResilienceConfig {
+
+  public static final String CEPH = "ceph";
+  public static final String DIGITAL_SIGNATURE_OPS = "digital-signature-ops";
+  public static final String IDM = "idm";
+  public static final List<String> DEPENDENCIES = List.of(CEPH, DIGITAL_SIGNATURE_OPS, IDM);
+
+  @Bean
+  public CircuitBreakerRegistry circuitBreakerRegistry(
+      @Value("${data-platform.resilience.circuit-breaker.failure-rate-threshold:50}")
+          float failureRateThreshold,
+      @Value("${data-platform.resilience.circuit-breaker.slow-call-rate-threshold:100}")
+          float slowCallRateThreshold,
+      @Value("${data-platform.resilience.circuit-breaker.slow-call-duration-threshold:10s}")
+          Duration slowCallDurationThreshold,
+      @Value("${data-platform.resilience.circuit-breaker.sliding-window-size:50}")
+          int slidingWindowSize,
+      @Value("${data-platform.resilience.circuit-breaker.minimum-number-of-calls:20}")
+          int minimumNumberOfCalls,
+      @Value("${data-platform.resilience.circuit-breaker.wait-duration-in-open-state:30s}")
+          Duration waitDurationInOpenState,
+      @Value("${data-platform.resilience.circuit-breaker.permitted-calls-in-half-open-state:5}")
+          int permittedCallsInHalfOpenState,
+      MeterRegistry meterRegistry) {
+    var config = CircuitBreakerConfig.custom()
+        .failureRateThreshold(failureRateThreshold)
+        .slowCallRateThreshold(slowCallRateThreshold)
+        .slowCallDurationThreshold(slowCallDurationThreshold)
+        .slidingWindowSize(slidingWindowSize)
+        .minimumNumberOfCalls(minimumNumberOfCalls)
+        .waitDurationInOpenState(waitDurationInOpenState)
+        .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+        .automaticTransitionFromOpenToHalfOpenEnabled(true)
+        // the dependency has responded, the request itself is wrong
+        .ignoreExceptions(MisconfigurationException.class, InvalidSignatureException.class,
+            BadRequestException.class)
+        .build();
+    var registry = CircuitBreakerRegistry.of(config);
+    DEPENDENCIES.forEach(registry::circuitBreaker);
+    TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+    return registry;
+  }
+
+  @Bean
+  public BulkheadRegistry bulkheadRegistry(
+      @Value("${data-platform.resilience.bulkhead.max-concurrent-calls:32}")
+          int maxConcurrentCalls,
+      @Value("${data-platform.resilience.bulkhead.max-wait-duration:0s}")
+          Duration maxWaitDuration,
+      MeterRegistry meterRegistry) {
+    var config = BulkheadConfig.custom()
+        .maxConcurrentCalls(maxConcurrentCalls)
+        .maxWaitDuration(maxWaitDuration)
+        .build();
+    var registry = BulkheadRegistry.of(config);
+    DEPENDENCIES.forEach(registry::bulkhead);
+    TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+    return registry;
+  }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.converter.jooq;
+
+import com.epam.digital.data.platform.model.core.kafka.File;
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+import org.jooq.Row;
+import org.jooq.exception.MappingException;
+import org.jooq.tools.Convert;
+import org.jooq.tools.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maps records to entities with method handles compiled once per entity type and record fields.
+ * Every column is written with the setter, or else the field, of the entity named as the column
+ * or as the column in camel case. Values are converted like jOOQ's {@code DefaultRecordMapper}
+ * does, and {@link File} and {@code List<File>} values read without the converted data types are
+ * converted with the {@link FileConverter} and the {@link FileListConverter}.
+ *
+ * <p>Records of entities that can't be compiled, e.g. without a no-argument constructor, and
+ * records whose values can't be converted are mapped by the fallback mapper. A record that fails
+ * to be mapped doesn't affect the mapping of other records. A mapper instance may be shared by
+ * threads, and looks up the mapping once per result mapped by a thread. Mappings are compiled for
+ * at most {@value #MAX_COMPILED_MAPPERS} entity types and record fields.
+ */
+public class EntityRecordMapper<O> implements RecordMapper<Record, O> {
+
+  private static final Logger log = LoggerFactory.getLogger(EntityRecordMapper.class);
+
+  static final int MAX_COMPILED_MAPPERS = 1000;
+
+  private static final Cache<String, CompiledMapper> COMPILED_MAPPERS =
+      Caffeine.newBuilder().maximumSize(MAX_COMPILED_MAPPERS).build();
+  @SuppressWarnings("unchecked")
+  private static final CompiledMapper NOT_COMPILED =
+      new CompiledMapper(null, new int[0], new MethodHandle[0], new UnaryOperator[0]);
+  private static final MethodType SETTER_TYPE =
+      MethodType.methodType(void.class, Object.class, Object.class);
+  private static final FileConverter FILE_CONVERTER = new FileConverter();
+  private static final FileListConverter FILE_LIST_CONVERTER = new FileListConverter();
+
+  private final Class<O> entityType;
+  private final boolean allColumnsMapped;
+  private final RecordMapper<Record, O> fallback;
+
+  private final ThreadLocal<Shape> lastShape = new ThreadLocal<>();
+
+  /**
+   * @param allColumnsMapped {@code true} if the entity is mapped by the fallback unless every
+   *                         column has a property and no property is bound by Jackson annotations
+   */
+  public EntityRecordMapper(Class<O> entityType, boolean allColumnsMapped,
+      RecordMapper<Record, O> fallback) {
+    this.entityType = entityType;
+    this.allColumnsMapped = allColumnsMapped;
+    this.fallback = fallback;
+  }
+
+  @Override
+  public O map(Record record) {
+    var compiledMapper = compiledMapper(record);
+    if (compiledMapper == NOT_COMPILED) {
+      return fallback.map(record);
+    }
+
+    try {
+      return entityType.cast(compiledMapper.map(record));
+    } catch (RuntimeException e) {
+      log.debug("Couldn't map record to {}, mapping with the fallback: {}", entityType.getName(),
+          e.getMessage());
+      return fallback.map(record);
+    }
+  }
+
+  // records of a result share their row, so the key is built once per result
+  private CompiledMapper compiledMapper(Record record) {
+    var shape = lastShape.get();
+    if (shape == null || shape.row != record.fieldsRow()) {
+      var fields = record.fields();
+      var key = key(fields);
+      var compiledMapper = shape != null && key.equals(shape.key)
+          ? shape.compiledMapper
+          : COMPILED_MAPPERS.get(key, k -> compile(fields));
+      shape = new Shape(record.fieldsRow(), key, compiledMapper);
+      lastShape.set(shape);
+    }
+    return shape.compiledMapper;
+  }
+
+  private String key(Field<?>[] fields) {
+    return entityType.getName() + "|" + allColumnsMapped + "|" + Arrays.stream(fields)
+        .map(field -> field.getName() + ":" + field.getType().getName())
+        .collect(Collectors.joining(","));
+  }
+
+  @SuppressWarnings("unchecked")
+  private CompiledMapper compile(Field<?>[] fields) {
+    try {
+      var lookup = MethodHandles.privateLookupIn(entityType, MethodHandles.lookup());
+      var constructor = lookup.findConstructor(entityType, MethodType.methodType(void.class))
+          .asType(MethodType.methodType(Object.class));
+
+      var setters = setters();
+      var columns = new int[fields.length];
+      var handles = new MethodHandle[fields.length];
+      var conversions = new UnaryOperator[fields.length];
+      int mapped = 0;
+      for (int i = 0; i < fields.length; i++) {
+        var name = fields[i].getName();
+        var setter = setters.getOrDefault(name, setters.get(StringUtils.toCamelCaseLC(name)));
+        var property = setter != null ? null : property(name);
+        if (setter == null && property == null) {
+          if (allColumnsMapped) {
+            return NOT_COMPILED;
+          }
+          continue;
+        }
+        if (allColumnsMapped && isBoundByJackson(setter != null ? setter : property)) {
+          return NOT_COMPILED;
+        }
+
+        columns[mapped] = i;
+        handles[mapped] = (setter != null ? lookup.unreflect(setter)
+            : lookup.unreflectSetter(property)).asType(SETTER_TYPE);
+        conversions[mapped] = setter != null
+            ? conversion(setter.getParameterTypes()[0], setter.getGenericParameterTypes()[0])
+            : conversion(property.getType(), property.getGenericType());
+        mapped++;
+      }
+      return new CompiledMapper(constructor, Arrays.copyOf(columns, mapped),
+          Arrays.copyOf(handles, mapped), Arrays.copyOf(conversions, mapped));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      log.debug("Entity {} is mapped with the fallback: {}", entityType.getName(), e.getMessage());
+      return NOT_COMPILED;
+    }
+  }
+
+  private Map<String, Method> setters() {
+    var setters = new HashMap<String, Method>();
+    for (Method method : entityType.getMethods()) {
+      var name = method.getName();
+      if (name.length() > 3 && name.startsWith("set") && method.getParameterCount() == 1
+          && !Modifier.isStatic(method.getModifiers())) {
+        setters.putIfAbsent(Character.toLowerCase(name.charAt(3)) + name.substring(4), method);
+      }
+    }
+    return setters;
+  }
+
+  private java.lang.reflect.Field property(String columnName) {
+    var camelCaseName = StringUtils.toCamelCaseLC(columnName);
+    for (Class<?> type = entityType; type != Object.class; type = type.getSuperclass()) {
+      for (var field : type.getDeclaredFields()) {
+        int modifiers = field.getModifiers();
+        if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers)
+            && (field.getName().equals(columnName) || field.getName().equals(camelCaseName))) {
+          return field;
+        }
+      }
+    }
+    return null;
+  }
+
+  private boolean isBoundByJackson(AnnotatedElement property) {
+    return property.isAnnotationPresent(JsonProperty.class)
+        || property.isAnnotationPresent(JsonAlias.class)
+        || property.isAnnotationPresent(JsonSetter.class)
+        || property.isAnnotationPresent(JsonIgnore.class)
+        || property.isAnnotationPresent(JsonDeserialize.class);
+  }
+
+  private static UnaryOperator<Object> conversion(Class<?> type, Type genericType) {
+    if (File.class.equals(type)) {
+      return value -> value == null || value instanceof File ? value : FILE_CONVERTER.from(value);
+    }
+    if (Collection.class.isAssignableFrom(type) && genericType instanceof ParameterizedType
+        && File.class.equals(((ParameterizedType) genericType).getActualTypeArguments()[0])) {
+      return value -> value == null || value instanceof Collection
+          ? value
+          : FILE_LIST_CONVERTER.from(value);
+    }
+    if (type.isPrimitive()) {
+      return value -> Convert.convert(value, type);
+    }
+    return value -> value == null || type.isInstance(value) ? value : Convert.convert(value, type);
+  }
+
+  private static final class Shape {
+
+    private final Row row;
+    private final String key;
+    private final CompiledMapper compiledMapper;
+
+    private Shape(Row row, String key, CompiledMapper compiledMapper) {
+      this.row = row;
+      this.key = key;
+      this.compiledMapper = compiledMapper;
+    }
+  }
+
+  private static final class CompiledMapper {
+
+    private final MethodHandle constructor;
+    private final int[] columns;
+    private final MethodHandle[] setters;
+    private final UnaryOperator<Object>[] conversions;
+
+    private CompiledMapper(MethodHandle constructor, int[] columns, MethodHandle[] setters,
+        UnaryOperator<Object>[] conversions) {
+      this.constructor = constructor;
+      this.columns = columns;
+      this.setters = setters;
+      this.conversions = conversions;
+    }
+
+    private Object map(Record record) {
+      try {
+        var entity = (Object) constructor.invokeExact();
+        for (int i = 0; i < columns.length; i++) {
+          setters[i].invokeExact(entity, conversions[i].apply(record.get(columns[i])));
+        }
+        return entity;
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new MappingException("Couldn't map record", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.exception;
+
+import com.epam.digital.data.platform.model.core.kafka.Status;
+
+/**
+ * Thrown when a call to an external service is not made at all, because the circuit breaker of
+ * the service is open or its bulkhead is full. The response carries {@link #DETAILS}, so the
+ * rejection can be told apart from a failed call: it says the service is unavailable, not that
+ * this application is unhealthy.
+ */
+public class ExternalCallRejectedException extends ExternalCommunicationException {
+
+  public static final String DETAILS = "EXTERNAL_CALL_REJECTED";
+
+  public ExternalCallRejectedException(String message) {
+    super(message, Status.THIRD_PARTY_SERVICE_UNAVAILABLE, DETAILS);
+  }
+}
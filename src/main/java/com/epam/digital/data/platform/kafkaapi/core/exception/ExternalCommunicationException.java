@@ -28,4 +28,9 @@ public class ExternalCommunicationException extends RequestProcessingException {
   public ExternalCommunicationException(String message, Status kafkaResponseStatus) {
     super(message, kafkaResponseStatus);
   }
+
+  public ExternalCommunicationException(String message, Status kafkaResponseStatus,
+      String details) {
+    super(message, kafkaResponseStatus, details);
+  }
 }
@@ -17,34 +17,56 @@
 package com.epam.digital.data.platform.kafkaapi.core.exception;
 
 import com.epam.digital.data.platform.model.core.kafka.Status;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 public class RequestProcessingException extends RuntimeException {
 
+  /**
+   * Statuses of expected business outcomes. Exceptions with these statuses do not capture stack
+   * traces, which are costly to fill in and of no use for diagnosing such outcomes, and do not
+   * keep their causes, which would carry such traces all the same. The set is replaced as a whole
+   * and never modified.
+   */
+  private static volatile Set<Status> lightweightStatuses = Collections.emptySet();
+
   private final Status kafkaResponseStatus;
   private String details;
 
   public RequestProcessingException(String message, Status kafkaResponseStatus) {
-    super(message);
-    this.kafkaResponseStatus = kafkaResponseStatus;
+    this(message, null, kafkaResponseStatus, null);
   }
 
   public RequestProcessingException(String message, Throwable cause, Status kafkaResponseStatus) {
-    super(message, cause);
-    this.kafkaResponseStatus = kafkaResponseStatus;
+    this(message, cause, kafkaResponseStatus, null);
   }
 
   public RequestProcessingException(String message, Status kafkaResponseStatus, String details) {
-    super(message);
-    this.kafkaResponseStatus = kafkaResponseStatus;
-    this.details = details;
+    this(message, null, kafkaResponseStatus, details);
   }
 
   public RequestProcessingException(String message, Throwable cause, Status kafkaResponseStatus, String details) {
-    super(message, cause);
+    super(message, isLightweight(kafkaResponseStatus) ? null : cause, true,
+        !isLightweight(kafkaResponseStatus));
     this.kafkaResponseStatus = kafkaResponseStatus;
     this.details = details;
   }
 
+  public static boolean isLightweight(Status kafkaResponseStatus) {
+    return kafkaResponseStatus != null && lightweightStatuses.contains(kafkaResponseStatus);
+  }
+
+  public static void setLightweightStatuses(Set<Status> lightweightStatuses) {
+    RequestProcessingException.lightweightStatuses = lightweightStatuses.isEmpty()
+        ? Collections.emptySet()
+        : Collections.unmodifiableSet(EnumSet.copyOf(lightweightStatuses));
+  }
+
+  public static void resetLightweightStatuses() {
+    setLightweightStatuses(Collections.emptySet());
+  }
+
   public Status getKafkaResponseStatus() {
     return kafkaResponseStatus;
   }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.kafkaserializer;
+
+import com.epam.digital.data.platform.kafkaapi.core.util.Header;
+import java.util.EnumMap;
+import java.util.Map;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+/**
+ * Value deserializer that decodes records according to the {@code contentType} header. Records
+ * without the header are treated as json, so producers that are not aware of binary formats keep
+ * working unchanged. The format of records that do have the header is kept in
+ * {@link DecodedValues}, so that the response could be written in the same format.
+ *
+ * <p>When {@link #CAPTURE_RAW_PAYLOAD_CONFIG} is set, the original bytes of json records are kept
+ * in {@link DecodedValues} as well, so that the digital seal could be checked against exactly
+ * what was signed. It is off by default and only worth enabling together with seal verification.
+ * A {@link Header#RAW_PAYLOAD} header sent by the producer is always dropped.
+ */
+public class ContentTypeDeserializer<T> implements Deserializer<T> {
+
+  public static final String CAPTURE_RAW_PAYLOAD_CONFIG = "data-platform.kafka.capture-raw-payload";
+
+  private final Map<PayloadFormat, JsonDeserializer<T>> delegates =
+      new EnumMap<>(PayloadFormat.class);
+
+  private boolean captureRawPayload;
+
+  public ContentTypeDeserializer() {
+    for (PayloadFormat format : PayloadFormat.values()) {
+      delegates.put(format, new JsonDeserializer<>(format.createObjectMapper()));
+    }
+  }
+
+  @Override
+  public void configure(Map<String, ?> configs, boolean isKey) {
+    var captureRawPayloadConfig = configs.get(CAPTURE_RAW_PAYLOAD_CONFIG);
+    if (captureRawPayloadConfig != null) {
+      captureRawPayload = Boolean.parseBoolean(captureRawPayloadConfig.toString());
+    }
+    delegates.values().forEach(delegate -> delegate.configure(configs, isKey));
+  }
+
+  @Override
+  public T deserialize(String topic, byte[] data) {
+    return delegates.get(PayloadFormat.JSON).deserialize(topic, data);
+  }
+
+  @Override
+  public T deserialize(String topic, Headers headers, byte[] data) {
+    // the raw payload is never taken from headers, a producer could put anything there
+    headers.remove(Header.RAW_PAYLOAD);
+
+    var contentType = ContentTypeHeaders.resolve(headers);
+    var format = contentType.orElse(PayloadFormat.JSON);
+    var value = delegates.get(format).deserialize(topic, headers, data);
+    var rawPayload = captureRawPayload && format == PayloadFormat.JSON ? data : null;
+    if (value != null && (contentType.isPresent() || rawPayload != null)) {
+      DecodedValues.put(value, contentType.orElse(null), rawPayload);
+    }
+    return value;
+  }
+
+  @Override
+  public void close() {
+    delegates.values().forEach(JsonDeserializer::close);
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.kafkaserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.messaging.MessageHeaders;
+
+final class ContentTypeHeaders {
+
+  private ContentTypeHeaders() {
+  }
+
+  static Optional<PayloadFormat> resolve(Headers headers) {
+    if (headers == null) {
+      return Optional.empty();
+    }
+    var header = headers.lastHeader(MessageHeaders.CONTENT_TYPE);
+    if (header == null || header.value() == null) {
+      return Optional.empty();
+    }
+    return PayloadFormat.fromContentType(new String(header.value(), StandardCharsets.UTF_8));
+  }
+
+  static void write(Headers headers, PayloadFormat format) {
+    headers.remove(MessageHeaders.CONTENT_TYPE);
+    headers.add(MessageHeaders.CONTENT_TYPE,
+        format.getContentType().getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.kafkaserializer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Value serializer that encodes records in the format requested by the {@code contentType}
+ * header, falling back to the configured default format. Binary formats are marked with the
+ * header so that consumers could pick a matching deserializer.
+ */
+public class ContentTypeSerializer<T> implements Serializer<T> {
+
+  public static final String DEFAULT_FORMAT_CONFIG = "data-platform.kafka.value-format";
+
+  private final Map<PayloadFormat, JsonSerializer<T>> delegates =
+      new EnumMap<>(PayloadFormat.class);
+
+  private PayloadFormat defaultFormat;
+
+  public ContentTypeSerializer() {
+    this(PayloadFormat.JSON);
+  }
+
+  public ContentTypeSerializer(PayloadFormat defaultFormat) {
+    this.defaultFormat = defaultFormat;
+    for (PayloadFormat format : PayloadFormat.values()) {
+      delegates.put(format, new JsonSerializer<>(format.createObjectMapper()));
+    }
+  }
+
+  @Override
+  public void configure(Map<String, ?> configs, boolean isKey) {
+    var configuredFormat = configs.get(DEFAULT_FORMAT_CONFIG);
+    if (configuredFormat != null) {
+      defaultFormat = PayloadFormat.fromName(configuredFormat.toString());
+    }
+    delegates.values().forEach(delegate -> delegate.configure(configs, isKey));
+  }
+
+  @Override
+  public byte[] serialize(String topic, T data) {
+    return delegates.get(defaultFormat).serialize(topic, data);
+  }
+
+  @Override
+  public byte[] serialize(String topic, Headers headers, T data) {
+    var format = ContentTypeHeaders.resolve(headers).orElse(defaultFormat);
+    if (format.isBinary()) {
+      ContentTypeHeaders.write(headers, format);
+    }
+    return delegates.get(format).serialize(topic, headers, data);
+  }
+
+  public byte[] serialize(PayloadFormat format, T data) {
+    return delegates.get(format).serialize(null, data);
+  }
+
+  public PayloadFormat getDefaultFormat() {
+    return defaultFormat;
+  }
+
+  @Override
+  public void close() {
+    delegates.values().forEach(JsonSerializer::close);
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.kafkaserializer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Optional;
+
+/**
+ * Remembers what {@link ContentTypeDeserializer} learned about the records it decoded: the wire
+ * format and the original bytes of the value. Values are compared by identity and held weakly, so
+ * an entry lives exactly as long as the value read from the record. Unlike record headers, this
+ * can't be written by the producer.
+ */
+public final class DecodedValues {
+
+  private static final Cache<Object, DecodedValue> VALUES =
+      Caffeine.newBuilder().weakKeys().build();
+
+  private DecodedValues() {
+  }
+
+  static void put(Object value, PayloadFormat format, byte[] rawPayload) {
+    VALUES.put(value, new DecodedValue(format, rawPayload));
+  }
+
+  /**
+   * @return the format named by the {@code contentType} header of the record the value was read
+   * from, or empty if the record had no such header
+   */
+  public static Optional<PayloadFormat> formatOf(Object value) {
+    return decoded(value).map(decodedValue -> decodedValue.format);
+  }
+
+  /**
+   * @return the json record value exactly as it was received, or {@code null} if it was not kept
+   */
+  public static byte[] rawPayloadOf(Object value) {
+    return decoded(value).map(decodedValue -> decodedValue.rawPayload).orElse(null);
+  }
+
+  private static Optional<DecodedValue> decoded(Object value) {
+    return value == null ? Optional.empty() : Optional.ofNullable(VALUES.getIfPresent(value));
+  }
+
+  private static class DecodedValue {
+
+    private final PayloadFormat format;
+    private final byte[] rawPayload;
+
+    DecodedValue(PayloadFormat format, byte[] rawPayload) {
+      this.format = format;
+      this.rawPayload = rawPayload;
+    }
+  }
+}
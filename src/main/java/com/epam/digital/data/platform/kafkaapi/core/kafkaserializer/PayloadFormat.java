@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.kafkaserializer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Wire formats supported for kafka request and response values. Every format is backed by the
+ * same jackson configuration, so DTOs are serialized identically apart from the encoding.
+ */
+public enum PayloadFormat {
+  JSON("application/json", JsonFactory::new),
+  SMILE("application/x-jackson-smile", SmileFactory::new),
+  CBOR("application/cbor", CBORFactory::new);
+
+  private final String contentType;
+  private final Supplier<JsonFactory> jsonFactorySupplier;
+
+  PayloadFormat(String contentType, Supplier<JsonFactory> jsonFactorySupplier) {
+    this.contentType = contentType;
+    this.jsonFactorySupplier = jsonFactorySupplier;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  public boolean isBinary() {
+    return this != JSON;
+  }
+
+  public ObjectMapper createObjectMapper() {
+    final ObjectMapper mapper = new ObjectMapper(jsonFactorySupplier.get());
+    mapper.registerModule(new JavaTimeModule());
+    mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    return mapper;
+  }
+
+  public static Optional<PayloadFormat> fromContentType(String contentType) {
+    if (contentType == null) {
+      return Optional.empty();
+    }
+    // header mapper may have stored the value as a json string, so surrounding quotes are dropped
+    var mimeType = contentType.replace("\"", "").split(";")[0].trim();
+    return Arrays.stream(values())
+        .filter(format -> format.contentType.equalsIgnoreCase(mimeType))
+        .findFirst();
+  }
+
+  public static PayloadFormat fromName(String name) {
+    return Arrays.stream(values())
+        .filter(format -> format.name().equalsIgnoreCase(name))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unsupported payload format: " + name));
+  }
+}
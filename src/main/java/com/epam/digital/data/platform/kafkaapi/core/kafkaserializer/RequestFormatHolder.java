@@ -0,0 +1,43 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.kafkaserializer;
+
+import java.util.Optional;
+
+/**
+ * Holds the wire format of the request handled by the current thread, so that the response is
+ * written in the same format.
+ */
+public final class RequestFormatHolder {
+
+  private static final ThreadLocal<PayloadFormat> FORMAT = new ThreadLocal<>();
+
+  private RequestFormatHolder() {
+  }
+
+  public static Optional<PayloadFormat> get() {
+    return Optional.ofNullable(FORMAT.get());
+  }
+
+  public static void set(PayloadFormat format) {
+    FORMAT.set(format);
+  }
+
+  public static void reset() {
+    FORMAT.remove();
+  }
+}
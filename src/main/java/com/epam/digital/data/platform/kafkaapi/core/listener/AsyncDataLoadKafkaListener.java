@@ -16,7 +16,6 @@
 
 package com.epam.digital.data.platform.kafkaapi.core.listener;
 
-import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.GENERIC_REQUEST_PROCESSING_EXCEPTION_MESSAGE;
 import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.UNEXPECTED_EXCEPTION_MESSAGE_FORMAT;
 import static com.epam.digital.data.platform.kafkaapi.core.util.Header.X_ACCESS_TOKEN;
 import static com.epam.digital.data.platform.kafkaapi.core.util.Header.X_DIGITAL_SIGNATURE;
@@ -40,6 +39,7 @@ import com.epam.digital.data.platform.kafkaapi.core.model.AsyncDataLoadResult;
 import com.epam.digital.data.platform.kafkaapi.core.service.CsvProcessor;
 import com.epam.digital.data.platform.kafkaapi.core.service.FileService;
 import com.epam.digital.data.platform.kafkaapi.core.service.ResponseMessageCreator;
+import com.epam.digital.data.platform.kafkaapi.core.util.RequestProcessingErrorLogger;
 import com.epam.digital.data.platform.model.core.kafka.EntityId;
 import com.epam.digital.data.platform.model.core.kafka.File;
 import com.epam.digital.data.platform.model.core.kafka.Request;
@@ -189,7 +189,7 @@ public abstract class AsyncDataLoadKafkaListener {
       response.setPayload(commandHandler.upsert(input));
       response.setStatus(Status.SUCCESS);
     } catch (RequestProcessingException e) {
-      log.error(GENERIC_REQUEST_PROCESSING_EXCEPTION_MESSAGE, e.getMessage(), e);
+      RequestProcessingErrorLogger.log(log, e);
       response.setStatus(e.getKafkaResponseStatus());
       response.setDetails(e.getDetails());
     } catch (Exception e) {
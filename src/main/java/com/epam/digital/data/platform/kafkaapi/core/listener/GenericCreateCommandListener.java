@@ -16,20 +16,27 @@
 
 package com.epam.digital.data.platform.kafkaapi.core.listener;
 
-import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.GENERIC_REQUEST_PROCESSING_EXCEPTION_MESSAGE;
 import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.INPUT_IS_INVALID_MESSAGE;
 import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.UNEXPECTED_EXCEPTION_MESSAGE_FORMAT;
 
 import com.epam.digital.data.platform.kafkaapi.core.commandhandler.CreateCommandHandler;
 import com.epam.digital.data.platform.kafkaapi.core.exception.RequestProcessingException;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.DecodedValues;
+import com.epam.digital.data.platform.kafkaapi.core.model.ValidatedResult;
+import com.epam.digital.data.platform.kafkaapi.core.model.ValidationResult;
 import com.epam.digital.data.platform.kafkaapi.core.service.InputValidationService;
+import com.epam.digital.data.platform.kafkaapi.core.service.RawRequestProcessor;
 import com.epam.digital.data.platform.kafkaapi.core.service.ResponseMessageCreator;
+import com.epam.digital.data.platform.kafkaapi.core.service.SpeculativeExecutionService;
+import com.epam.digital.data.platform.kafkaapi.core.util.RequestProcessingErrorLogger;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Response;
 import com.epam.digital.data.platform.model.core.kafka.Status;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ResolvableType;
 import org.springframework.messaging.Message;
 
 public abstract class GenericCreateCommandListener<I, O> {
@@ -40,27 +47,58 @@ public abstract class GenericCreateCommandListener<I, O> {
   private InputValidationService inputValidationService;
   @Autowired
   private ResponseMessageCreator responseMessageCreator;
+  @Autowired
+  private RawRequestProcessor rawRequestProcessor;
+  @Autowired
+  private SpeculativeExecutionService speculativeExecutionService;
 
   private final CreateCommandHandler<I, O> commandHandler;
+  private final ResolvableType payloadType =
+      ResolvableType.forClass(GenericCreateCommandListener.class, getClass()).getGeneric(0);
 
   protected GenericCreateCommandListener(CreateCommandHandler<I, O> commandHandler) {
     this.commandHandler = commandHandler;
   }
 
   public Message<Response<O>> create(String key, Request<I> input) {
+    return create(key, input, DecodedValues.rawPayloadOf(input));
+  }
+
+  /**
+   * Entry point for listeners consuming raw json record values. The access token from the record
+   * header is checked first, and the payload is deserialized only for requests that pass the check.
+   */
+  public Message<Response<O>> create(String key, byte[] rawPayload, String accessToken) {
+    return create(key, rawPayload, accessToken, null);
+  }
+
+  /**
+   * Same as {@link #create(String, byte[], String)}, the payload is decoded in the format named by
+   * the {@code contentType} record header.
+   */
+  public Message<Response<O>> create(
+      String key, byte[] rawPayload, String accessToken, String contentType) {
+    return rawRequestProcessor.process(rawPayload, contentType, accessToken, payloadType, "create",
+        (Request<I> input, byte[] payload) -> create(key, input, payload));
+  }
+
+  private Message<Response<O>> create(String key, Request<I> input, byte[] rawPayload) {
     Response<O> response = new Response<>();
 
     try {
-      var validationResult = inputValidationService.validate(key, input);
+      var result = executeValidated(
+          () -> inputValidationService.validate(key, input, rawPayload),
+          () -> commandHandler.save(input));
+      var validationResult = result.getValidationResult();
       if (!validationResult.isValid()) {
         log.warn(INPUT_IS_INVALID_MESSAGE, validationResult.getStatus());
         response.setStatus(validationResult.getStatus());
         return responseMessageCreator.createMessageByPayloadSize(response);
       }
-      response.setPayload(commandHandler.save(input));
+      response.setPayload(result.getResult());
       response.setStatus(Status.CREATED);
     } catch (RequestProcessingException e) {
-      log.error(GENERIC_REQUEST_PROCESSING_EXCEPTION_MESSAGE, e.getMessage(), e);
+      RequestProcessingErrorLogger.log(log, e);
       response.setStatus(e.getKafkaResponseStatus());
       response.setDetails(e.getDetails());
     } catch (Exception e) {
@@ -73,4 +111,11 @@ public abstract class GenericCreateCommandListener<I, O> {
 
     return responseMessageCreator.createMessageByPayloadSize(response);
   }
+
+  private <R> ValidatedResult<R> executeValidated(
+      Supplier<ValidationResult> validation, Supplier<R> operation) {
+    return speculativeExecutionService.isEnabled()
+        ? speculativeExecutionService.executeWrite(validation, operation)
+        : SpeculativeExecutionService.executeSequentially(validation, operation);
+  }
 }
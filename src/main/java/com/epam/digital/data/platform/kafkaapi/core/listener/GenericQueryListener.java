@@ -16,14 +16,16 @@
 
 package com.epam.digital.data.platform.kafkaapi.core.listener;
 
-import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.GENERIC_REQUEST_PROCESSING_EXCEPTION_MESSAGE;
 import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.INPUT_IS_INVALID_MESSAGE;
 import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.UNEXPECTED_EXCEPTION_MESSAGE_FORMAT;
 
 import com.epam.digital.data.platform.kafkaapi.core.exception.RequestProcessingException;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.DecodedValues;
 import com.epam.digital.data.platform.kafkaapi.core.queryhandler.AbstractQueryHandler;
 import com.epam.digital.data.platform.kafkaapi.core.service.InputValidationService;
+import com.epam.digital.data.platform.kafkaapi.core.service.RawRequestProcessor;
 import com.epam.digital.data.platform.kafkaapi.core.service.ResponseMessageCreator;
+import com.epam.digital.data.platform.kafkaapi.core.util.RequestProcessingErrorLogger;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Response;
 import com.epam.digital.data.platform.model.core.kafka.Status;
@@ -31,6 +33,7 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ResolvableType;
 import org.springframework.messaging.Message;
 
 public class GenericQueryListener<I, O> {
@@ -43,8 +46,12 @@ public class GenericQueryListener<I, O> {
   private InputValidationService inputValidationService;
   @Autowired
   private ResponseMessageCreator responseMessageCreator;
+  @Autowired
+  private RawRequestProcessor rawRequestProcessor;
 
   private final AbstractQueryHandler<I, O> queryHandler;
+  private final ResolvableType payloadType =
+      ResolvableType.forClass(GenericQueryListener.class, getClass()).getGeneric(0);
 
   protected GenericQueryListener(
       AbstractQueryHandler<I, O> queryHandler) {
@@ -52,17 +59,47 @@ public class GenericQueryListener<I, O> {
   }
 
   public Message<Response<O>> read(String key, Request<I> input) {
+    return read(key, input, DecodedValues.rawPayloadOf(input));
+  }
+
+  /**
+   * Entry point for listeners consuming raw json record values. The access token from the record
+   * header is checked first, and the payload is deserialized only for requests that pass the check.
+   */
+  public Message<Response<O>> read(String key, byte[] rawPayload, String accessToken) {
+    return read(key, rawPayload, accessToken, null);
+  }
+
+  /**
+   * Same as {@link #read(String, byte[], String)}, the payload is decoded in the format named by
+   * the {@code contentType} record header.
+   */
+  public Message<Response<O>> read(
+      String key, byte[] rawPayload, String accessToken, String contentType) {
+    return rawRequestProcessor.process(rawPayload, contentType, accessToken, payloadType, "read",
+        (Request<I> input, byte[] payload) -> read(key, input, payload));
+  }
+
+  private Message<Response<O>> read(String key, Request<I> input, byte[] rawPayload) {
     Response<O> response = new Response<>();
 
     try {
-      var validationResult = inputValidationService.validate(key, input);
-      if (!validationResult.isValid()) {
+      boolean accessCheckedInline = queryHandler.isAccessCheckedInline();
+      var validationResult = inputValidationService.validate(key, input, rawPayload,
+          accessCheckedInline ? null : () -> queryHandler.hasReadAccess(input));
+      Optional<O> consent;
+      if (validationResult.isValid()) {
+        consent = queryHandler.findById(input, !accessCheckedInline);
+      } else if (validationResult.getStatus() == Status.FORBIDDEN_OPERATION) {
+        // the access is checked again inside the audited read, so the denial is audited
+        // the same way as without the concurrent check
+        consent = queryHandler.findById(input, false);
+      } else {
         log.warn(INPUT_IS_INVALID_MESSAGE, validationResult.getStatus());
         response.setStatus(validationResult.getStatus());
         return responseMessageCreator.createMessageByPayloadSize(response);
       }
 
-      Optional<O> consent = queryHandler.findById(input);
       if (consent.isPresent()) {
         response.setPayload(consent.get());
         response.setStatus(Status.SUCCESS);
@@ -70,7 +107,7 @@ public class GenericQueryListener<I, O> {
         response.setStatus(Status.NOT_FOUND);
       }
     } catch (RequestProcessingException e) {
-      log.error(GENERIC_REQUEST_PROCESSING_EXCEPTION_MESSAGE, e.getMessage(), e);
+      RequestProcessingErrorLogger.log(log, e);
       response.setStatus(e.getKafkaResponseStatus());
       response.setDetails(e.getDetails());
     } catch (Exception e) {
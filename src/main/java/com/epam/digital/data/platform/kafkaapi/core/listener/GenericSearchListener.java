@@ -16,21 +16,27 @@
 
 package com.epam.digital.data.platform.kafkaapi.core.listener;
 
-import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.GENERIC_REQUEST_PROCESSING_EXCEPTION_MESSAGE;
 import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.INPUT_IS_INVALID_MESSAGE;
 import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.UNEXPECTED_EXCEPTION_MESSAGE_FORMAT;
 
 import com.epam.digital.data.platform.kafkaapi.core.exception.RequestProcessingException;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.DecodedValues;
 import com.epam.digital.data.platform.kafkaapi.core.searchhandler.AbstractSearchHandler;
 import com.epam.digital.data.platform.kafkaapi.core.service.InputValidationService;
+import com.epam.digital.data.platform.kafkaapi.core.service.RawRequestProcessor;
 import com.epam.digital.data.platform.kafkaapi.core.service.ResponseMessageCreator;
+import com.epam.digital.data.platform.kafkaapi.core.service.StreamingResponseMessageCreator;
+import com.epam.digital.data.platform.kafkaapi.core.util.RequestProcessingErrorLogger;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Response;
 import com.epam.digital.data.platform.model.core.kafka.Status;
 import com.epam.digital.data.platform.model.core.search.SearchConditionPage;
+import java.util.List;
+import javax.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ResolvableType;
 import org.springframework.messaging.Message;
 
 public abstract class GenericSearchListener<I, U, O> {
@@ -41,18 +47,75 @@ public abstract class GenericSearchListener<I, U, O> {
   private InputValidationService inputValidationService;
   @Autowired
   private ResponseMessageCreator responseMessageCreator;
+  @Autowired
+  private RawRequestProcessor rawRequestProcessor;
+  @Autowired
+  private StreamingResponseMessageCreator streamingResponseMessageCreator;
 
   private final AbstractSearchHandler<I, U> searchHandler;
+  private final ResolvableType listenerType =
+      ResolvableType.forClass(GenericSearchListener.class, getClass());
+  private final ResolvableType payloadType = listenerType.getGeneric(0);
+  private boolean contentStreamed;
 
   protected GenericSearchListener(AbstractSearchHandler<I, U> searchHandler) {
     this.searchHandler = searchHandler;
   }
 
+  /**
+   * Streamed content is returned as the response payload as is, so the payload type must accept
+   * the list of found entities.
+   */
+  @PostConstruct
+  public void initContentStreaming() {
+    if (!isContentStreamed()) {
+      return;
+    }
+    var contentType = ResolvableType.forClassWithGenerics(List.class, listenerType.getGeneric(1));
+    if (!listenerType.getGeneric(2).isAssignableFrom(contentType)) {
+      throw new IllegalStateException(String.format(
+          "Content of %s can't be streamed: response payload %s is not %s", getClass().getName(),
+          listenerType.getGeneric(2), contentType));
+    }
+    if (!streamingResponseMessageCreator.isAvailable()) {
+      log.warn("Content of {} is not streamed, as the non-blocking ceph client is disabled",
+          getClass().getName());
+      return;
+    }
+    contentStreamed = true;
+  }
+
   public Message<Response<O>> search(String key, Request<I> input) {
+    return search(key, input, DecodedValues.rawPayloadOf(input));
+  }
+
+  /**
+   * Entry point for listeners consuming raw json record values. The access token from the record
+   * header is checked first, and the payload is deserialized only for requests that pass the check.
+   */
+  public Message<Response<O>> search(String key, byte[] rawPayload, String accessToken) {
+    return search(key, rawPayload, accessToken, null);
+  }
+
+  /**
+   * Same as {@link #search(String, byte[], String)}, the payload is decoded in the format named by
+   * the {@code contentType} record header.
+   */
+  public Message<Response<O>> search(
+      String key, byte[] rawPayload, String accessToken, String contentType) {
+    return rawRequestProcessor.process(rawPayload, contentType, accessToken, payloadType, "search",
+        (Request<I> input, byte[] payload) -> search(key, input, payload));
+  }
+
+  private Message<Response<O>> search(String key, Request<I> input, byte[] rawPayload) {
+    if (contentStreamed) {
+      return searchStreamed(key, input, rawPayload);
+    }
+
     Response<O> response = new Response<>();
 
     try {
-      var validationResult = inputValidationService.validate(key, input);
+      var validationResult = inputValidationService.validate(key, input, rawPayload);
       if (!validationResult.isValid()) {
         log.warn(INPUT_IS_INVALID_MESSAGE, validationResult.getStatus());
         response.setStatus(validationResult.getStatus());
@@ -63,7 +126,7 @@ public abstract class GenericSearchListener<I, U, O> {
       response.setPayload(getResponsePayload(found));
       response.setStatus(Status.SUCCESS);
     } catch (RequestProcessingException e) {
-      log.error(GENERIC_REQUEST_PROCESSING_EXCEPTION_MESSAGE, e.getMessage(), e);
+      RequestProcessingErrorLogger.log(log, e);
       response.setStatus(e.getKafkaResponseStatus());
       response.setDetails(e.getDetails());
     } catch (Exception e) {
@@ -78,5 +141,46 @@ public abstract class GenericSearchListener<I, U, O> {
   }
 
   protected abstract O getResponsePayload(SearchConditionPage<U> page);
-}
 
+  /**
+   * Listeners whose response payload is the list of found entities can stream it from the database
+   * to the response, for searches returning pages too large to be kept in memory. The request is
+   * validated before the search starts. The content is streamed only when the non-blocking ceph
+   * client is enabled.
+   */
+  protected boolean isContentStreamed() {
+    return false;
+  }
+
+  // the payload is the json of List<U>, which is checked to be accepted in initContentStreaming
+  @SuppressWarnings("unchecked")
+  private Message<Response<O>> searchStreamed(String key, Request<I> input, byte[] rawPayload) {
+    try {
+      var validationResult = inputValidationService.validate(key, input, rawPayload);
+      if (!validationResult.isValid()) {
+        log.warn(INPUT_IS_INVALID_MESSAGE, validationResult.getStatus());
+        Response<O> response = new Response<>();
+        response.setStatus(validationResult.getStatus());
+        return responseMessageCreator.createMessageByPayloadSize(response);
+      }
+
+      Message<?> message = streamingResponseMessageCreator.<U>createMessage(
+          consumer -> searchHandler.searchStreamed(input, consumer));
+      return (Message<Response<O>>) message;
+    } catch (RequestProcessingException e) {
+      RequestProcessingErrorLogger.log(log, e);
+      Response<O> response = new Response<>();
+      response.setStatus(e.getKafkaResponseStatus());
+      response.setDetails(e.getDetails());
+      return responseMessageCreator.createMessageByPayloadSize(response);
+    } catch (Exception e) {
+      var exceptionMessage = String.format(UNEXPECTED_EXCEPTION_MESSAGE_FORMAT, "search",
+          e.getMessage());
+      log.error(exceptionMessage, e);
+      Response<O> response = new Response<>();
+      response.setStatus(Status.OPERATION_FAILED);
+      response.setDetails(exceptionMessage);
+      return responseMessageCreator.createMessageByPayloadSize(response);
+    }
+  }
+}
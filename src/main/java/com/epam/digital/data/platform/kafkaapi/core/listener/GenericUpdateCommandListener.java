@@ -16,20 +16,27 @@
 
 package com.epam.digital.data.platform.kafkaapi.core.listener;
 
-import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.GENERIC_REQUEST_PROCESSING_EXCEPTION_MESSAGE;
 import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.INPUT_IS_INVALID_MESSAGE;
 import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.UNEXPECTED_EXCEPTION_MESSAGE_FORMAT;
 
 import com.epam.digital.data.platform.kafkaapi.core.commandhandler.UpdateCommandHandler;
 import com.epam.digital.data.platform.kafkaapi.core.exception.RequestProcessingException;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.DecodedValues;
+import com.epam.digital.data.platform.kafkaapi.core.model.ValidatedResult;
+import com.epam.digital.data.platform.kafkaapi.core.model.ValidationResult;
 import com.epam.digital.data.platform.kafkaapi.core.service.InputValidationService;
+import com.epam.digital.data.platform.kafkaapi.core.service.RawRequestProcessor;
 import com.epam.digital.data.platform.kafkaapi.core.service.ResponseMessageCreator;
+import com.epam.digital.data.platform.kafkaapi.core.service.SpeculativeExecutionService;
+import com.epam.digital.data.platform.kafkaapi.core.util.RequestProcessingErrorLogger;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Response;
 import com.epam.digital.data.platform.model.core.kafka.Status;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ResolvableType;
 import org.springframework.messaging.Message;
 
 public abstract class GenericUpdateCommandListener<O> {
@@ -40,28 +47,61 @@ public abstract class GenericUpdateCommandListener<O> {
   private InputValidationService inputValidationService;
   @Autowired
   private ResponseMessageCreator responseMessageCreator;
+  @Autowired
+  private RawRequestProcessor rawRequestProcessor;
+  @Autowired
+  private SpeculativeExecutionService speculativeExecutionService;
 
   private final UpdateCommandHandler<O> commandHandler;
+  private final ResolvableType payloadType =
+      ResolvableType.forClass(GenericUpdateCommandListener.class, getClass()).getGeneric(0);
 
   protected GenericUpdateCommandListener(UpdateCommandHandler<O> commandHandler) {
     this.commandHandler = commandHandler;
   }
 
   public Message<Response<Void>> update(String key, Request<O> input) {
+    return update(key, input, DecodedValues.rawPayloadOf(input));
+  }
+
+  /**
+   * Entry point for listeners consuming raw json record values. The access token from the record
+   * header is checked first, and the payload is deserialized only for requests that pass the check.
+   */
+  public Message<Response<Void>> update(String key, byte[] rawPayload, String accessToken) {
+    return update(key, rawPayload, accessToken, null);
+  }
+
+  /**
+   * Same as {@link #update(String, byte[], String)}, the payload is decoded in the format named by
+   * the {@code contentType} record header.
+   */
+  public Message<Response<Void>> update(
+      String key, byte[] rawPayload, String accessToken, String contentType) {
+    return rawRequestProcessor.process(rawPayload, contentType, accessToken, payloadType, "update",
+        (Request<O> input, byte[] payload) -> update(key, input, payload));
+  }
+
+  private Message<Response<Void>> update(String key, Request<O> input, byte[] rawPayload) {
     Response<Void> response = new Response<>();
 
     try {
-      var validationResult = inputValidationService.validate(key, input);
+      var result = executeValidated(
+          () -> inputValidationService.validate(key, input, rawPayload),
+          () -> {
+            commandHandler.update(input);
+            return null;
+          });
+      var validationResult = result.getValidationResult();
       if (!validationResult.isValid()) {
         log.warn(INPUT_IS_INVALID_MESSAGE, validationResult.getStatus());
         response.setStatus(validationResult.getStatus());
         return responseMessageCreator.createMessageByPayloadSize(response);
       }
 
-      commandHandler.update(input);
       response.setStatus(Status.NO_CONTENT);
     } catch (RequestProcessingException e) {
-      log.error(GENERIC_REQUEST_PROCESSING_EXCEPTION_MESSAGE, e.getMessage(), e);
+      RequestProcessingErrorLogger.log(log, e);
       response.setStatus(e.getKafkaResponseStatus());
       response.setDetails(e.getDetails());
     } catch (Exception e) {
@@ -74,4 +114,11 @@ public abstract class GenericUpdateCommandListener<O> {
 
     return responseMessageCreator.createMessageByPayloadSize(response);
   }
+
+  private <R> ValidatedResult<R> executeValidated(
+      Supplier<ValidationResult> validation, Supplier<R> operation) {
+    return speculativeExecutionService.isEnabled()
+        ? speculativeExecutionService.executeWrite(validation, operation)
+        : SpeculativeExecutionService.executeSequentially(validation, operation);
+  }
 }
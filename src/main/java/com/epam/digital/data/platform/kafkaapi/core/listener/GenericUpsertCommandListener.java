@@ -16,21 +16,28 @@
 
 package com.epam.digital.data.platform.kafkaapi.core.listener;
 
-import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.GENERIC_REQUEST_PROCESSING_EXCEPTION_MESSAGE;
 import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.INPUT_IS_INVALID_MESSAGE;
 import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.UNEXPECTED_EXCEPTION_MESSAGE_FORMAT;
 
 import com.epam.digital.data.platform.kafkaapi.core.commandhandler.UpsertCommandHandler;
 import com.epam.digital.data.platform.kafkaapi.core.exception.RequestProcessingException;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.DecodedValues;
+import com.epam.digital.data.platform.kafkaapi.core.model.ValidatedResult;
+import com.epam.digital.data.platform.kafkaapi.core.model.ValidationResult;
 import com.epam.digital.data.platform.kafkaapi.core.service.InputValidationService;
+import com.epam.digital.data.platform.kafkaapi.core.service.RawRequestProcessor;
 import com.epam.digital.data.platform.kafkaapi.core.service.ResponseMessageCreator;
+import com.epam.digital.data.platform.kafkaapi.core.service.SpeculativeExecutionService;
+import com.epam.digital.data.platform.kafkaapi.core.util.RequestProcessingErrorLogger;
 import com.epam.digital.data.platform.model.core.kafka.EntityId;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Response;
 import com.epam.digital.data.platform.model.core.kafka.Status;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ResolvableType;
 import org.springframework.messaging.Message;
 
 public abstract class GenericUpsertCommandListener<O> {
@@ -41,28 +48,59 @@ public abstract class GenericUpsertCommandListener<O> {
   private InputValidationService inputValidationService;
   @Autowired
   private ResponseMessageCreator responseMessageCreator;
+  @Autowired
+  private RawRequestProcessor rawRequestProcessor;
+  @Autowired
+  private SpeculativeExecutionService speculativeExecutionService;
 
   private final UpsertCommandHandler<O> commandHandler;
+  private final ResolvableType payloadType =
+      ResolvableType.forClass(GenericUpsertCommandListener.class, getClass()).getGeneric(0);
 
   protected GenericUpsertCommandListener(UpsertCommandHandler<O> commandHandler) {
     this.commandHandler = commandHandler;
   }
 
   public Message<Response<EntityId>> upsert(String key, Request<O> input) {
+    return upsert(key, input, DecodedValues.rawPayloadOf(input));
+  }
+
+  /**
+   * Entry point for listeners consuming raw json record values. The access token from the record
+   * header is checked first, and the payload is deserialized only for requests that pass the check.
+   */
+  public Message<Response<EntityId>> upsert(String key, byte[] rawPayload, String accessToken) {
+    return upsert(key, rawPayload, accessToken, null);
+  }
+
+  /**
+   * Same as {@link #upsert(String, byte[], String)}, the payload is decoded in the format named by
+   * the {@code contentType} record header.
+   */
+  public Message<Response<EntityId>> upsert(
+      String key, byte[] rawPayload, String accessToken, String contentType) {
+    return rawRequestProcessor.process(rawPayload, contentType, accessToken, payloadType, "upsert",
+        (Request<O> input, byte[] payload) -> upsert(key, input, payload));
+  }
+
+  private Message<Response<EntityId>> upsert(String key, Request<O> input, byte[] rawPayload) {
     Response<EntityId> response = new Response<>();
 
     try {
-      var validationResult = inputValidationService.validate(key, input);
+      var result = executeValidated(
+          () -> inputValidationService.validate(key, input, rawPayload),
+          () -> commandHandler.upsert(input));
+      var validationResult = result.getValidationResult();
       if (!validationResult.isValid()) {
         log.info(INPUT_IS_INVALID_MESSAGE, validationResult.getStatus());
         response.setStatus(validationResult.getStatus());
         return responseMessageCreator.createMessageByPayloadSize(response);
       }
 
-      response.setPayload(commandHandler.upsert(input));
+      response.setPayload(result.getResult());
       response.setStatus(Status.SUCCESS);
     } catch (RequestProcessingException e) {
-      log.error(GENERIC_REQUEST_PROCESSING_EXCEPTION_MESSAGE, e.getMessage(), e);
+      RequestProcessingErrorLogger.log(log, e);
       response.setStatus(e.getKafkaResponseStatus());
       response.setDetails(e.getDetails());
     } catch (Exception e) {
@@ -75,4 +113,11 @@ public abstract class GenericUpsertCommandListener<O> {
 
     return responseMessageCreator.createMessageByPayloadSize(response);
   }
+
+  private <R> ValidatedResult<R> executeValidated(
+      Supplier<ValidationResult> validation, Supplier<R> operation) {
+    return speculativeExecutionService.isEnabled()
+        ? speculativeExecutionService.executeWrite(validation, operation)
+        : SpeculativeExecutionService.executeSequentially(validation, operation);
+  }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.model;
+
+/**
+ * Result of an operation together with the validation of the request it was executed for. The
+ * result is present only if the validation has passed.
+ */
+public class ValidatedResult<R> {
+
+  private final ValidationResult validationResult;
+  private final R result;
+
+  private ValidatedResult(ValidationResult validationResult, R result) {
+    this.validationResult = validationResult;
+    this.result = result;
+  }
+
+  public static <R> ValidatedResult<R> completed(ValidationResult validationResult, R result) {
+    return new ValidatedResult<>(validationResult, result);
+  }
+
+  public static <R> ValidatedResult<R> rejected(ValidationResult validationResult) {
+    return new ValidatedResult<>(validationResult, null);
+  }
+
+  public ValidationResult getValidationResult() {
+    return validationResult;
+  }
+
+  public R getResult() {
+    return result;
+  }
+}
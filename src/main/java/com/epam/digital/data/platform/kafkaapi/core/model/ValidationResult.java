@@ -21,12 +21,19 @@ import com.epam.digital.data.platform.model.core.kafka.Status;
 public class ValidationResult {
   private final boolean valid;
   private Status status;
+  private String details;
 
   public ValidationResult(boolean valid, Status status) {
     this.valid = valid;
     this.status = status;
   }
 
+  public ValidationResult(boolean valid, Status status, String details) {
+    this.valid = valid;
+    this.status = status;
+    this.details = details;
+  }
+
   public ValidationResult(boolean valid) {
     this.valid = valid;
   }
@@ -38,4 +45,8 @@ public class ValidationResult {
   public Status getStatus() {
     return status;
   }
+
+  public String getDetails() {
+    return details;
+  }
 }
@@ -17,27 +17,47 @@
 package com.epam.digital.data.platform.kafkaapi.core.queryhandler;
 
 import com.epam.digital.data.platform.kafkaapi.core.audit.AuditableDatabaseOperation;
+import com.epam.digital.data.platform.kafkaapi.core.converter.jooq.EntityRecordMapper;
 import com.epam.digital.data.platform.kafkaapi.core.exception.ForbiddenOperationException;
 import com.epam.digital.data.platform.kafkaapi.core.exception.SqlErrorException;
 import com.epam.digital.data.platform.kafkaapi.core.model.FieldsAccessCheckDto;
 import com.epam.digital.data.platform.kafkaapi.core.service.AccessPermissionService;
+import com.epam.digital.data.platform.kafkaapi.core.service.EntityCache;
 import com.epam.digital.data.platform.kafkaapi.core.service.JwtInfoProvider;
+import com.epam.digital.data.platform.kafkaapi.core.service.RenderedQueryCache;
 import com.epam.digital.data.platform.kafkaapi.core.tabledata.TableDataProvider;
+import com.epam.digital.data.platform.kafkaapi.core.util.InlineAccessCheckUtils;
 import com.epam.digital.data.platform.kafkaapi.core.util.Operation;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.starter.security.dto.JwtClaimsDto;
+import java.lang.reflect.Array;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import javax.annotation.PostConstruct;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.ResultQuery;
 import org.jooq.SelectFieldOrAsterisk;
 import org.jooq.impl.DSL;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 public abstract class AbstractQueryHandler<I, O> implements QueryHandler<I, O> {
 
+  private static final String BATCH_KEY = "batch_key";
+
   private final Logger log = LoggerFactory.getLogger(AbstractQueryHandler.class);
 
   @Autowired
@@ -46,6 +66,21 @@ public abstract class AbstractQueryHandler<I, O> implements QueryHandler<I, O> {
   protected JwtInfoProvider jwtInfoProvider;
   @Autowired
   protected AccessPermissionService accessPermissionService;
+  @Autowired
+  protected EntityCache entityCache;
+  @Autowired(required = false)
+  private RenderedQueryCache renderedQueryCache;
+
+  @Value("${data-platform.query.coalescing.enabled:false}")
+  private boolean coalescingEnabled;
+  @Value("${data-platform.query.coalescing.window:2ms}")
+  private Duration coalescingWindow;
+  @Value("${data-platform.query.coalescing.max-batch-size:100}")
+  private int coalescingMaxBatchSize;
+  @Value("${data-platform.query.coalescing.join-timeout:30s}")
+  private Duration coalescingJoinTimeout;
+  private final FindByIdCoalescer findByIdCoalescer = new FindByIdCoalescer();
+  private volatile EntityRecordMapper<O> entityMapper;
 
   protected final TableDataProvider tableDataProvider;
 
@@ -53,38 +88,221 @@ public abstract class AbstractQueryHandler<I, O> implements QueryHandler<I, O> {
     this.tableDataProvider = tableDataProvider;
   }
 
+  @PostConstruct
+  public void registerCacheableTable() {
+    if (tableDataProvider.isCacheable()) {
+      entityCache.registerTable(tableDataProvider.tableName());
+    }
+  }
+
   @AuditableDatabaseOperation(Operation.READ)
   @Override
   public Optional<O> findById(Request<I> input) {
+    return findById(input, false);
+  }
+
+  /**
+   * Reads the entity by id. Entities of cacheable tables are taken from the entity cache, but the
+   * read access is checked all the same. Reads of other tables check the access within the select
+   * if {@link #isAccessCheckedInline()}.
+   *
+   * @param accessValidated {@code true} if the caller has already checked read access with
+   *                        {@link #hasReadAccess(Request)}, so the check is not repeated
+   */
+  @AuditableDatabaseOperation(Operation.READ)
+  public Optional<O> findById(Request<I> input, boolean accessValidated) {
     var tableName = tableDataProvider.tableName();
     log.info("Reading from table {}", tableName);
 
-    validateAccess(input);
-
     I id = input.getPayload();
+    var commonCondition = getCommonCondition(input);
+    boolean cacheable = entityCache.isEnabled() && tableDataProvider.isCacheable();
+    if (!accessValidated) {
+      if (isAccessCheckedInline() && !cacheable) {
+        return findByIdCheckingAccessInline(input, commonCondition);
+      }
+      validateAccess(input);
+    }
+
+    String cacheVariant = null;
+    long tableVersion = 0;
+    if (cacheable) {
+      cacheVariant = getClass().getName() + "|" + commonCondition;
+      var cached = entityCache.get(tableName, id, cacheVariant, entityType());
+      if (cached.isPresent()) {
+        return cached;
+      }
+      tableVersion = entityCache.version(tableName);
+    }
+
     try {
-      final O dto =
+      final O dto = isReadCoalesced()
+          ? findByIdCoalesced(id, commonCondition)
+          : findByIdQuery(id, commonCondition).fetchOne(entityMapper());
+      if (cacheable && dto != null) {
+        entityCache.put(tableName, id, cacheVariant, dto, tableVersion);
+      }
+      return Optional.ofNullable(dto);
+    } catch (Exception e) {
+      var message = String.format("Couldn't read from table '%s': %s", tableName, e.getMessage());
+      throw new SqlErrorException(message, e);
+    }
+  }
+
+  private ResultQuery<? extends Record> findByIdQuery(I id, Condition commonCondition) {
+    var selectFields = selectFields();
+    Supplier<ResultQuery<? extends Record>> query = () ->
+        context
+            .select(selectFields)
+            .from(DSL.table(tableDataProvider.tableName()))
+            .where(DSL.field(tableDataProvider.pkColumnName()).eq(id))
+            .and(commonCondition);
+    if (!isRenderedQueryCached()) {
+      return query.get();
+    }
+
+    var bindValues = new ArrayList<Object>();
+    bindValues.add(id);
+    bindValues.addAll(renderedQueryCache.bindValues(context, commonCondition));
+    var shape = getClass().getName() + "|findById|"
+        + renderedQueryCache.render(context, commonCondition);
+    return renderedQueryCache.query(context, shape, query, bindValues, selectFields);
+  }
+
+  /**
+   * Reads the entity within a batch of the concurrent reads of the handler with the same common
+   * condition, i.e. the same rendered condition and bind values, and the same id type. The batch
+   * runs outside of the transaction of the caller, if any, so reads within a transaction are never
+   * coalesced.
+   */
+  private O findByIdCoalesced(I id, Condition commonCondition) {
+    var shape = Arrays.asList(id.getClass(), renderCondition(commonCondition),
+        conditionBindValues(commonCondition));
+    return findByIdCoalescer
+        .read(shape, id, coalescingWindow, coalescingMaxBatchSize, coalescingJoinTimeout,
+            ids -> findAllById(ids, commonCondition))
+        .map(entityMapper()::map)
+        .orElse(null);
+  }
+
+  /**
+   * @param ids ids of the same type
+   */
+  private Map<String, Record> findAllById(List<Object> ids, Condition commonCondition) {
+    var pkField = DSL.field(tableDataProvider.pkColumnName());
+    var fields = new ArrayList<SelectFieldOrAsterisk>(selectFields());
+    fields.add(pkField.as(BATCH_KEY));
+    var idClass = ids.get(0).getClass();
+    var idArray = ids.toArray((Object[]) Array.newInstance(idClass, ids.size()));
+    Supplier<ResultQuery<? extends Record>> query = () ->
+        context
+            .select(fields)
+            .from(DSL.table(tableDataProvider.tableName()))
+            .where(DSL.condition("{0} = any({1})", pkField, DSL.val((Object) idArray)))
+            .and(commonCondition);
+
+    Result<? extends Record> rows;
+    if (!isRenderedQueryCached()) {
+      rows = query.get().fetch();
+    } else {
+      var bindValues = new ArrayList<Object>();
+      bindValues.add(idArray);
+      bindValues.addAll(renderedQueryCache.bindValues(context, commonCondition));
+      var shape = getClass().getName() + "|findAllById|" + idClass.getName() + "|"
+          + renderedQueryCache.render(context, commonCondition);
+      rows = renderedQueryCache.query(context, shape, query, bindValues, fields).fetch();
+    }
+
+    var found = new HashMap<String, Record>();
+    for (Record row : rows) {
+      found.put(String.valueOf(row.get(BATCH_KEY)), row.into(Arrays.stream(row.fields())
+          .filter(field -> !BATCH_KEY.equals(field.getName()))
+          .toArray(Field[]::new)));
+    }
+    return found;
+  }
+
+  private boolean isRenderedQueryCached() {
+    return renderedQueryCache != null && renderedQueryCache.isEnabled();
+  }
+
+  private String renderCondition(Condition condition) {
+    return renderedQueryCache != null
+        ? renderedQueryCache.render(context, condition)
+        : context.render(condition);
+  }
+
+  private List<Object> conditionBindValues(Condition condition) {
+    return renderedQueryCache != null
+        ? renderedQueryCache.bindValues(context, condition)
+        : context.extractBindValues(condition);
+  }
+
+  /**
+   * Reads by id of the handler are coalesced if {@code data-platform.query.coalescing.enabled}.
+   * Concurrent reads within {@code data-platform.query.coalescing.window} are then read by one
+   * query, which cuts the number of queries and connections in use under load, but delays the
+   * first read of each batch by the window.
+   */
+  protected boolean isReadCoalesced() {
+    return coalescingEnabled && !TransactionSynchronizationManager.isActualTransactionActive();
+  }
+
+  // created once per handler, as the mapper keeps the mapping of the last mapped result
+  private EntityRecordMapper<O> entityMapper() {
+    if (entityMapper == null) {
+      entityMapper = new EntityRecordMapper<>(entityType(), false, row -> row.into(entityType()));
+    }
+    return entityMapper;
+  }
+
+  /**
+   * @return {@code true} if the read access is checked by the read query itself, so the callers of
+   * {@link #findById(Request, boolean)} should not check it beforehand
+   */
+  public boolean isAccessCheckedInline() {
+    return accessPermissionService.isInlineCheckEnabled();
+  }
+
+  private Optional<O> findByIdCheckingAccessInline(Request<I> input, Condition commonCondition) {
+    var tableName = tableDataProvider.tableName();
+    var readAccess = accessPermissionService.readAccessCondition(
+        getFieldsToCheckAccess(), jwtInfoProvider.getUserClaims(input));
+
+    Result<Record> result;
+    try {
+      result = InlineAccessCheckUtils.fetch(context, readAccess,
           context
-              .select(selectFields())
+              .select(InlineAccessCheckUtils.withRowMarker(selectFields()))
               .from(DSL.table(tableName))
-              .where(DSL.field(tableDataProvider.pkColumnName()).eq(id))
-              .and(getCommonCondition(input))
-              .fetchOneInto(entityType());
-      return Optional.ofNullable(dto);
+              .where(DSL.field(tableDataProvider.pkColumnName()).eq(input.getPayload()))
+              .and(commonCondition));
     } catch (Exception e) {
       var message = String.format("Couldn't read from table '%s': %s", tableName, e.getMessage());
       throw new SqlErrorException(message, e);
     }
+
+    if (!InlineAccessCheckUtils.isAccessGranted(result)) {
+      throw new ForbiddenOperationException(
+          "User has invalid role for search by ID from " + tableName);
+    }
+    return InlineAccessCheckUtils.foundRows(result).stream()
+        .findFirst()
+        .map(entityMapper()::map);
   }
 
   public void validateAccess(Request<I> input) {
-    JwtClaimsDto userClaims = jwtInfoProvider.getUserClaims(input);
-    if (!accessPermissionService.hasReadAccess(getFieldsToCheckAccess(), userClaims)) {
+    if (!hasReadAccess(input)) {
       throw new ForbiddenOperationException(
           "User has invalid role for search by ID from " + tableDataProvider.tableName());
     }
   }
 
+  public boolean hasReadAccess(Request<I> input) {
+    JwtClaimsDto userClaims = jwtInfoProvider.getUserClaims(input);
+    return accessPermissionService.hasReadAccess(getFieldsToCheckAccess(), userClaims);
+  }
+
   public Condition getCommonCondition(Request<I> input) {
     return DSL.noCondition();
   }
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.queryhandler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import org.jooq.Record;
+
+/**
+ * Coalesces concurrent reads by id into batches. The first read of a batch waits for the window
+ * to pass, or for the batch to fill up, and then reads all the ids of the batch with one query
+ * on its own thread. Reads of an id that is already in a pending or running batch share its
+ * result instead of being added to a batch again.
+ *
+ * <p>Batches are kept per shape, i.e. per the other conditions of the read, so only reads of the
+ * same rows are coalesced. Reads wait for the batch for the join timeout at most, so a stuck batch
+ * doesn't block them for good.
+ */
+class FindByIdCoalescer {
+
+  private final Map<Object, Batch> openBatches = new HashMap<>();
+  private final Map<List<Object>, CompletableFuture<Optional<Record>>> flights =
+      new ConcurrentHashMap<>();
+
+  /**
+   * @param shape key of the other conditions of the read, compared with {@code equals}
+   * @param query reads the rows of the ids, keyed by the string value of the id
+   */
+  Optional<Record> read(Object shape, Object id, Duration window, int maxBatchSize,
+      Duration joinTimeout, Function<List<Object>, Map<String, Record>> query) {
+    var flightKey = Arrays.asList(shape, id);
+    var flight = new CompletableFuture<Optional<Record>>();
+    var existingFlight = flights.putIfAbsent(flightKey, flight);
+    if (existingFlight != null) {
+      return join(existingFlight, joinTimeout);
+    }
+
+    Batch batch;
+    boolean leader = false;
+    synchronized (openBatches) {
+      batch = openBatches.get(shape);
+      if (batch == null) {
+        batch = new Batch();
+        openBatches.put(shape, batch);
+        leader = true;
+      }
+      batch.add(id, flightKey, flight);
+      if (batch.size() >= maxBatchSize) {
+        openBatches.remove(shape);
+        batch.full.complete(null);
+      }
+    }
+
+    if (leader) {
+      batch.awaitFull(window);
+      synchronized (openBatches) {
+        openBatches.remove(shape, batch);
+      }
+      execute(batch, query);
+    }
+    return join(flight, joinTimeout);
+  }
+
+  private void execute(Batch batch, Function<List<Object>, Map<String, Record>> query) {
+    Map<String, Record> rows = null;
+    Throwable failure = null;
+    try {
+      rows = query.apply(batch.ids);
+    } catch (Throwable e) {
+      failure = e;
+    } finally {
+      // reads arriving from now on start a new flight, as the rows may have changed
+      batch.flights.forEach(flights::remove);
+      for (int i = 0; i < batch.ids.size(); i++) {
+        var flight = batch.flights.get(batch.flightKeys.get(i));
+        if (failure != null || rows == null) {
+          flight.completeExceptionally(failure != null ? failure
+              : new IllegalStateException("Batch read by id returned no rows"));
+        } else {
+          flight.complete(Optional.ofNullable(rows.get(String.valueOf(batch.ids.get(i)))));
+        }
+      }
+    }
+  }
+
+  private Optional<Record> join(CompletableFuture<Optional<Record>> flight, Duration timeout) {
+    try {
+      return flight.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw new CompletionException(e.getCause());
+    } catch (TimeoutException e) {
+      throw new IllegalStateException(
+          String.format("Batch read by id has not completed within %s", timeout), e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Batch read by id was interrupted", e);
+    }
+  }
+
+  private static final class Batch {
+
+    private final List<Object> ids = new ArrayList<>();
+    private final List<List<Object>> flightKeys = new ArrayList<>();
+    private final Map<List<Object>, CompletableFuture<Optional<Record>>> flights =
+        new HashMap<>();
+    private final CompletableFuture<Void> full = new CompletableFuture<>();
+
+    private void add(Object id, List<Object> flightKey,
+        CompletableFuture<Optional<Record>> flight) {
+      ids.add(id);
+      flightKeys.add(flightKey);
+      flights.put(flightKey, flight);
+    }
+
+    private int size() {
+      return ids.size();
+    }
+
+    private void awaitFull(Duration window) {
+      try {
+        full.get(window.toNanos(), TimeUnit.NANOSECONDS);
+      } catch (TimeoutException | ExecutionException e) {
+        // the window has passed
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
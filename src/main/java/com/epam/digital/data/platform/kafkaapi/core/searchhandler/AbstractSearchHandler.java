@@ -17,7 +17,18 @@
 package com.epam.digital.data.platform.kafkaapi.core.searchhandler;
 
 import com.epam.digital.data.platform.kafkaapi.core.audit.AuditableDatabaseOperation;
+import com.epam.digital.data.platform.kafkaapi.core.config.ConcurrencyConfig;
+import com.epam.digital.data.platform.kafkaapi.core.converter.jooq.EntityRecordMapper;
+import com.epam.digital.data.platform.kafkaapi.core.exception.ForbiddenOperationException;
 import com.epam.digital.data.platform.kafkaapi.core.exception.SqlErrorException;
+import com.epam.digital.data.platform.kafkaapi.core.model.FieldsAccessCheckDto;
+import com.epam.digital.data.platform.kafkaapi.core.model.KeysetSearchConditionPage;
+import com.epam.digital.data.platform.kafkaapi.core.service.AccessPermissionService;
+import com.epam.digital.data.platform.kafkaapi.core.service.JwtInfoProvider;
+import com.epam.digital.data.platform.kafkaapi.core.service.RenderedQueryCache;
+import com.epam.digital.data.platform.kafkaapi.core.service.SearchResultCache;
+import com.epam.digital.data.platform.kafkaapi.core.util.InlineAccessCheckUtils;
+import com.epam.digital.data.platform.kafkaapi.core.util.JwtClaimsUtils;
 import com.epam.digital.data.platform.kafkaapi.core.util.Operation;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.search.SearchConditionPage;
@@ -25,13 +36,27 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.collections4.CollectionUtils;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.OrderField;
 import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.ResultQuery;
+import org.jooq.Select;
+import org.jooq.SelectConditionStep;
 import org.jooq.SelectFieldOrAsterisk;
 import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public abstract class AbstractSearchHandler<I, O> implements SearchHandler<I, O> {
 
@@ -42,44 +67,316 @@ public abstract class AbstractSearchHandler<I, O> implements SearchHandler<I, O>
   @Qualifier("jooqMapper")
   private ObjectMapper objectMapper;
 
+  @Autowired(required = false)
+  protected AccessPermissionService accessPermissionService;
+  @Autowired(required = false)
+  protected JwtInfoProvider jwtInfoProvider;
+  @Autowired(required = false)
+  private SearchResultCache searchResultCache;
+  @Autowired(required = false)
+  private RenderedQueryCache renderedQueryCache;
+
+  @Value("${data-platform.search.streaming.fetch-size:1000}")
+  private int streamingFetchSize;
+  @Value("${data-platform.search.count.strategy:SEPARATE}")
+  private CountStrategy defaultCountStrategy;
+  @Value("${data-platform.search.count.parallel:false}")
+  private boolean parallelCount;
+  @Autowired(required = false)
+  @Qualifier(ConcurrencyConfig.SEARCH_COUNT_EXECUTOR)
+  private Executor countExecutor;
+
+  private final KeysetSearch<I, O> keysetSearch = new KeysetSearch<>(this);
+  private final StreamedSearch<I, O> streamedSearch = new StreamedSearch<>(this);
+  private final SearchCounter<I, O> searchCounter = new SearchCounter<>(this);
+  private volatile EntityRecordMapper<O> recordMapper;
+  private volatile EntityRecordMapper<O> fieldsMapper;
+
+  @PostConstruct
+  public void registerCachedTables() {
+    if (searchResultCache != null && !cachedTables().isEmpty()) {
+      searchResultCache.registerTables(cachedTables());
+    }
+  }
+
   @AuditableDatabaseOperation(Operation.SEARCH)
   @Override
   public SearchConditionPage<O> search(Request<I> input) {
-    var response = new SearchConditionPage<O>();
-    response.setContent(getContent(input));
+    if (!isResultCached()) {
+      return searchUncached(input);
+    }
+
+    var roles = JwtClaimsUtils.getRoles(jwtInfoProvider.getUserClaims(input));
+    var cached = searchResultCache.get(getClass().getName(), input.getPayload(), roles,
+        getCommonCondition(input).toString(), cachedTables(), () -> searchUncached(input));
+    // the cached page is shared, while subclasses complete the returned one
+    return copyOf(cached);
+  }
+
+  private SearchConditionPage<O> searchUncached(Request<I> input) {
+    if (isPaged() && !isKeysetPaginated() && !isAccessCheckedInline()) {
+      return searchCounter.searchPage(input, countStrategy(),
+          parallelCount ? countExecutor : null);
+    }
+
+    SearchConditionPage<O> response;
+    if (isKeysetPaginated()) {
+      response = keysetSearch.search(input);
+    } else {
+      response = new SearchConditionPage<>();
+      response.setContent(getContent(input));
+    }
+    if (isPaged()) {
+      // counted after the content, so nothing is counted if the access is not granted
+      response.setTotalElements(searchCounter.totalElements(input, countStrategy()));
+    }
     return response;
   }
 
+  private SearchConditionPage<O> copyOf(SearchConditionPage<O> page) {
+    SearchConditionPage<O> copy;
+    if (page instanceof KeysetSearchConditionPage) {
+      var keysetCopy = new KeysetSearchConditionPage<O>();
+      keysetCopy.setContinuationToken(
+          ((KeysetSearchConditionPage<O>) page).getContinuationToken());
+      copy = keysetCopy;
+    } else {
+      copy = new SearchConditionPage<>();
+    }
+    copy.setContent(new ArrayList<>(page.getContent()));
+    copy.setTotalElements(page.getTotalElements());
+    copy.setTotalPages(page.getTotalPages());
+    copy.setPageSize(page.getPageSize());
+    copy.setPageNo(page.getPageNo());
+    return copy;
+  }
+
   protected Integer count(Request<I> input) {
+    return searchCounter.count(input);
+  }
+
+  protected List<O> getContent(Request<I> input) {
+    if (isAccessCheckedInline()) {
+      return getContentCheckingAccessInline(input);
+    }
+
+    var tableName = tableName();
+
+    try {
+      var selectFields = selectFields();
+      return contentQuery(input, selectFields).fetch(entityMapper(selectFields));
+    } catch (Exception e) {
+      var message = String.format("Couldn't read from table '%s': %s", tableName, e.getMessage());
+      throw new SqlErrorException(message, e);
+    }
+  }
+
+  private ResultQuery<? extends Record> contentQuery(Request<I> input,
+      List<SelectFieldOrAsterisk> selectFields) {
     I searchCriteria = input.getPayload();
-    return context
-            .selectCount()
+    var whereClause = whereClause(searchCriteria);
+    var commonCondition = getCommonCondition(input);
+    var offset = offset(searchCriteria);
+    var limit = limit(searchCriteria);
+    Supplier<ResultQuery<? extends Record>> query = () ->
+        context
+            .select(selectFields)
             .from(DSL.table(tableName()))
-            .where(whereClause(searchCriteria))
-            .and(getCommonCondition(input))
-            .fetchOne(0, Integer.class);
+            .where(whereClause)
+            .and(commonCondition)
+            .limit(offset, limit);
+    if (!isRenderedQueryCached()) {
+      return query.get();
+    }
+
+    // an absent limit and a zero offset are not rendered as bind values
+    var bindValues = bindValues(whereClause, commonCondition);
+    boolean hasLimit = limit != null;
+    boolean hasOffset = offset != null && offset != 0;
+    if (hasLimit) {
+      bindValues.add(limit);
+    }
+    if (hasOffset) {
+      bindValues.add(offset);
+    }
+    var shape = queryShape("content", whereClause, commonCondition) + "|" + hasLimit + "|"
+        + hasOffset;
+    return cachedQuery(shape, query, bindValues, selectFields);
   }
 
-  protected List<O> getContent(Request<I> input) {
+  boolean isRenderedQueryCached() {
+    return renderedQueryCache != null && renderedQueryCache.isEnabled();
+  }
+
+  ResultQuery<? extends Record> cachedQuery(String shape,
+      Supplier<ResultQuery<? extends Record>> query, List<Object> bindValues,
+      List<SelectFieldOrAsterisk> selectFields) {
+    return renderedQueryCache.query(context, shape, query, bindValues, selectFields);
+  }
+
+  String queryShape(String query, Condition whereClause, Condition commonCondition) {
+    return String.join("|", getClass().getName(), query, context.render(whereClause),
+        renderedQueryCache.render(context, commonCondition));
+  }
+
+  List<Object> bindValues(Condition whereClause, Condition commonCondition) {
+    var bindValues = new ArrayList<>(context.extractBindValues(whereClause));
+    bindValues.addAll(renderedQueryCache.bindValues(context, commonCondition));
+    return bindValues;
+  }
+
+  private List<O> getContentCheckingAccessInline(Request<I> input) {
+    var rowsQuery = rowsQuery(input, InlineAccessCheckUtils.withRowMarker(selectFields()));
+    return toEntities(fetchCheckingAccessInline(input, rowsQuery, List.of()));
+  }
+
+  /**
+   * Streams the found entities to the consumer one by one. Rows are read with a lazy cursor in
+   * batches of {@code data-platform.search.streaming.fetch-size}, so neither the rows nor the
+   * entities of the whole page are kept in memory. Runs in a read-only transaction, as the
+   * PostgreSQL driver only fetches in batches with auto-commit disabled.
+   */
+  @AuditableDatabaseOperation(Operation.SEARCH)
+  @Transactional(readOnly = true)
+  public void searchStreamed(Request<I> input, Consumer<O> consumer) {
+    streamedSearch.search(input, consumer, streamingFetchSize);
+  }
+
+  Select<Record> rowsQuery(Request<I> input, List<SelectFieldOrAsterisk> fields) {
     I searchCriteria = input.getPayload();
+    if (isKeysetPaginated()) {
+      return keysetSearch.rowsQuery(input, fields, limit(searchCriteria));
+    }
+    return selectRows(input, fields).limit(offset(searchCriteria), limit(searchCriteria));
+  }
+
+  SelectConditionStep<Record> selectRows(Request<I> input,
+      List<SelectFieldOrAsterisk> fields) {
+    return context
+        .select(fields)
+        .from(DSL.table(tableName()))
+        .where(whereClause(input.getPayload()))
+        .and(getCommonCondition(input));
+  }
+
+  List<Record> fetchCheckingAccessInline(Request<I> input, Select<?> rowsQuery,
+      List<? extends OrderField<?>> order) {
     var tableName = tableName();
+    var readAccess = accessPermissionService.readAccessCondition(
+        getFieldsToCheckAccess(), jwtInfoProvider.getUserClaims(input));
 
+    Result<Record> result;
     try {
-      var selectFields = selectFields();
-      var selectRequest =
-              context
-                      .select(selectFields)
-                      .from(DSL.table(tableName))
-              .where(whereClause(searchCriteria))
-              .and(getCommonCondition(input))
-              .limit(offset(searchCriteria), limit(searchCriteria));
-      return CollectionUtils.size(selectFields) > 1
-              ? selectRequest.fetchInto(entityType())
-              : selectRequest.fetch(this::mapFieldsToEntity);
+      result = InlineAccessCheckUtils.fetch(context, readAccess, rowsQuery, order);
     } catch (Exception e) {
       var message = String.format("Couldn't read from table '%s': %s", tableName, e.getMessage());
       throw new SqlErrorException(message, e);
     }
+
+    if (!InlineAccessCheckUtils.isAccessGranted(result)) {
+      throw new ForbiddenOperationException("User has invalid role for search in " + tableName);
+    }
+    return InlineAccessCheckUtils.foundRows(result);
+  }
+
+  List<O> toEntities(List<Record> rows) {
+    var entityMapper = entityMapper(selectFields());
+    List<O> content = new ArrayList<>(rows.size());
+    for (Record row : rows) {
+      content.add(entityMapper.map(row));
+    }
+    return content;
+  }
+
+  /**
+   * Entities of a single select field, e.g. an asterisk, are mapped as Jackson would convert the
+   * map of the record, other entities as jOOQ would map the record into the entity type. Mappers
+   * are created once per handler, as they keep the mapping of the last mapped result.
+   */
+  EntityRecordMapper<O> entityMapper(List<SelectFieldOrAsterisk> selectFields) {
+    if (CollectionUtils.size(selectFields) > 1) {
+      if (recordMapper == null) {
+        recordMapper =
+            new EntityRecordMapper<>(entityType(), false, row -> row.into(entityType()));
+      }
+      return recordMapper;
+    }
+    if (fieldsMapper == null) {
+      fieldsMapper = new EntityRecordMapper<>(entityType(), true, this::mapFieldsToEntity);
+    }
+    return fieldsMapper;
+  }
+
+  private boolean isResultCached() {
+    return searchResultCache != null
+        && jwtInfoProvider != null
+        && searchResultCache.isEnabled()
+        && !cachedTables().isEmpty();
+  }
+
+  /**
+   * Tables read by the search. When the search result cache is enabled, results of the search
+   * are cached per criteria, roles and common condition until a row of any of the tables is
+   * inserted, updated or deleted. Searches usually read views, so the tables are the ones the
+   * view selects from. Search results are not cached by default.
+   */
+  protected Set<String> cachedTables() {
+    return Set.of();
+  }
+
+  /**
+   * Paged searches return the total number of found rows with the content, counted according to
+   * {@link #countStrategy()}.
+   */
+  protected boolean isPaged() {
+    return false;
+  }
+
+  protected CountStrategy countStrategy() {
+    return defaultCountStrategy;
+  }
+
+  /**
+   * @return {@code true} if the search is paginated by {@link #keysetFields()}
+   */
+  protected boolean isKeysetPaginated() {
+    return !keysetFields().isEmpty();
+  }
+
+  /**
+   * Ordered unique key of the searched rows for keyset pagination. The fields must be typed,
+   * not nullable and referred to by their names in {@link #selectFields()}, e.g.
+   * {@code DSL.field("id", UUID.class)}. Searches are paginated with offset by default.
+   */
+  protected List<Field<?>> keysetFields() {
+    return List.of();
+  }
+
+  /**
+   * @return continuation token of the previous page passed with the search criteria, or
+   * {@code null} for the first page of a keyset paginated search
+   */
+  protected String continuationToken(I searchCriteria) {
+    return null;
+  }
+
+  /**
+   * @return {@code true} if the search checks read access to {@link #getFieldsToCheckAccess()}
+   * within its select
+   */
+  protected boolean isAccessCheckedInline() {
+    return accessPermissionService != null
+        && jwtInfoProvider != null
+        && accessPermissionService.isInlineCheckEnabled()
+        && !getFieldsToCheckAccess().isEmpty();
+  }
+
+  /**
+   * Fields read by the search, checked within the select when the inline permission check is
+   * enabled. Searches don't check read access by default.
+   */
+  protected List<FieldsAccessCheckDto> getFieldsToCheckAccess() {
+    return List.of();
   }
 
   private O mapFieldsToEntity(Record src) {
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.searchhandler;
+
+/**
+ * How paged searches get the total number of found rows.
+ */
+public enum CountStrategy {
+  /**
+   * Separate {@code select count(*)} with the search conditions, run concurrently with the content
+   * query if the parallel count is enabled.
+   */
+  SEPARATE,
+  /**
+   * {@code count(*) over()} computed by the content query itself. Falls back to a separate count
+   * for a page past the last row, and for searches that can't compute it in one query.
+   */
+  WINDOW,
+  /**
+   * Row estimate of the query planner. Cheap on very large tables, but approximate.
+   */
+  ESTIMATE
+}
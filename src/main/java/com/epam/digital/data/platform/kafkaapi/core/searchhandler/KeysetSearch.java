@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.searchhandler;
+
+import com.epam.digital.data.platform.kafkaapi.core.exception.SqlErrorException;
+import com.epam.digital.data.platform.kafkaapi.core.model.KeysetSearchConditionPage;
+import com.epam.digital.data.platform.kafkaapi.core.util.ContinuationTokenUtils;
+import com.epam.digital.data.platform.kafkaapi.core.util.InlineAccessCheckUtils;
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import java.util.ArrayList;
+import java.util.List;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Select;
+import org.jooq.SelectFieldOrAsterisk;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+
+/**
+ * Reads the page following the position in {@link AbstractSearchHandler#continuationToken(Object)}
+ * ordered by {@link AbstractSearchHandler#keysetFields()}, so the database seeks to the page by the
+ * key index instead of reading and skipping all the preceding rows.
+ */
+class KeysetSearch<I, O> {
+
+  private final AbstractSearchHandler<I, O> handler;
+
+  KeysetSearch(AbstractSearchHandler<I, O> handler) {
+    this.handler = handler;
+  }
+
+  KeysetSearchConditionPage<O> search(Request<I> input) {
+    var keysetFields = handler.keysetFields();
+    var limit = handler.limit(input.getPayload());
+    // a row past the page is read to know if there is a next page
+    var fetchLimit = limit == null ? null : limit + 1;
+
+    List<Record> rows;
+    if (handler.isAccessCheckedInline()) {
+      var rowsQuery = rowsQuery(input,
+          InlineAccessCheckUtils.withRowMarker(handler.selectFields()), fetchLimit);
+      rows = handler.fetchCheckingAccessInline(input, rowsQuery, keysetFields);
+    } else {
+      try {
+        rows = rowsQuery(input, handler.selectFields(), fetchLimit).fetch();
+      } catch (DataAccessException e) {
+        throw new SqlErrorException(String.format(
+            "Couldn't read from table '%s': %s", handler.tableName(), e.getMessage()), e);
+      }
+    }
+
+    boolean hasNextPage = limit != null && rows.size() > limit;
+    if (hasNextPage) {
+      rows = rows.subList(0, limit);
+    }
+
+    var response = new KeysetSearchConditionPage<O>();
+    response.setContent(handler.toEntities(rows));
+    if (hasNextPage && !rows.isEmpty()) {
+      response.setContinuationToken(
+          ContinuationTokenUtils.encode(keyValues(rows.get(rows.size() - 1), keysetFields)));
+    }
+    return response;
+  }
+
+  private List<Object> keyValues(Record row, List<Field<?>> keysetFields) {
+    var keyValues = new ArrayList<>(keysetFields.size());
+    for (Field<?> field : keysetFields) {
+      var value = row.get(field.getName());
+      if (value == null) {
+        // a null can't be sought past, as it's neither greater nor less than any key
+        throw new IllegalStateException(String.format(
+            "Keyset field '%s' of table '%s' is null, keyset fields must not be nullable",
+            field.getName(), handler.tableName()));
+      }
+      keyValues.add(value);
+    }
+    return keyValues;
+  }
+
+  Select<Record> rowsQuery(Request<I> input, List<SelectFieldOrAsterisk> fields, Integer limit) {
+    var keysetFields = handler.keysetFields();
+    var orderedSelect = handler.selectRows(input, fields).orderBy(keysetFields);
+    var token = handler.continuationToken(input.getPayload());
+    return token == null
+        ? orderedSelect.limit(limit)
+        : orderedSelect.seek(seekValues(token, keysetFields)).limit(limit);
+  }
+
+  private Field<?>[] seekValues(String token, List<Field<?>> keysetFields) {
+    var values = ContinuationTokenUtils.decode(token, keysetFields.size());
+    var seekValues = new Field<?>[values.size()];
+    for (int i = 0; i < values.size(); i++) {
+      var dataType = keysetFields.get(i).getDataType();
+      seekValues[i] = Object.class.equals(dataType.getType())
+          ? DSL.val(values.get(i))
+          : DSL.cast(values.get(i), dataType);
+    }
+    return seekValues;
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.searchhandler;
+
+import com.epam.digital.data.platform.kafkaapi.core.exception.SqlErrorException;
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.epam.digital.data.platform.model.core.search.SearchConditionPage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.ResultQuery;
+import org.jooq.SelectFieldOrAsterisk;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+
+/**
+ * Counts the rows found by paged searches according to their {@link CountStrategy}.
+ */
+class SearchCounter<I, O> {
+
+  private static final String TOTAL_COUNT = "total_count";
+
+  private final AbstractSearchHandler<I, O> handler;
+
+  SearchCounter(AbstractSearchHandler<I, O> handler) {
+    this.handler = handler;
+  }
+
+  /**
+   * Reads the offset paginated page and counts its total elements.
+   *
+   * @param countExecutor executor to count concurrently with the content query by the
+   *                      {@link CountStrategy#SEPARATE} strategy, or {@code null} to count after
+   *                      the content
+   */
+  SearchConditionPage<O> searchPage(Request<I> input, CountStrategy strategy,
+      Executor countExecutor) {
+    var response = new SearchConditionPage<O>();
+    switch (strategy) {
+      case WINDOW:
+        searchWithWindowCount(input, response);
+        break;
+      case ESTIMATE:
+        response.setContent(handler.getContent(input));
+        response.setTotalElements(estimateCount(input));
+        break;
+      default:
+        if (countExecutor != null) {
+          var total = CompletableFuture.supplyAsync(() -> handler.count(input), countExecutor);
+          response.setContent(handler.getContent(input));
+          response.setTotalElements(joinCount(total));
+        } else {
+          response.setContent(handler.getContent(input));
+          response.setTotalElements(handler.count(input));
+        }
+    }
+    return response;
+  }
+
+  /**
+   * Counts total elements of a search whose content has been read separately, e.g. by keyset.
+   */
+  Integer totalElements(Request<I> input, CountStrategy strategy) {
+    return strategy == CountStrategy.ESTIMATE ? estimateCount(input) : handler.count(input);
+  }
+
+  Integer count(Request<I> input) {
+    var whereClause = handler.whereClause(input.getPayload());
+    var commonCondition = handler.getCommonCondition(input);
+    Supplier<ResultQuery<? extends Record>> query = () ->
+        handler.context
+            .selectCount()
+            .from(DSL.table(handler.tableName()))
+            .where(whereClause)
+            .and(commonCondition);
+    if (!handler.isRenderedQueryCached()) {
+      return query.get().fetchOne(0, Integer.class);
+    }
+
+    return handler
+        .cachedQuery(handler.queryShape("count", whereClause, commonCondition), query,
+            handler.bindValues(whereClause, commonCondition), List.of())
+        .fetchOne(0, Integer.class);
+  }
+
+  private void searchWithWindowCount(Request<I> input, SearchConditionPage<O> response) {
+    var fields = new ArrayList<SelectFieldOrAsterisk>(handler.selectFields());
+    fields.add(DSL.count().over().as(TOTAL_COUNT));
+
+    List<Record> rows;
+    try {
+      rows = handler.rowsQuery(input, fields).fetch();
+    } catch (DataAccessException e) {
+      var message = String.format("Couldn't read from table '%s': %s", handler.tableName(),
+          e.getMessage());
+      throw new SqlErrorException(message, e);
+    }
+
+    if (rows.isEmpty()) {
+      // a page past the last row has no row to carry the total
+      var offset = handler.offset(input.getPayload());
+      response.setTotalElements(offset == null || offset == 0 ? 0 : handler.count(input));
+    } else {
+      response.setTotalElements(rows.get(0).get(TOTAL_COUNT, Integer.class));
+    }
+    response.setContent(handler.toEntities(rows.stream()
+        .map(row -> row.into(Arrays.stream(row.fields())
+            .filter(field -> !TOTAL_COUNT.equals(field.getName()))
+            .toArray(Field[]::new)))
+        .collect(Collectors.toList())));
+  }
+
+  private Integer estimateCount(Request<I> input) {
+    var explain = handler.context.explain(
+        handler.context
+            .selectOne()
+            .from(DSL.table(handler.tableName()))
+            .where(handler.whereClause(input.getPayload()))
+            .and(handler.getCommonCondition(input)));
+    return (int) Math.round(explain.rows());
+  }
+
+  private Integer joinCount(CompletableFuture<Integer> total) {
+    try {
+      return total.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.searchhandler;
+
+import com.epam.digital.data.platform.kafkaapi.core.exception.ForbiddenOperationException;
+import com.epam.digital.data.platform.kafkaapi.core.exception.SqlErrorException;
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import java.util.function.Consumer;
+import org.jooq.Cursor;
+import org.jooq.Record;
+import org.jooq.exception.DataAccessException;
+
+/**
+ * Streams the found entities to the consumer one by one. Rows are read with a lazy cursor in
+ * batches of the fetch size, so neither the rows nor the entities of the whole page are kept in
+ * memory.
+ */
+class StreamedSearch<I, O> {
+
+  private final AbstractSearchHandler<I, O> handler;
+
+  StreamedSearch(AbstractSearchHandler<I, O> handler) {
+    this.handler = handler;
+  }
+
+  void search(Request<I> input, Consumer<O> consumer, int fetchSize) {
+    var tableName = handler.tableName();
+    if (handler.isAccessCheckedInline() && !handler.accessPermissionService.hasReadAccess(
+        handler.getFieldsToCheckAccess(), handler.jwtInfoProvider.getUserClaims(input))) {
+      throw new ForbiddenOperationException("User has invalid role for search in " + tableName);
+    }
+
+    var selectFields = handler.selectFields();
+    var entityMapper = handler.entityMapper(selectFields);
+    try (Cursor<Record> cursor = handler.rowsQuery(input, selectFields)
+        .fetchSize(fetchSize)
+        .fetchLazy()) {
+      for (Record row : cursor) {
+        consumer.accept(entityMapper.map(row));
+      }
+    } catch (DataAccessException e) {
+      var message = String.format("Couldn't read from table '%s': %s", tableName, e.getMessage());
+      throw new SqlErrorException(message, e);
+    }
+  }
+}
@@ -21,54 +21,138 @@ import com.epam.digital.data.platform.kafkaapi.core.util.JwtClaimsUtils;
 import com.epam.digital.data.platform.kafkaapi.core.util.SQLExceptionResolverUtil;
 import com.epam.digital.data.platform.starter.security.dto.JwtClaimsDto;
 
+import org.jooq.Condition;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
-import java.sql.Array;
-import java.sql.CallableStatement;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Checks read access to the fields of one or more tables with {@code f_check_permissions}. All the
+ * tables are checked in a single statement on the connection bound to the current transaction, if
+ * any. Field lists are passed as comma separated strings, as a multidimensional array in
+ * PostgreSQL must be rectangular.
+ *
+ * <p>With {@code data-platform.permission-check.inline} enabled, handlers don't call
+ * {@link #hasReadAccess(List, JwtClaimsDto)} but include {@link #readAccessCondition(List,
+ * JwtClaimsDto)} into their read query, so a read takes one statement on one connection.
+ */
 @Component
 public class AccessPermissionService {
   private static final String PERMISSION_CHECK_SQL_STRING =
-      "select f_check_permissions(?, ?, ?::type_operation, ?);";
+      "select coalesce(bool_and(coalesce("
+          + "f_check_permissions(t.table_name, ?, ?::type_operation, string_to_array(t.fields, ?)),"
+          + " false)), false) "
+          + "from unnest(?::text[], ?::text[]) as t(table_name, fields)";
   private static final String SEARCH_TYPE_OPERATION = "S";
+  private static final String FIELDS_SEPARATOR = ",";
+  private static final String INLINE_PERMISSION_CHECK_SQL =
+      "coalesce(f_check_permissions({0}, cast({1} as text[]), cast({2} as type_operation),"
+          + " cast({3} as text[])), false)";
 
   private final DataSource dataSource;
+  private final PermissionDecisionCache permissionDecisionCache;
+  private final boolean inlineCheckEnabled;
 
-  public AccessPermissionService(DataSource dataSource) {
+  public AccessPermissionService(DataSource dataSource,
+      PermissionDecisionCache permissionDecisionCache,
+      @Value("${data-platform.permission-check.inline:false}") boolean inlineCheckEnabled) {
     this.dataSource = dataSource;
+    this.permissionDecisionCache = permissionDecisionCache;
+    this.inlineCheckEnabled = inlineCheckEnabled;
+  }
+
+  public boolean isInlineCheckEnabled() {
+    return inlineCheckEnabled;
   }
 
   public boolean hasReadAccess(
           List<FieldsAccessCheckDto> accessedFieldsDto, JwtClaimsDto userClaims) {
     List<String> userRoles = JwtClaimsUtils.getRoles(userClaims);
-    try (Connection connection = dataSource.getConnection();
-         CallableStatement statement = connection.prepareCall(PERMISSION_CHECK_SQL_STRING)) { //NOSONAR
-      for (FieldsAccessCheckDto tableFields : accessedFieldsDto) {
-        Array userRolesDbArray = connection.createArrayOf("text", userRoles.toArray());
-        Array searchFieldsDbArray = connection.createArrayOf("text", tableFields.getFields().toArray());
-        statement.setString(1, tableFields.getTableName()); //NOSONAR
-        statement.setArray(2, userRolesDbArray);
-        statement.setString(3, SEARCH_TYPE_OPERATION);
-        statement.setArray(4, searchFieldsDbArray);
+    List<FieldsAccessCheckDto> notCachedFieldsDto = new ArrayList<>();
+    for (FieldsAccessCheckDto tableFields : accessedFieldsDto) {
+      Optional<Boolean> cachedDecision = permissionDecisionCache.get(
+          tableFields.getTableName(), userRoles, tableFields.getFields());
+      if (cachedDecision.isEmpty()) {
+        notCachedFieldsDto.add(tableFields);
+      } else if (!cachedDecision.get()) {
+        return false;
+      }
+    }
+    if (notCachedFieldsDto.isEmpty()) {
+      return true;
+    }
+
+    long cacheVersion = permissionDecisionCache.version();
+    boolean hasAccess = checkPermissions(notCachedFieldsDto, userRoles);
+    // a denial of several tables at once can't be attributed to any one of them
+    if (hasAccess || notCachedFieldsDto.size() == 1) {
+      for (FieldsAccessCheckDto tableFields : notCachedFieldsDto) {
+        permissionDecisionCache.put(tableFields.getTableName(), userRoles,
+            tableFields.getFields(), hasAccess, cacheVersion);
+      }
+    }
+    return hasAccess;
+  }
+
+  /**
+   * Builds the read access predicate to be evaluated by the read query itself. Decisions found in
+   * the permission decision cache are inlined as constants.
+   */
+  public Condition readAccessCondition(
+      List<FieldsAccessCheckDto> accessedFieldsDto, JwtClaimsDto userClaims) {
+    List<String> userRoles = JwtClaimsUtils.getRoles(userClaims);
+    String[] userRolesArray = userRoles.toArray(new String[0]);
+    List<Condition> conditions = new ArrayList<>();
+    for (FieldsAccessCheckDto tableFields : accessedFieldsDto) {
+      Optional<Boolean> cachedDecision = permissionDecisionCache.get(
+          tableFields.getTableName(), userRoles, tableFields.getFields());
+      if (cachedDecision.isEmpty()) {
+        conditions.add(DSL.condition(INLINE_PERMISSION_CHECK_SQL,
+            DSL.val(tableFields.getTableName()),
+            DSL.val(userRolesArray),
+            DSL.val(SEARCH_TYPE_OPERATION),
+            DSL.val(tableFields.getFields().toArray(new String[0]))));
+      } else if (!cachedDecision.get()) {
+        return DSL.falseCondition();
+      }
+    }
+    return conditions.isEmpty() ? DSL.trueCondition() : DSL.and(conditions);
+  }
+
+  private boolean checkPermissions(List<FieldsAccessCheckDto> accessedFieldsDto,
+      List<String> userRoles) {
+    String[] tableNames = new String[accessedFieldsDto.size()];
+    String[] tableFields = new String[accessedFieldsDto.size()];
+    for (int i = 0; i < accessedFieldsDto.size(); i++) {
+      tableNames[i] = accessedFieldsDto.get(i).getTableName();
+      tableFields[i] = String.join(FIELDS_SEPARATOR, accessedFieldsDto.get(i).getFields());
+    }
+
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    try (PreparedStatement statement = connection.prepareStatement(PERMISSION_CHECK_SQL_STRING)) {
+      statement.setArray(1, connection.createArrayOf("text", userRoles.toArray()));
+      statement.setString(2, SEARCH_TYPE_OPERATION);
+      statement.setString(3, FIELDS_SEPARATOR);
+      statement.setArray(4, connection.createArrayOf("text", tableNames));
+      statement.setArray(5, connection.createArrayOf("text", tableFields));
 
-        ResultSet rs = statement.executeQuery();
-        if (rs.next()) {
-          boolean hasTableAccess = rs.getBoolean(1);
-          if (!hasTableAccess) {
-            return false;
-          }
-        } else {
-          return false;
-        }
+      try (ResultSet rs = statement.executeQuery()) {
+        return rs.next() && rs.getBoolean(1);
       }
     } catch (SQLException e) {
       throw SQLExceptionResolverUtil.getDetailedExceptionFromSql(e);
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
     }
-    return true;
   }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import com.epam.digital.data.platform.integration.ceph.exception.CephCommunicationException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+/**
+ * Non-blocking counterpart of the ceph client. Requests are sent by the netty event loop, so no
+ * thread is held while waiting for ceph. Failures are reported with the same
+ * {@link CephCommunicationException} as the blocking client uses.
+ */
+public class AsyncCephService {
+
+  private static final String CONTENT_TYPE = "application/json";
+
+  private final S3AsyncClient s3AsyncClient;
+
+  public AsyncCephService(S3AsyncClient s3AsyncClient) {
+    this.s3AsyncClient = s3AsyncClient;
+  }
+
+  /**
+   * @return future completed with the object content or empty if there is no object by the key
+   */
+  public CompletableFuture<Optional<String>> getAsString(String bucketName, String key) {
+    var request = GetObjectRequest.builder().bucket(bucketName).key(key).build();
+    return s3AsyncClient.getObject(request, AsyncResponseTransformer.toBytes())
+        .handle((response, e) -> {
+          if (e == null) {
+            return Optional.of(response.asUtf8String());
+          }
+          var cause = unwrap(e);
+          if (cause instanceof NoSuchKeyException) {
+            return Optional.empty();
+          }
+          throw new CephCommunicationException(cause.getMessage(), cause);
+        });
+  }
+
+  public CompletableFuture<Void> put(String bucketName, String key, String content) {
+    var request = PutObjectRequest.builder()
+        .bucket(bucketName)
+        .key(key)
+        .contentType(CONTENT_TYPE)
+        .build();
+    return s3AsyncClient.putObject(request, AsyncRequestBody.fromString(content))
+        .handle((response, e) -> {
+          if (e != null) {
+            var cause = unwrap(e);
+            throw new CephCommunicationException(cause.getMessage(), cause);
+          }
+          return null;
+        });
+  }
+
+  /**
+   * Uploads the content of the file, read in chunks while it is being sent.
+   */
+  public CompletableFuture<Void> put(String bucketName, String key, Path file) {
+    var request = PutObjectRequest.builder()
+        .bucket(bucketName)
+        .key(key)
+        .contentType(CONTENT_TYPE)
+        .build();
+    return s3AsyncClient.putObject(request, AsyncRequestBody.fromFile(file))
+        .handle((response, e) -> {
+          if (e != null) {
+            var cause = unwrap(e);
+            throw new CephCommunicationException(cause.getMessage(), cause);
+          }
+          return null;
+        });
+  }
+
+  private Throwable unwrap(Throwable e) {
+    return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import com.epam.digital.data.platform.dso.api.dto.VerificationRequestDto;
+import com.epam.digital.data.platform.dso.api.dto.VerificationResponseDto;
+import com.epam.digital.data.platform.kafkaapi.core.exception.ExternalCommunicationException;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.codec.ErrorDecoder;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking counterpart of the digital seal rest client. The JDK http client keeps a pool of
+ * persistent connections and completes responses without holding the calling thread. The
+ * endpoint is taken from the mapping of the feign client, the request interceptors of the feign
+ * client add their headers (tracing, authorization) the same way, and error responses are decoded
+ * by its error decoder, so they fail with the same exceptions as the blocking client does.
+ */
+public class AsyncDigitalSealClient {
+
+  private static final String CONTENT_TYPE = "application/json";
+  // set by the http client itself, it refuses requests that have them
+  private static final Set<String> RESTRICTED_HEADERS =
+      Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+  private final HttpClient httpClient;
+  private final URI verifyUri;
+  private final Duration requestTimeout;
+  private final ObjectMapper objectMapper;
+  private final ErrorDecoder errorDecoder;
+  private final String methodKey;
+  private final List<RequestInterceptor> requestInterceptors;
+
+  public AsyncDigitalSealClient(HttpClient httpClient, URI verifyUri, Duration requestTimeout,
+      ObjectMapper objectMapper, ErrorDecoder errorDecoder, String methodKey,
+      List<RequestInterceptor> requestInterceptors) {
+    this.httpClient = httpClient;
+    this.verifyUri = verifyUri;
+    this.requestTimeout = requestTimeout;
+    this.objectMapper = objectMapper;
+    this.errorDecoder = errorDecoder;
+    this.methodKey = methodKey;
+    this.requestInterceptors = List.copyOf(requestInterceptors);
+  }
+
+  public CompletableFuture<VerificationResponseDto> verify(VerificationRequestDto requestDto) {
+    var body = serialize(requestDto);
+    var template = requestTemplate(body);
+    var requestBuilder = HttpRequest.newBuilder(verifyUri)
+        .timeout(requestTimeout)
+        .POST(BodyPublishers.ofByteArray(body));
+    template.headers().forEach((name, values) -> {
+      if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+        values.forEach(value -> requestBuilder.header(name, value));
+      }
+    });
+    return httpClient.sendAsync(requestBuilder.build(), BodyHandlers.ofByteArray())
+        .handle((response, e) -> {
+          if (e != null) {
+            var cause = e instanceof CompletionException ? e.getCause() : e;
+            var message = String.format("External digital signature service not responding: %s",
+                cause.getMessage());
+            throw new ExternalCommunicationException(message, cause,
+                Status.THIRD_PARTY_SERVICE_UNAVAILABLE);
+          }
+          return toVerificationResponse(response, template);
+        });
+  }
+
+  private RequestTemplate requestTemplate(byte[] body) {
+    var template = new RequestTemplate();
+    template.method(HttpMethod.POST);
+    template.target(verifyUri.toString());
+    template.header("Content-Type", CONTENT_TYPE);
+    template.body(body, StandardCharsets.UTF_8);
+    requestInterceptors.forEach(interceptor -> interceptor.apply(template));
+    return template;
+  }
+
+  private VerificationResponseDto toVerificationResponse(HttpResponse<byte[]> response,
+      RequestTemplate template) {
+    int statusCode = response.statusCode();
+    if (statusCode >= 200 && statusCode < 300) {
+      return deserialize(response.body());
+    }
+    var exception = errorDecoder.decode(methodKey, toFeignResponse(response, template));
+    if (exception instanceof RuntimeException) {
+      throw (RuntimeException) exception;
+    }
+    throw new CompletionException(exception);
+  }
+
+  private Response toFeignResponse(HttpResponse<byte[]> response, RequestTemplate template) {
+    var request = Request.create(HttpMethod.POST, verifyUri.toString(), template.headers(),
+        template.body(), StandardCharsets.UTF_8, null);
+    return Response.builder()
+        .status(response.statusCode())
+        .headers(new HashMap<String, Collection<String>>(response.headers().map()))
+        .body(response.body())
+        .request(request)
+        .build();
+  }
+
+  private byte[] serialize(VerificationRequestDto requestDto) {
+    try {
+      return objectMapper.writeValueAsBytes(requestDto);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Couldn't serialize object", e);
+    }
+  }
+
+  private VerificationResponseDto deserialize(byte[] body) {
+    try {
+      return objectMapper.readValue(body, VerificationResponseDto.class);
+    } catch (IOException e) {
+      throw new ExternalCommunicationException(
+          "Couldn't read digital signature service response", e,
+          Status.INTERNAL_CONTRACT_VIOLATION);
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import com.epam.digital.data.platform.dso.api.dto.VerificationRequestDto;
+import com.epam.digital.data.platform.integration.ceph.exception.CephCommunicationException;
+import com.epam.digital.data.platform.kafkaapi.core.config.AsyncIoConfig;
+import com.epam.digital.data.platform.kafkaapi.core.exception.ExternalCommunicationException;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies digital seals with non-blocking ceph and signature service clients. The verification
+ * cache, ceph read hedging and the mapping of signature service errors are shared with
+ * {@link DigitalSignatureService}.
+ */
+@Component
+@ConditionalOnProperty(name = AsyncIoConfig.ENABLED_PROPERTY, havingValue = "true")
+public class AsyncDigitalSignatureService {
+
+  private final Logger log = LoggerFactory.getLogger(AsyncDigitalSignatureService.class);
+
+  private final AsyncCephService datafactoryAsyncCephService;
+  private final HedgedCephReader cephReader;
+  private final String cephBucketName;
+  private final AsyncDigitalSealClient asyncDigitalSealClient;
+  private final DigitalSignatureService signatureService;
+  private final DigitalSealVerificationCache verificationCache;
+
+  private final boolean isEnabled;
+
+  public AsyncDigitalSignatureService(
+      @Qualifier(AsyncIoConfig.DATAFACTORY_ASYNC_CEPH_SERVICE)
+          AsyncCephService datafactoryAsyncCephService,
+      HedgedCephReader cephReader,
+      @Value("${ceph.bucket}") String cephBucketName,
+      AsyncDigitalSealClient asyncDigitalSealClient,
+      DigitalSignatureService signatureService,
+      DigitalSealVerificationCache verificationCache,
+      @Value("${data-platform.kafka-request.validation.enabled}") boolean isEnabled) {
+    this.datafactoryAsyncCephService = datafactoryAsyncCephService;
+    this.cephReader = cephReader;
+    this.cephBucketName = cephBucketName;
+    this.asyncDigitalSealClient = asyncDigitalSealClient;
+    this.signatureService = signatureService;
+    this.verificationCache = verificationCache;
+    this.isEnabled = isEnabled;
+  }
+
+  public <O> CompletableFuture<Boolean> isSealValid(String key, O input, byte[] rawPayload) {
+    if (!isEnabled) {
+      return CompletableFuture.completedFuture(true);
+    }
+
+    String data;
+    try {
+      signatureService.validateKey(key);
+      data = signatureService.toData(input, rawPayload);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+
+    if (verificationCache.isVerified(key, data)) {
+      log.info("Signature stored by key '{}' has been already verified", key);
+      return CompletableFuture.completedFuture(true);
+    }
+
+    log.info("Reading Signature from Ceph by key '{}'", key);
+    return cephReader.getAsStringAsync(datafactoryAsyncCephService, cephBucketName, key)
+        .handle((signature, e) -> {
+          if (e != null) {
+            throw toCephException(e);
+          }
+          return signature.orElseThrow(() -> new ExternalCommunicationException(
+              String.format("Digital signature does not found in ceph. Signature key: %s", key),
+              Status.INTERNAL_CONTRACT_VIOLATION));
+        })
+        .thenCompose(signature -> verify(key, signature, data))
+        .thenApply(isValid -> {
+          if (isValid) {
+            verificationCache.markVerified(key, data);
+          }
+          return isValid;
+        });
+  }
+
+  private CompletableFuture<Boolean> verify(String key, String signature, String data) {
+    log.info("Verifying Signature stored by key: {}", key);
+    return asyncDigitalSealClient.verify(new VerificationRequestDto(signature, data))
+        .handle((responseDto, e) -> {
+          if (e == null) {
+            return responseDto.isValid();
+          }
+          var cause = unwrap(e);
+          if (cause instanceof RuntimeException) {
+            return signatureService.handleVerificationFailure((RuntimeException) cause);
+          }
+          throw new CompletionException(cause);
+        });
+  }
+
+  private RuntimeException toCephException(Throwable e) {
+    var cause = unwrap(e);
+    if (cause instanceof CephCommunicationException) {
+      var message = String.format("Exception while communication with ceph: %s",
+          cause.getMessage());
+      return new ExternalCommunicationException(message, cause,
+          Status.THIRD_PARTY_SERVICE_UNAVAILABLE);
+    }
+    return cause instanceof RuntimeException
+        ? (RuntimeException) cause
+        : new CompletionException(cause);
+  }
+
+  private Throwable unwrap(Throwable e) {
+    return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import com.epam.digital.data.platform.kafkaapi.core.exception.SqlErrorException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers PostgreSQL notifications between service instances. One dedicated connection listens to
+ * all subscribed channels on a daemon thread. If the connection is lost, notifications sent in the
+ * meantime are lost as well, so subscribers are told to drop their state on reconnect.
+ */
+@Component
+public class DatabaseNotificationListener {
+
+  private static final String NOTIFY_SQL = "select pg_notify(?, ?)";
+
+  private final Logger log = LoggerFactory.getLogger(DatabaseNotificationListener.class);
+
+  private final DataSource dataSource;
+  private final Duration pollTimeout;
+  private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+  private Thread listenerThread;
+  private volatile boolean running;
+
+  public DatabaseNotificationListener(
+      DataSource dataSource,
+      @Value("${data-platform.db-notifications.poll-timeout:1s}") Duration pollTimeout) {
+    this.dataSource = dataSource;
+    this.pollTimeout = pollTimeout;
+  }
+
+  /**
+   * @param channel        notification channel, must be a valid unquoted identifier
+   * @param onNotification called with the payload of every notification on the channel
+   * @param onReconnect    called after the listening connection has been restored
+   */
+  public synchronized void subscribe(
+      String channel, Consumer<String> onNotification, Runnable onReconnect) {
+    subscriptions.computeIfAbsent(channel, c -> new Subscription())
+        .add(onNotification, onReconnect);
+    if (listenerThread == null) {
+      running = true;
+      listenerThread = new Thread(this::listen, "db-notification-listener");
+      listenerThread.setDaemon(true);
+      listenerThread.start();
+    }
+  }
+
+  /**
+   * Sends the notification with the connection bound to the current transaction, so it is
+   * delivered only if the transaction commits.
+   */
+  public void notify(String channel, String payload) {
+    var connection = DataSourceUtils.getConnection(dataSource);
+    try (PreparedStatement statement = connection.prepareStatement(NOTIFY_SQL)) {
+      statement.setString(1, channel);
+      statement.setString(2, payload);
+      statement.execute();
+    } catch (SQLException e) {
+      throw new SqlErrorException(
+          String.format("Couldn't send notification to channel '%s': %s", channel,
+              e.getMessage()), e);
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+  }
+
+  @PreDestroy
+  public synchronized void preDestroy() {
+    running = false;
+    if (listenerThread != null) {
+      listenerThread.interrupt();
+    }
+  }
+
+  private void listen() {
+    boolean connectionLost = false;
+    while (running) {
+      try (Connection connection = dataSource.getConnection()) {
+        var subscribedChannels = List.copyOf(subscriptions.keySet());
+        try (Statement statement = connection.createStatement()) {
+          for (String channel : subscribedChannels) {
+            statement.execute("LISTEN " + channel);
+          }
+        }
+        if (connectionLost) {
+          subscriptions.values().forEach(Subscription::reconnected);
+          connectionLost = false;
+        }
+
+        // the loop is left to listen to channels subscribed in the meantime
+        var pgConnection = connection.unwrap(PGConnection.class);
+        while (running && subscribedChannels.size() == subscriptions.size()) {
+          PGNotification[] notifications =
+              pgConnection.getNotifications((int) pollTimeout.toMillis());
+          if (notifications != null) {
+            for (PGNotification notification : notifications) {
+              dispatch(notification);
+            }
+          }
+        }
+      } catch (SQLException e) {
+        log.warn("Listening to database notifications failed: {}", e.getMessage());
+        connectionLost = true;
+        pause();
+      } catch (RuntimeException e) {
+        log.error("Database notification handling failed", e);
+        connectionLost = true;
+      }
+    }
+  }
+
+  private void dispatch(PGNotification notification) {
+    var subscription = subscriptions.get(notification.getName());
+    if (subscription != null) {
+      subscription.notified(notification.getParameter());
+    }
+  }
+
+  private void pause() {
+    try {
+      Thread.sleep(pollTimeout.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+
+  private static class Subscription {
+
+    private final List<Consumer<String>> notificationHandlers = new CopyOnWriteArrayList<>();
+    private final List<Runnable> reconnectHandlers = new CopyOnWriteArrayList<>();
+
+    void add(Consumer<String> onNotification, Runnable onReconnect) {
+      notificationHandlers.add(onNotification);
+      reconnectHandlers.add(onReconnect);
+    }
+
+    void notified(String payload) {
+      notificationHandlers.forEach(handler -> handler.accept(payload));
+    }
+
+    void reconnected() {
+      reconnectHandlers.forEach(Runnable::run);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps positive digital seal verification results, so that redelivered or retried requests with
+ * the same signature key and content do not go to Ceph and digital-signature-ops again. Negative
+ * results are never stored.
+ */
+@Component
+public class DigitalSealVerificationCache {
+
+  static final String CACHE_NAME = "digital-seal-verification";
+
+  private final boolean enabled;
+  private final Cache<String, Boolean> verifiedSeals;
+
+  public DigitalSealVerificationCache(
+      @Value("${data-platform.kafka-request.validation.cache.enabled:true}") boolean enabled,
+      @Value("${data-platform.kafka-request.validation.cache.max-size:10000}") long maxSize,
+      @Value("${data-platform.kafka-request.validation.cache.ttl:10m}") Duration ttl,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.verifiedSeals = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, verifiedSeals, CACHE_NAME);
+  }
+
+  public boolean isVerified(String key, String data) {
+    return enabled && verifiedSeals.getIfPresent(cacheKey(key, data)) != null;
+  }
+
+  public void markVerified(String key, String data) {
+    if (enabled) {
+      verifiedSeals.put(cacheKey(key, data), Boolean.TRUE);
+    }
+  }
+
+  private String cacheKey(String key, String data) {
+    return key + ":" + DigestUtils.sha256Hex(data);
+  }
+}
@@ -24,12 +24,12 @@ import com.epam.digital.data.platform.dso.client.exception.InternalServerErrorEx
 import com.epam.digital.data.platform.dso.client.exception.InvalidSignatureException;
 import com.epam.digital.data.platform.integration.ceph.exception.CephCommunicationException;
 import com.epam.digital.data.platform.integration.ceph.exception.MisconfigurationException;
-import com.epam.digital.data.platform.integration.ceph.service.CephService;
 import com.epam.digital.data.platform.kafkaapi.core.exception.ExternalCommunicationException;
 import com.epam.digital.data.platform.model.core.kafka.Status;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.RetryableException;
+import java.nio.charset.StandardCharsets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -42,47 +42,80 @@ public class DigitalSignatureService {
 
   private final Logger log = LoggerFactory.getLogger(DigitalSignatureService.class);
 
-  private final CephService datafactoryCephService;
+  private final HedgedCephReader cephReader;
   private final String cephBucketName;
   private final DigitalSealRestClient digitalSealRestClient;
   private final ObjectMapper objectMapper;
+  private final DigitalSealVerificationCache verificationCache;
 
   private final boolean isEnabled;
 
   public DigitalSignatureService(
-      CephService datafactoryCephService,
+      HedgedCephReader cephReader,
       @Value("${ceph.bucket}") String cephBucketName,
       DigitalSealRestClient digitalSealRestClient,
       ObjectMapper objectMapper,
+      DigitalSealVerificationCache verificationCache,
       @Value("${data-platform.kafka-request.validation.enabled}") boolean isEnabled) {
-    this.datafactoryCephService = datafactoryCephService;
+    this.cephReader = cephReader;
     this.cephBucketName = cephBucketName;
     this.digitalSealRestClient = digitalSealRestClient;
     this.objectMapper = objectMapper;
+    this.verificationCache = verificationCache;
     this.isEnabled = isEnabled;
   }
 
   public <O> boolean isSealValid(String key, O input) {
+    return isSealValid(key, input, null);
+  }
+
+  /**
+   * Verifies the seal against the record value exactly as it was received from kafka. The input
+   * is serialized again only when the raw value is not available.
+   */
+  public <O> boolean isSealValid(String key, O input, byte[] rawPayload) {
     if (!isEnabled) {
       return true;
     }
 
+    validateKey(key);
+    return verifySeal(key, toData(input, rawPayload));
+  }
+
+  void validateKey(String key) {
     if (key == null) {
       throw new ExternalCommunicationException(
           "Required kafka header is missing",
           new MessageHandlingException(new GenericMessage<>("Required kafka header is missing")),
           Status.INTERNAL_CONTRACT_VIOLATION);
     }
+  }
+
+  <O> String toData(O input, byte[] rawPayload) {
+    return rawPayload != null
+        ? new String(rawPayload, StandardCharsets.UTF_8)
+        : serialize(input);
+  }
+
+  private boolean verifySeal(String key, String data) {
+    if (verificationCache.isVerified(key, data)) {
+      log.info("Signature stored by key '{}' has been already verified", key);
+      return true;
+    }
 
     String signature = getSignature(key);
-    return verify(key, signature, serialize(input));
+    boolean isValid = verify(key, signature, data);
+    if (isValid) {
+      verificationCache.markVerified(key, data);
+    }
+    return isValid;
   }
 
   private String getSignature(String key) {
     try {
       log.info("Reading Signature from Ceph by key '{}'", key);
       return
-          datafactoryCephService
+          cephReader
               .getAsString(cephBucketName, key)
               .orElseThrow(() -> new ExternalCommunicationException(
                   String.format("Digital signature does not found in ceph. Signature key: %s", key),
@@ -103,23 +136,39 @@ public class DigitalSignatureService {
       VerificationResponseDto responseDto =
           digitalSealRestClient.verify(new VerificationRequestDto(signature, data));
       return responseDto.isValid();
-    } catch (InvalidSignatureException e) {
+    } catch (RuntimeException e) {
+      return handleVerificationFailure(e);
+    }
+  }
+
+  /**
+   * Maps exceptions of the digital seal client. Also used for the non-blocking client, which
+   * decodes error responses with the error decoder of the same feign client.
+   *
+   * @return {@code false} if the signature is invalid
+   */
+  boolean handleVerificationFailure(RuntimeException e) {
+    if (e instanceof InvalidSignatureException) {
       log.info("Signature verification failed", e);
       return false;
-    } catch (BadRequestException e) {
+    }
+    if (e instanceof BadRequestException) {
       var message = String.format(
           "Call to external digital signature service violates an internal contract: %s",
           e.getMessage());
       throw new ExternalCommunicationException(message, e, Status.INTERNAL_CONTRACT_VIOLATION);
-    } catch (InternalServerErrorException e) {
+    }
+    if (e instanceof InternalServerErrorException) {
       var message = String.format(
           "External digital signature service has internal server error: %s", e.getMessage());
       throw new ExternalCommunicationException(message, e, Status.THIRD_PARTY_SERVICE_UNAVAILABLE);
-    } catch (RetryableException e) {
+    }
+    if (e instanceof RetryableException) {
       var message = String.format("External digital signature service not responding: %s",
           e.getMessage());
       throw new ExternalCommunicationException(message, e, Status.THIRD_PARTY_SERVICE_UNAVAILABLE);
     }
+    throw e;
   }
 
   private <T> String serialize(T object) {
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through cache of entities read by id from tables marked as cacheable by their
+ * {@link com.epam.digital.data.platform.kafkaapi.core.tabledata.TableDataProvider}. Entries are
+ * evicted by id after an update or delete of the entity is committed, locally and in the other
+ * instances through PostgreSQL notifications.
+ *
+ * <p>Every table has a version that is incremented on each eviction. A value read from the
+ * database is stored only if the version has not changed since the read started, so a read
+ * racing with an update can't put the outdated entity back into the cache.
+ *
+ * <p>Cached entities are shared between requests and must not be modified.
+ */
+@Component
+public class EntityCache {
+
+  static final String CACHE_NAME = "entity";
+  static final String INVALIDATION_CHANNEL = "entity_cache_invalidation";
+  private static final String PAYLOAD_SEPARATOR = ":";
+
+  private final Logger log = LoggerFactory.getLogger(EntityCache.class);
+
+  private final boolean enabled;
+  private final DatabaseNotificationListener notificationListener;
+  private final Cache<String, ConcurrentMap<String, Object>> entities;
+  private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+  private final Set<String> cacheableTables = ConcurrentHashMap.newKeySet();
+
+  public EntityCache(
+      @Value("${data-platform.entity-cache.enabled:false}") boolean enabled,
+      @Value("${data-platform.entity-cache.max-size:10000}") long maxSize,
+      @Value("${data-platform.entity-cache.ttl:5m}") Duration ttl,
+      DatabaseNotificationListener notificationListener,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.notificationListener = notificationListener;
+    this.entities = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, entities, CACHE_NAME);
+  }
+
+  @PostConstruct
+  public void postConstruct() {
+    if (enabled) {
+      notificationListener.subscribe(
+          INVALIDATION_CHANNEL, this::onNotification, this::invalidateAll);
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Marks the table as cacheable, so updates and deletes of its rows are broadcast.
+   */
+  public void registerTable(String tableName) {
+    cacheableTables.add(tableName);
+  }
+
+  /**
+   * @return current version of the table, to be passed to
+   * {@link #put(String, Object, String, Object, long)} with the value read afterwards
+   */
+  public long version(String tableName) {
+    return tableVersions.computeIfAbsent(tableName, t -> new AtomicLong()).get();
+  }
+
+  /**
+   * @param variant distinguishes reads of the same row with different select fields or conditions
+   */
+  public <O> Optional<O> get(String tableName, Object id, String variant, Class<O> type) {
+    var variants = entities.getIfPresent(entityKey(tableName, id));
+    if (variants == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(variants.get(variant)).map(type::cast);
+  }
+
+  public void put(String tableName, Object id, String variant, Object entity, long version) {
+    if (version(tableName) != version) {
+      return;
+    }
+    var entityKey = entityKey(tableName, id);
+    entities.get(entityKey, key -> new ConcurrentHashMap<>()).put(variant, entity);
+    if (version(tableName) != version) {
+      entities.invalidate(entityKey);
+    }
+  }
+
+  /**
+   * Evicts the entity once the current transaction commits and notifies the other instances. The
+   * notification is sent within the transaction, so it is discarded on rollback.
+   */
+  public void invalidateOnCommit(String tableName, String id) {
+    if (!enabled || !cacheableTables.contains(tableName)) {
+      return;
+    }
+
+    notificationListener.notify(INVALIDATION_CHANNEL, tableName + PAYLOAD_SEPARATOR + id);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          invalidate(tableName, id);
+        }
+      });
+    } else {
+      invalidate(tableName, id);
+    }
+  }
+
+  public void invalidate(String tableName, String id) {
+    tableVersions.computeIfAbsent(tableName, t -> new AtomicLong()).incrementAndGet();
+    entities.invalidate(entityKey(tableName, id));
+  }
+
+  public void invalidateAll() {
+    log.info("Evicting all cached entities");
+    tableVersions.values().forEach(AtomicLong::incrementAndGet);
+    entities.invalidateAll();
+  }
+
+  private void onNotification(String payload) {
+    int separator = payload.indexOf(PAYLOAD_SEPARATOR);
+    if (separator < 0) {
+      log.warn("Unexpected entity cache invalidation payload: {}", payload);
+      return;
+    }
+    invalidate(payload.substring(0, separator), payload.substring(separator + 1));
+  }
+
+  private String entityKey(String tableName, Object id) {
+    return tableName + PAYLOAD_SEPARATOR + id;
+  }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import com.epam.digital.data.platform.integration.ceph.service.CephService;
+import com.epam.digital.data.platform.kafkaapi.core.config.CephHedgingProperties;
+import com.epam.digital.data.platform.kafkaapi.core.config.ConcurrencyConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads objects from the datafactory ceph with optional request hedging. If the first GET has not
+ * completed within the configured percentile of recent read latencies, a second GET is sent and
+ * the first successful response is taken. The number of hedged requests is limited by a token
+ * bucket that earns {@code budget-ratio} of a token per read, so hedging can't add more than that
+ * share of extra load on ceph. Reads with the non-blocking ceph client are hedged the same way,
+ * sharing the latency window and the budget with the blocking ones.
+ */
+@Component
+public class HedgedCephReader {
+
+  static final String HEDGE_SENT_COUNTER = "kafka.api.ceph.hedge.sent";
+  static final String HEDGE_WON_COUNTER = "kafka.api.ceph.hedge.won";
+  static final String HEDGE_REJECTED_COUNTER = "kafka.api.ceph.hedge.rejected";
+
+  private final Logger log = LoggerFactory.getLogger(HedgedCephReader.class);
+
+  private final CephService datafactoryCephService;
+  private final CephHedgingProperties properties;
+  private final Executor readExecutor;
+  private final LatencyWindow latencyWindow;
+  private final HedgeBudget hedgeBudget;
+  private final Counter hedgeSentCounter;
+  private final Counter hedgeWonCounter;
+  private final Counter hedgeRejectedCounter;
+
+  public HedgedCephReader(
+      CephService datafactoryCephService,
+      CephHedgingProperties properties,
+      @Qualifier(ConcurrencyConfig.CEPH_READ_EXECUTOR) Executor readExecutor,
+      MeterRegistry meterRegistry) {
+    this.datafactoryCephService = datafactoryCephService;
+    this.properties = properties;
+    this.readExecutor = readExecutor;
+    this.latencyWindow = new LatencyWindow(properties.getWindowSize());
+    this.hedgeBudget = new HedgeBudget(properties.getBudgetRatio(), properties.getBudgetBurst());
+    this.hedgeSentCounter = Counter.builder(HEDGE_SENT_COUNTER)
+        .description("Number of hedged ceph reads sent")
+        .register(meterRegistry);
+    this.hedgeWonCounter = Counter.builder(HEDGE_WON_COUNTER)
+        .description("Number of hedged ceph reads completed before the original ones")
+        .register(meterRegistry);
+    this.hedgeRejectedCounter = Counter.builder(HEDGE_REJECTED_COUNTER)
+        .description("Number of hedged ceph reads not sent because the hedge budget is exhausted")
+        .register(meterRegistry);
+  }
+
+  public Optional<String> getAsString(String bucketName, String key) {
+    if (!properties.isEnabled()) {
+      return datafactoryCephService.getAsString(bucketName, key);
+    }
+
+    hedgeBudget.deposit();
+    var primary = read(bucketName, key);
+    try {
+      return primary.get(hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      return hedge(bucketName, key, primary);
+    } catch (ExecutionException e) {
+      throw unwrap(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Reading from ceph was interrupted", e);
+    }
+  }
+
+  /**
+   * Hedges reads sent by the non-blocking ceph client. The hedged read is scheduled on the read
+   * executor instead of waiting for the hedge delay on the calling thread.
+   */
+  public CompletableFuture<Optional<String>> getAsStringAsync(AsyncCephService asyncCephService,
+      String bucketName, String key) {
+    if (!properties.isEnabled()) {
+      return asyncCephService.getAsString(bucketName, key);
+    }
+
+    hedgeBudget.deposit();
+    var first = new CompletableFuture<Optional<String>>();
+    var pending = new AtomicInteger(1);
+    readAsync(asyncCephService, bucketName, key)
+        .whenComplete((result, e) -> complete(first, pending, result, e));
+    CompletableFuture.delayedExecutor(hedgeDelayNanos(), TimeUnit.NANOSECONDS, readExecutor)
+        .execute(() -> {
+          if (first.isDone()) {
+            return;
+          }
+          if (!hedgeBudget.tryWithdraw()) {
+            hedgeRejectedCounter.increment();
+            return;
+          }
+          log.debug("Sending hedged ceph read by key '{}'", key);
+          hedgeSentCounter.increment();
+          pending.incrementAndGet();
+          readAsync(asyncCephService, bucketName, key).whenComplete((result, e) -> {
+            if (complete(first, pending, result, e) && e == null) {
+              hedgeWonCounter.increment();
+            }
+          });
+        });
+    return first;
+  }
+
+  private Optional<String> hedge(String bucketName, String key,
+      CompletableFuture<Optional<String>> primary) {
+    if (!hedgeBudget.tryWithdraw()) {
+      hedgeRejectedCounter.increment();
+      return await(primary);
+    }
+
+    log.debug("Sending hedged ceph read by key '{}'", key);
+    hedgeSentCounter.increment();
+    var secondary = read(bucketName, key);
+
+    var first = new CompletableFuture<Optional<String>>();
+    var pending = new AtomicInteger(2);
+    primary.whenComplete((result, e) -> complete(first, pending, result, e));
+    secondary.whenComplete((result, e) -> {
+      if (complete(first, pending, result, e) && e == null) {
+        hedgeWonCounter.increment();
+      }
+    });
+    return await(first);
+  }
+
+  private boolean complete(CompletableFuture<Optional<String>> first, AtomicInteger pending,
+      Optional<String> result, Throwable e) {
+    if (e == null) {
+      return first.complete(result);
+    }
+    // the failure is reported only if the other request has failed as well
+    return pending.decrementAndGet() == 0 && first.completeExceptionally(e);
+  }
+
+  private CompletableFuture<Optional<String>> read(String bucketName, String key) {
+    return CompletableFuture.supplyAsync(() -> {
+      long start = System.nanoTime();
+      var result = datafactoryCephService.getAsString(bucketName, key);
+      latencyWindow.record(System.nanoTime() - start);
+      return result;
+    }, readExecutor);
+  }
+
+  private CompletableFuture<Optional<String>> readAsync(AsyncCephService asyncCephService,
+      String bucketName, String key) {
+    long start = System.nanoTime();
+    return asyncCephService.getAsString(bucketName, key)
+        .thenApply(result -> {
+          latencyWindow.record(System.nanoTime() - start);
+          return result;
+        });
+  }
+
+  private long hedgeDelayNanos() {
+    long minDelay = properties.getMinDelay().toNanos();
+    long maxDelay = properties.getMaxDelay().toNanos();
+    return latencyWindow.percentile(properties.getPercentile())
+        .map(latency -> Math.min(Math.max(latency, minDelay), maxDelay))
+        .orElse(maxDelay);
+  }
+
+  private Optional<String> await(CompletableFuture<Optional<String>> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      throw unwrap(e.getCause());
+    }
+  }
+
+  private RuntimeException unwrap(Throwable cause) {
+    if (cause instanceof CompletionException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    }
+    return new IllegalStateException("Reading from ceph failed", cause);
+  }
+
+  /**
+   * Ring buffer of the most recent read latencies. The percentile is recalculated once per tenth
+   * of the window, so reads don't sort the whole window every time.
+   */
+  static class LatencyWindow {
+
+    private final long[] latencies;
+    private final int recalculationPeriod;
+    private int next;
+    private int size;
+    private int sinceRecalculation;
+    private double percentile = -1;
+    private Long cachedPercentileValue;
+
+    LatencyWindow(int capacity) {
+      this.latencies = new long[capacity];
+      this.recalculationPeriod = Math.max(1, capacity / 10);
+    }
+
+    synchronized void record(long latencyNanos) {
+      latencies[next] = latencyNanos;
+      next = (next + 1) % latencies.length;
+      size = Math.min(size + 1, latencies.length);
+      sinceRecalculation++;
+    }
+
+    /**
+     * @return latency percentile in nanoseconds or empty if there are not enough samples yet
+     */
+    synchronized Optional<Long> percentile(double percentile) {
+      if (size < recalculationPeriod) {
+        return Optional.empty();
+      }
+      if (cachedPercentileValue == null || this.percentile != percentile
+          || sinceRecalculation >= recalculationPeriod) {
+        var sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * size) - 1;
+        cachedPercentileValue = sorted[Math.min(Math.max(index, 0), size - 1)];
+        this.percentile = percentile;
+        sinceRecalculation = 0;
+      }
+      return Optional.of(cachedPercentileValue);
+    }
+  }
+
+  /**
+   * Token bucket limiting the share of hedged reads.
+   */
+  static class HedgeBudget {
+
+    private final double ratio;
+    private final double burst;
+    private double tokens;
+
+    HedgeBudget(double ratio, int burst) {
+      this.ratio = ratio;
+      this.burst = burst;
+      this.tokens = burst;
+    }
+
+    synchronized void deposit() {
+      tokens = Math.min(burst, tokens + ratio);
+    }
+
+    synchronized boolean tryWithdraw() {
+      if (tokens < 1) {
+        return false;
+      }
+      tokens -= 1;
+      return true;
+    }
+  }
+}
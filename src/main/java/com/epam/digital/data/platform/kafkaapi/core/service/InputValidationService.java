@@ -16,32 +16,142 @@
 
 package com.epam.digital.data.platform.kafkaapi.core.service;
 
+import com.epam.digital.data.platform.kafkaapi.core.config.ConcurrencyConfig;
+import com.epam.digital.data.platform.kafkaapi.core.exception.ExternalCommunicationException;
+import com.epam.digital.data.platform.kafkaapi.core.exception.RequestProcessingException;
 import com.epam.digital.data.platform.kafkaapi.core.model.ValidationResult;
+import com.epam.digital.data.platform.kafkaapi.core.util.RequestProcessingErrorLogger;
 import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.epam.digital.data.platform.model.core.kafka.SecurityContext;
 import com.epam.digital.data.platform.model.core.kafka.Status;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class InputValidationService {
 
+  private final Logger log = LoggerFactory.getLogger(InputValidationService.class);
+
   private final DigitalSignatureService signatureService;
   private final JwtValidationService jwtValidationService;
+  private final Optional<AsyncDigitalSignatureService> asyncSignatureService;
+  private final Executor validationExecutor;
+  private final Duration timeout;
 
   public InputValidationService(
-      DigitalSignatureService signatureService, JwtValidationService jwtValidationService) {
+      DigitalSignatureService signatureService, JwtValidationService jwtValidationService,
+      Optional<AsyncDigitalSignatureService> asyncSignatureService,
+      @Qualifier(ConcurrencyConfig.INPUT_VALIDATION_EXECUTOR) Executor validationExecutor,
+      @Value("${data-platform.kafka-request.validation.timeout:30s}") Duration timeout) {
     this.signatureService = signatureService;
     this.jwtValidationService = jwtValidationService;
+    this.asyncSignatureService = asyncSignatureService;
+    this.validationExecutor = validationExecutor;
+    this.timeout = timeout;
   }
 
   public <T> ValidationResult validate(String key, Request<T> input) {
+    return validate(key, input, null);
+  }
+
+  public <T> ValidationResult validate(String key, Request<T> input, byte[] rawPayload) {
+    return validate(key, input, rawPayload, null);
+  }
+
+  /**
+   * Checks the jwt first, on the calling thread: the token is verified locally against the cached
+   * realm keys, so the check is cheap, and no seal or permission lookups are started for requests
+   * with an invalid token. The digital seal check then runs in the background, while the access
+   * check (if provided) runs on the calling thread, so it joins the transaction bound to it. The
+   * results are still evaluated in the original order, hence the returned status does not depend
+   * on which check completes first. With the async io enabled, the seal check does not occupy a
+   * validation thread while waiting for ceph and the signature service.
+   *
+   * @param accessCheck optional permission check, {@code false} results in
+   *                    {@link Status#FORBIDDEN_OPERATION}
+   */
+  public <T> ValidationResult validate(
+      String key, Request<T> input, byte[] rawPayload, BooleanSupplier accessCheck) {
+    long deadline = System.nanoTime() + timeout.toNanos();
+
     if (!jwtValidationService.isValid(input)) {
       return new ValidationResult(false, Status.JWT_INVALID);
     }
 
-    if (!signatureService.isSealValid(key, input)) {
+    var sealCheck = asyncSignatureService
+        .map(service -> service.isSealValid(key, input, rawPayload))
+        .orElseGet(() -> CompletableFuture.supplyAsync(
+            () -> signatureService.isSealValid(key, input, rawPayload), validationExecutor));
+
+    boolean permitted;
+    try {
+      permitted = accessCheck == null || accessCheck.getAsBoolean();
+    } catch (RuntimeException e) {
+      if (!await(sealCheck, deadline)) {
+        return new ValidationResult(false, Status.INVALID_SIGNATURE);
+      }
+      throw e;
+    }
+
+    if (!await(sealCheck, deadline)) {
       return new ValidationResult(false, Status.INVALID_SIGNATURE);
     }
 
+    if (!permitted) {
+      return new ValidationResult(false, Status.FORBIDDEN_OPERATION);
+    }
+
+    return new ValidationResult(true);
+  }
+
+  /**
+   * Checks the access token passed in the record header before the payload is deserialized. A
+   * missing header is not an error, the token from the payload is validated later in any case.
+   */
+  public ValidationResult validateAccessToken(String accessToken) {
+    if (accessToken == null) {
+      return new ValidationResult(true);
+    }
+
+    var securityContext = new SecurityContext();
+    securityContext.setAccessToken(accessToken);
+    try {
+      if (!jwtValidationService.isValid(new Request<>(null, null, securityContext))) {
+        return new ValidationResult(false, Status.JWT_INVALID);
+      }
+    } catch (RequestProcessingException e) {
+      RequestProcessingErrorLogger.log(log, e);
+      return new ValidationResult(false, e.getKafkaResponseStatus(), e.getDetails());
+    }
     return new ValidationResult(true);
   }
+
+  private boolean await(CompletableFuture<Boolean> check, long deadline) {
+    try {
+      return check.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("Input validation failed", e.getCause());
+    } catch (TimeoutException e) {
+      throw new ExternalCommunicationException(
+          String.format("Input validation has not completed in %s", timeout), e,
+          Status.THIRD_PARTY_SERVICE_UNAVAILABLE);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Input validation was interrupted", e);
+    }
+  }
 }
@@ -20,30 +20,72 @@ import com.epam.digital.data.platform.kafkaapi.core.exception.JwtValidationExcep
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.SecurityContext;
 import com.epam.digital.data.platform.starter.security.dto.JwtClaimsDto;
-import com.epam.digital.data.platform.starter.security.exception.JwtParsingException;
-import com.epam.digital.data.platform.starter.security.jwt.TokenParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import java.text.ParseException;
 import java.util.Optional;
 import org.springframework.stereotype.Component;
 
+/**
+ * Provides claims of the request access token. The token is parsed once per request, the user
+ * claims are built from the parsed claims set, and both are shared by validation, handlers and
+ * audit for as long as the request is alive.
+ */
 @Component
 public class JwtInfoProvider {
 
-  private final TokenParser tokenParser;
+  private final ObjectMapper claimsMapper;
+
+  private final Cache<Request<?>, RequestSecurityContext> securityContexts =
+      Caffeine.newBuilder().weakKeys().build();
 
-  public JwtInfoProvider(TokenParser tokenParser) {
-    this.tokenParser = tokenParser;
+  public JwtInfoProvider(ObjectMapper objectMapper) {
+    this.claimsMapper = objectMapper.copy()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
   }
 
   public <O> JwtClaimsDto getUserClaims(Request<O> input) {
+    return getSecurityContext(input).getUserClaims(this::parseClaimsSet, this::toUserClaims);
+  }
+
+  public <O> JWTClaimsSet getClaimsSet(Request<O> input) {
+    return getSecurityContext(input).getClaimsSet(this::parseClaimsSet);
+  }
+
+  private <O> RequestSecurityContext getSecurityContext(Request<O> input) {
     String accessToken = getTokenFromInput(input);
+    var securityContext =
+        securityContexts.get(input, request -> new RequestSecurityContext(accessToken));
+    if (!securityContext.getAccessToken().equals(accessToken)) {
+      securityContext = new RequestSecurityContext(accessToken);
+      securityContexts.put(input, securityContext);
+    }
+    return securityContext;
+  }
+
+  private JwtClaimsDto toUserClaims(JWTClaimsSet claimsSet) {
     try {
-      return tokenParser.parseClaims(accessToken);
-    } catch (JwtParsingException e) {
+      return claimsMapper.convertValue(claimsSet.toJSONObject(), JwtClaimsDto.class);
+    } catch (IllegalArgumentException e) {
       var message = String.format("Error while getting JWT claims: %s", e.getMessage());
       throw new JwtValidationException(message, e);
     }
   }
 
+  private JWTClaimsSet parseClaimsSet(String accessToken) {
+    try {
+      return JWTParser.parse(accessToken)
+          .getJWTClaimsSet();
+    } catch (ParseException e) {
+      var message = String.format("Error while JWT parsing: %s", e.getMessage());
+      throw new JwtValidationException(message, e);
+    }
+  }
+
   private <O> String getTokenFromInput(Request<O> input) {
     return Optional.ofNullable(input.getSecurityContext())
         .map(SecurityContext::getAccessToken)
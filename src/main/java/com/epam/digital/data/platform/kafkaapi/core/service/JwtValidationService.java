@@ -16,24 +16,22 @@
 
 package com.epam.digital.data.platform.kafkaapi.core.service;
 
-import com.epam.digital.data.platform.integration.idm.model.PublishedIdmRealm;
-import com.epam.digital.data.platform.integration.idm.service.PublicIdmService;
 import com.epam.digital.data.platform.kafkaapi.core.config.KeycloakConfigProperties;
 import com.epam.digital.data.platform.kafkaapi.core.exception.JwtExpiredException;
 import com.epam.digital.data.platform.kafkaapi.core.exception.JwtValidationException;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.SecurityContext;
 import com.nimbusds.jwt.JWTClaimsSet;
-import com.nimbusds.jwt.JWTParser;
 import java.security.PublicKey;
-import java.text.ParseException;
 import java.time.Clock;
+import java.time.Duration;
 import java.util.Date;
-import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import javax.annotation.PostConstruct;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.keycloak.TokenVerifier;
 import org.keycloak.common.VerificationException;
 import org.keycloak.representations.JsonWebToken;
@@ -50,24 +48,26 @@ public class JwtValidationService {
   private final boolean jwtValidationEnabled;
   private final KeycloakConfigProperties keycloakConfigProperties;
 
-  private final PublicIdmService publicIdmService;
+  private final RealmKeyRefresher realmKeyRefresher;
+  private final JwtInfoProvider jwtInfoProvider;
+  private final JwtVerificationCache verificationCache;
   private final Clock clock;
-
-  private Map<String, PublishedIdmRealm> allowedRealmsRepresentations;
+  private final Duration keyRefreshAwaitTimeout;
 
   public JwtValidationService(
       @Value("${data-platform.jwt.validation.enabled}") boolean jwtValidationEnabled,
       KeycloakConfigProperties keycloakConfigProperties,
-      PublicIdmService publicIdmService, Clock clock) {
+      RealmKeyRefresher realmKeyRefresher, JwtInfoProvider jwtInfoProvider,
+      JwtVerificationCache verificationCache, Clock clock,
+      @Value("${data-platform.jwt.validation.key-refresh.await-timeout:500ms}")
+          Duration keyRefreshAwaitTimeout) {
     this.jwtValidationEnabled = jwtValidationEnabled;
     this.keycloakConfigProperties = keycloakConfigProperties;
-    this.publicIdmService = publicIdmService;
+    this.realmKeyRefresher = realmKeyRefresher;
+    this.jwtInfoProvider = jwtInfoProvider;
+    this.verificationCache = verificationCache;
     this.clock = clock;
-  }
-
-  @PostConstruct
-  void postConstruct() {
-    refreshAllowedRealmsRepresentations();
+    this.keyRefreshAwaitTimeout = keyRefreshAwaitTimeout;
   }
 
   public <O> boolean isValid(Request<O> input) {
@@ -76,52 +76,77 @@ public class JwtValidationService {
     }
 
     String accessToken = getTokenFromInput(input);
-    JWTClaimsSet jwtClaimsSet = getClaimsFromToken(accessToken);
-    if (isExpiredJwt(jwtClaimsSet)) {
+    var verifiedToken = verificationCache.get(accessToken);
+    if (verifiedToken.isPresent()) {
+      if (isExpired(verifiedToken.get().getExpirationTime())) {
+        throw new JwtExpiredException("JWT is expired");
+      }
+      return true;
+    }
+
+    JWTClaimsSet jwtClaimsSet = jwtInfoProvider.getClaimsSet(input);
+    if (isExpired(jwtClaimsSet.getExpirationTime())) {
       throw new JwtExpiredException("JWT is expired");
     }
     String jwtIssuer = jwtClaimsSet.getIssuer();
     String issuerRealm = jwtIssuer.substring(jwtIssuer.lastIndexOf("/") + 1);
 
     if (keycloakConfigProperties.getRealms().contains(issuerRealm)) {
-      return retryableIsVerifiedToken(accessToken, issuerRealm);
+      boolean isVerified = retryableIsVerifiedToken(accessToken, issuerRealm);
+      if (isVerified) {
+        verificationCache.markVerified(accessToken, issuerRealm,
+            jwtClaimsSet.getExpirationTime());
+      }
+      return isVerified;
     } else {
       throw new JwtValidationException("Issuer realm is not valid");
     }
   }
 
-  private JWTClaimsSet getClaimsFromToken(String accessToken) {
-    try {
-      return JWTParser.parse(accessToken)
-          .getJWTClaimsSet();
-    } catch (ParseException e) {
-      var message = String.format("Error while JWT parsing: %s", e.getMessage());
-      throw new JwtValidationException(message, e);
-    }
-  }
-
   private <O> String getTokenFromInput(Request<O> input) {
     return Optional.ofNullable(input.getSecurityContext())
         .map(SecurityContext::getAccessToken)
         .orElse("");
   }
 
-  private boolean isExpiredJwt(JWTClaimsSet jwtClaimsSet) {
+  private boolean isExpired(Date expirationTime) {
     Date now = new Date(clock.millis());
-    return Optional.of(jwtClaimsSet.getExpirationTime())
+    return Optional.of(expirationTime)
         .map(now::after)
         .orElse(true);
   }
 
   private boolean retryableIsVerifiedToken(String accessToken, String issuerRealm) {
-    PublicKey keycloakPublicKey = allowedRealmsRepresentations.get(issuerRealm).getPublicKey();
+    PublicKey keycloakPublicKey = realmKeyRefresher.getRealm(issuerRealm).getPublicKey();
     if (isVerifiedToken(accessToken, keycloakPublicKey)) {
       return true;
     }
-    log.info("Update realm information and retry validate token");
-    refreshAllowedRealmsRepresentations();
-    keycloakPublicKey = allowedRealmsRepresentations.get(issuerRealm).getPublicKey();
-    return isVerifiedToken(accessToken, keycloakPublicKey);
+    log.info("Request realm information update");
+    var refresh = realmKeyRefresher.requestRefresh();
+    if (!awaitRefresh(refresh)) {
+      return false;
+    }
+    PublicKey refreshedPublicKey = realmKeyRefresher.getRealm(issuerRealm).getPublicKey();
+    if (Objects.equals(keycloakPublicKey, refreshedPublicKey)) {
+      return false;
+    }
+    log.info("Retry validate token with updated realm information");
+    return isVerifiedToken(accessToken, refreshedPublicKey);
+  }
+
+  private boolean awaitRefresh(CompletableFuture<Void> refresh) {
+    if (keyRefreshAwaitTimeout.isZero()) {
+      return refresh.isDone() && !refresh.isCompletedExceptionally();
+    }
+    try {
+      refresh.get(keyRefreshAwaitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+      return true;
+    } catch (ExecutionException | TimeoutException e) {
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
   }
 
   private boolean isVerifiedToken(String accessToken, PublicKey publicKey) {
@@ -136,14 +161,4 @@ public class JwtValidationService {
       return false;
     }
   }
-
-  private void refreshAllowedRealmsRepresentations() {
-    if (jwtValidationEnabled) {
-      allowedRealmsRepresentations =
-          keycloakConfigProperties.getRealms().stream()
-              .collect(
-                  Collectors.toMap(
-                      Function.identity(), publicIdmService::getRealm));
-    }
-  }
 }
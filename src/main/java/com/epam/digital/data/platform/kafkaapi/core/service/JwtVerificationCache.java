@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps access tokens whose signature has already been verified, so that the same token coming
+ * with many requests is checked against the realm key only once. Tokens are stored by digest
+ * together with the issuer realm and expiration time, the expiration is still checked by the
+ * caller on every hit.
+ */
+@Component
+public class JwtVerificationCache {
+
+  static final String CACHE_NAME = "jwt-verification";
+
+  private final boolean enabled;
+  private final Cache<String, VerifiedToken> verifiedTokens;
+
+  public JwtVerificationCache(
+      @Value("${data-platform.jwt.validation.cache.enabled:true}") boolean enabled,
+      @Value("${data-platform.jwt.validation.cache.max-size:10000}") long maxSize,
+      @Value("${data-platform.jwt.validation.cache.ttl:5m}") Duration ttl,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.verifiedTokens = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, CACHE_NAME);
+  }
+
+  public Optional<VerifiedToken> get(String accessToken) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(verifiedTokens.getIfPresent(cacheKey(accessToken)));
+  }
+
+  public void markVerified(String accessToken, String realm, Date expirationTime) {
+    if (enabled) {
+      verifiedTokens.put(cacheKey(accessToken), new VerifiedToken(realm, expirationTime));
+    }
+  }
+
+  public void evictRealm(String realm) {
+    verifiedTokens.asMap().values().removeIf(token -> token.getRealm().equals(realm));
+  }
+
+  private String cacheKey(String accessToken) {
+    return DigestUtils.sha256Hex(accessToken);
+  }
+
+  public static class VerifiedToken {
+
+    private final String realm;
+    private final Date expirationTime;
+
+    VerifiedToken(String realm, Date expirationTime) {
+      this.realm = realm;
+      this.expirationTime = expirationTime;
+    }
+
+    public String getRealm() {
+      return realm;
+    }
+
+    public Date getExpirationTime() {
+      return expirationTime;
+    }
+  }
+}
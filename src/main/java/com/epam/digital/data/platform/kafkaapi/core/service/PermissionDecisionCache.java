@@ -0,0 +1,122 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of read permission decisions made by {@code f_check_permissions}. A decision depends only
+ * on the table, the set of user roles and the set of accessed fields, so the key is built from
+ * their sorted values and is shared by all users with the same roles.
+ *
+ * <p>All decisions are evicted when a notification arrives on {@link #INVALIDATION_CHANNEL}. The
+ * notification is expected to be sent by the registry database on every change of the permission
+ * tables, e.g. with {@code pg_notify('permission_cache_invalidation', '')} in a statement level
+ * trigger. The TTL bounds staleness if a notification is lost.
+ */
+@Component
+public class PermissionDecisionCache {
+
+  static final String CACHE_NAME = "permission-decision";
+  static final String INVALIDATION_CHANNEL = "permission_cache_invalidation";
+  private static final String KEY_SEPARATOR = ":";
+  private static final String VALUE_SEPARATOR = ",";
+
+  private final Logger log = LoggerFactory.getLogger(PermissionDecisionCache.class);
+
+  private final boolean enabled;
+  private final DatabaseNotificationListener notificationListener;
+  private final Cache<String, Boolean> decisions;
+  private final AtomicLong version = new AtomicLong();
+
+  public PermissionDecisionCache(
+      @Value("${data-platform.permission-cache.enabled:false}") boolean enabled,
+      @Value("${data-platform.permission-cache.max-size:10000}") long maxSize,
+      @Value("${data-platform.permission-cache.ttl:10m}") Duration ttl,
+      DatabaseNotificationListener notificationListener,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.notificationListener = notificationListener;
+    this.decisions = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, decisions, CACHE_NAME);
+  }
+
+  @PostConstruct
+  public void postConstruct() {
+    if (enabled) {
+      notificationListener.subscribe(
+          INVALIDATION_CHANNEL, payload -> invalidateAll(), this::invalidateAll);
+    }
+  }
+
+  /**
+   * @return current version of the cached decisions, to be passed to
+   * {@link #put(String, Collection, Collection, boolean, long)} with the decision read afterwards
+   */
+  public long version() {
+    return version.get();
+  }
+
+  public Optional<Boolean> get(
+      String tableName, Collection<String> roles, Collection<String> fields) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(decisions.getIfPresent(key(tableName, roles, fields)));
+  }
+
+  public void put(String tableName, Collection<String> roles, Collection<String> fields,
+      boolean hasAccess, long version) {
+    if (!enabled || this.version.get() != version) {
+      return;
+    }
+    var key = key(tableName, roles, fields);
+    decisions.put(key, hasAccess);
+    if (this.version.get() != version) {
+      decisions.invalidate(key);
+    }
+  }
+
+  public void invalidateAll() {
+    log.info("Evicting all cached permission decisions");
+    version.incrementAndGet();
+    decisions.invalidateAll();
+  }
+
+  private String key(String tableName, Collection<String> roles, Collection<String> fields) {
+    return tableName
+        + KEY_SEPARATOR + String.join(VALUE_SEPARATOR, new TreeSet<>(roles))
+        + KEY_SEPARATOR + String.join(VALUE_SEPARATOR, new TreeSet<>(fields));
+  }
+}
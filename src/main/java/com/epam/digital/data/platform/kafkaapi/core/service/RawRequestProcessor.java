@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.INPUT_IS_INVALID_MESSAGE;
+import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.UNEXPECTED_EXCEPTION_MESSAGE_FORMAT;
+
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.PayloadFormat;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.RequestFormatHolder;
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.epam.digital.data.platform.model.core.kafka.Response;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import java.util.function.BiFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+/**
+ * Common entry of the listeners consuming raw record values. The access token from the record
+ * header is checked first, and the payload is decoded in the format named by the
+ * {@code contentType} header only for requests that pass the check. Failures of both steps are
+ * answered with an error response instead of being thrown to the listener container.
+ */
+@Component
+public class RawRequestProcessor {
+
+  private final Logger log = LoggerFactory.getLogger(RawRequestProcessor.class);
+
+  private final InputValidationService inputValidationService;
+  private final RequestPayloadReader requestPayloadReader;
+  private final ResponseMessageCreator responseMessageCreator;
+
+  public RawRequestProcessor(InputValidationService inputValidationService,
+      RequestPayloadReader requestPayloadReader, ResponseMessageCreator responseMessageCreator) {
+    this.inputValidationService = inputValidationService;
+    this.requestPayloadReader = requestPayloadReader;
+    this.responseMessageCreator = responseMessageCreator;
+  }
+
+  /**
+   * @param operation  name of the listener operation used in error details
+   * @param processing processes the decoded request, it is given the raw payload for the digital
+   *                   seal check, or {@code null} if the payload is not json
+   */
+  public <I, O> Message<Response<O>> process(byte[] rawPayload, String contentType,
+      String accessToken, ResolvableType payloadType, String operation,
+      BiFunction<Request<I>, byte[], Message<Response<O>>> processing) {
+    var format = PayloadFormat.fromContentType(contentType);
+    format.ifPresent(RequestFormatHolder::set);
+    try {
+      var validationResult = inputValidationService.validateAccessToken(accessToken);
+      if (!validationResult.isValid()) {
+        log.warn(INPUT_IS_INVALID_MESSAGE, validationResult.getStatus());
+        return errorMessage(validationResult.getStatus(), validationResult.getDetails());
+      }
+
+      var payloadFormat = format.orElse(PayloadFormat.JSON);
+      Request<I> input;
+      try {
+        input = requestPayloadReader.read(rawPayload, payloadFormat, payloadType);
+      } catch (Exception e) {
+        var exceptionMessage =
+            String.format(UNEXPECTED_EXCEPTION_MESSAGE_FORMAT, operation, e.getMessage());
+        log.error(exceptionMessage, e);
+        return errorMessage(Status.OPERATION_FAILED, exceptionMessage);
+      }
+
+      // seals are put on json, the binary payloads are checked against the serialized request
+      return processing.apply(input, payloadFormat == PayloadFormat.JSON ? rawPayload : null);
+    } finally {
+      if (format.isPresent()) {
+        RequestFormatHolder.reset();
+      }
+    }
+  }
+
+  private <O> Message<Response<O>> errorMessage(Status status, String details) {
+    Response<O> response = new Response<>();
+    response.setStatus(status);
+    response.setDetails(details);
+    return responseMessageCreator.createMessageByPayloadSize(response);
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import com.epam.digital.data.platform.integration.idm.model.PublishedIdmRealm;
+import com.epam.digital.data.platform.integration.idm.service.PublicIdmService;
+import com.epam.digital.data.platform.kafkaapi.core.config.KeycloakConfigProperties;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds public keys of the allowed realms as an immutable snapshot that is replaced atomically.
+ * Keys are refreshed periodically and on demand on a dedicated thread, so token validation never
+ * calls IDM itself. On-demand refreshes are single-flight: concurrent requests share the refresh
+ * in progress, and a new one is not started earlier than the minimal interval after the previous.
+ */
+@Component
+public class RealmKeyRefresher {
+
+  private final Logger log = LoggerFactory.getLogger(RealmKeyRefresher.class);
+
+  private final boolean jwtValidationEnabled;
+  private final KeycloakConfigProperties keycloakConfigProperties;
+  private final PublicIdmService publicIdmService;
+  private final JwtVerificationCache verificationCache;
+  private final Duration refreshInterval;
+  private final Duration minRefreshInterval;
+
+  private final AtomicReference<Map<String, PublishedIdmRealm>> realms =
+      new AtomicReference<>(Collections.emptyMap());
+  private final AtomicReference<CompletableFuture<Void>> refreshInProgress =
+      new AtomicReference<>();
+  private final AtomicLong lastRefreshNanos;
+  private final ScheduledExecutorService refreshExecutor =
+      Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "realm-key-refresher");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  public RealmKeyRefresher(
+      @Value("${data-platform.jwt.validation.enabled}") boolean jwtValidationEnabled,
+      KeycloakConfigProperties keycloakConfigProperties,
+      PublicIdmService publicIdmService,
+      JwtVerificationCache verificationCache,
+      @Value("${data-platform.jwt.validation.key-refresh.interval:1h}") Duration refreshInterval,
+      @Value("${data-platform.jwt.validation.key-refresh.min-interval:30s}")
+          Duration minRefreshInterval) {
+    this.jwtValidationEnabled = jwtValidationEnabled;
+    this.keycloakConfigProperties = keycloakConfigProperties;
+    this.publicIdmService = publicIdmService;
+    this.verificationCache = verificationCache;
+    this.refreshInterval = refreshInterval;
+    this.minRefreshInterval = minRefreshInterval;
+    this.lastRefreshNanos = new AtomicLong(System.nanoTime() - minRefreshInterval.toNanos());
+  }
+
+  @PostConstruct
+  void postConstruct() {
+    if (!jwtValidationEnabled) {
+      return;
+    }
+    refresh();
+    if (!refreshInterval.isZero()) {
+      refreshExecutor.scheduleWithFixedDelay(this::requestRefresh,
+          refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  void preDestroy() {
+    refreshExecutor.shutdownNow();
+  }
+
+  public PublishedIdmRealm getRealm(String realm) {
+    return realms.get().get(realm);
+  }
+
+  /**
+   * Requests realm keys to be reloaded in background.
+   *
+   * @return refresh in progress, or completed future if keys have been refreshed recently
+   */
+  public CompletableFuture<Void> requestRefresh() {
+    var inProgress = refreshInProgress.get();
+    if (inProgress != null) {
+      return inProgress;
+    }
+    if (System.nanoTime() - lastRefreshNanos.get() < minRefreshInterval.toNanos()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    var refresh = new CompletableFuture<Void>();
+    if (!refreshInProgress.compareAndSet(null, refresh)) {
+      return refreshInProgress.get();
+    }
+    refreshExecutor.execute(() -> {
+      try {
+        refresh();
+        refresh.complete(null);
+      } catch (Exception e) {
+        log.error("Couldn't refresh realm keys", e);
+        refresh.completeExceptionally(e);
+      } finally {
+        refreshInProgress.set(null);
+      }
+    });
+    return refresh;
+  }
+
+  void refresh() {
+    log.info("Update realm information");
+    Map<String, PublishedIdmRealm> refreshed = Map.copyOf(
+        keycloakConfigProperties.getRealms().stream()
+            .collect(Collectors.toMap(Function.identity(), publicIdmService::getRealm)));
+    var previous = realms.getAndSet(refreshed);
+    lastRefreshNanos.set(System.nanoTime());
+
+    refreshed.forEach((realm, representation) -> {
+      var previousRepresentation = previous.get(realm);
+      if (previousRepresentation != null
+          && !Objects.equals(previousRepresentation.getPublicKey(), representation.getPublicKey())) {
+        verificationCache.evictRealm(realm);
+      }
+    });
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.ResultQuery;
+import org.jooq.SelectFieldOrAsterisk;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of SQL rendered by the query and search handlers. The select of a handler only differs
+ * in bind values for the same conditions, so the SQL is rendered once per handler and shape of
+ * its conditions and then executed as plain SQL with the bind values of the request.
+ *
+ * <p>A query is cached only if its bind values are exactly the ones passed by the handler, in the
+ * same order, and its result can be coerced to the select fields. Other queries, e.g. with bind
+ * values in the select fields, are built and rendered on each execution.
+ *
+ * <p>Conditions are rendered for the shape once per condition instance, so the conditions shared
+ * by requests, e.g. the default {@link org.jooq.impl.DSL#noCondition()} common condition of the
+ * handlers, are not rendered again on each execution.
+ */
+@Component
+public class RenderedQueryCache {
+
+  public static final String ENABLED_PROPERTY = "data-platform.rendered-query-cache.enabled";
+
+  static final String CACHE_NAME = "rendered-query";
+
+  private final boolean enabled;
+  private final Cache<String, Optional<String>> queries;
+  private final Cache<Condition, RenderedCondition> conditions;
+
+  public RenderedQueryCache(
+      @Value("${" + ENABLED_PROPERTY + ":false}") boolean enabled,
+      @Value("${data-platform.rendered-query-cache.max-size:1000}") long maxSize,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.queries = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, queries, CACHE_NAME);
+    // weak keys are compared by identity, so a lookup doesn't render the condition to compare it
+    this.conditions = Caffeine.newBuilder()
+        .weakKeys()
+        .maximumSize(maxSize)
+        .build();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * @param shape identifies the handler, the query and the rendered conditions with bind
+   *              placeholders
+   * @param query builds the query, called if the SQL of the shape is not cached
+   * @param bindValues bind values of the query in the order of their placeholders
+   * @param selectFields fields of the query, whose data types are kept in the result
+   */
+  public ResultQuery<? extends Record> query(DSLContext context, String shape,
+      Supplier<? extends ResultQuery<? extends Record>> query, List<Object> bindValues,
+      List<? extends SelectFieldOrAsterisk> selectFields) {
+    var built = new AtomicReference<ResultQuery<? extends Record>>();
+    var sql = queries.get(shape, key -> {
+      built.set(query.get());
+      return isResultTypeKept(selectFields)
+          && bindValues.equals(context.extractBindValues(built.get()))
+          ? Optional.of(context.render(built.get()))
+          : Optional.empty();
+    });
+    if (sql.isEmpty()) {
+      return built.get() != null ? built.get() : query.get();
+    }
+
+    var templated = context.resultQuery(sql.get(), bindValues.toArray());
+    return selectFields.isEmpty() || !(selectFields.get(0) instanceof Field)
+        ? templated
+        : templated.coerce(selectFields.stream()
+            .map(field -> (Field<?>) field)
+            .collect(Collectors.toList()));
+  }
+
+  /**
+   * @return the condition rendered with bind placeholders, to be a part of a query shape
+   */
+  public String render(DSLContext context, Condition condition) {
+    return rendered(context, condition).sql;
+  }
+
+  /**
+   * @return bind values of the condition in the order of their placeholders
+   */
+  public List<Object> bindValues(DSLContext context, Condition condition) {
+    return rendered(context, condition).bindValues;
+  }
+
+  private RenderedCondition rendered(DSLContext context, Condition condition) {
+    return conditions.get(condition, key ->
+        new RenderedCondition(context.render(key),
+            Collections.unmodifiableList(context.extractBindValues(key))));
+  }
+
+  /**
+   * Plain SQL results are typed by the JDBC metadata, so converted data types, e.g.
+   * {@link com.epam.digital.data.platform.kafkaapi.core.util.JooqDataTypes#FILE_DATA_TYPE}, are
+   * kept only by coercing the result to the select fields. An asterisk can't be coerced, so it
+   * can't be selected together with fields.
+   */
+  private boolean isResultTypeKept(List<? extends SelectFieldOrAsterisk> selectFields) {
+    return selectFields.stream().allMatch(Field.class::isInstance)
+        || selectFields.stream().noneMatch(Field.class::isInstance);
+  }
+
+  private static final class RenderedCondition {
+
+    private final String sql;
+    private final List<Object> bindValues;
+
+    private RenderedCondition(String sql, List<Object> bindValues) {
+      this.sql = sql;
+      this.bindValues = bindValues;
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.PayloadFormat;
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.core.ResolvableType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deserializes raw record values into {@link Request} for listeners that consume records
+ * without a value deserializer and decode the payload only after the headers have been checked.
+ */
+@Component
+public class RequestPayloadReader {
+
+  private final Map<PayloadFormat, ObjectMapper> objectMappers = new EnumMap<>(PayloadFormat.class);
+  private final Map<ResolvableType, JavaType> requestTypes = new ConcurrentHashMap<>();
+
+  public RequestPayloadReader(ObjectMapper objectMapper) {
+    for (PayloadFormat format : PayloadFormat.values()) {
+      objectMappers.put(format,
+          format == PayloadFormat.JSON ? objectMapper : format.createObjectMapper());
+    }
+  }
+
+  public <I> Request<I> read(byte[] rawPayload, ResolvableType payloadType) {
+    return read(rawPayload, PayloadFormat.JSON, payloadType);
+  }
+
+  public <I> Request<I> read(byte[] rawPayload, PayloadFormat format, ResolvableType payloadType) {
+    var objectMapper = objectMappers.get(format);
+    // java types don't depend on the data format, so they are resolved once for all mappers
+    var requestType = requestTypes.computeIfAbsent(payloadType,
+        type -> objectMapper.getTypeFactory()
+            .constructParametricType(Request.class, objectMapper.constructType(type.getType())));
+    try {
+      return objectMapper.readValue(rawPayload, requestType);
+    } catch (IOException e) {
+      throw new SerializationException("Couldn't deserialize request payload", e);
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import com.epam.digital.data.platform.starter.security.dto.JwtClaimsDto;
+import com.nimbusds.jwt.JWTClaimsSet;
+import java.util.function.Function;
+
+/**
+ * Access token of a single request together with its lazily parsed claims. The token is parsed
+ * at most once, whichever component asks for it first, and the user claims are converted from
+ * the parsed claims set.
+ */
+class RequestSecurityContext {
+
+  private final String accessToken;
+
+  private volatile JWTClaimsSet claimsSet;
+  private volatile JwtClaimsDto userClaims;
+
+  RequestSecurityContext(String accessToken) {
+    this.accessToken = accessToken;
+  }
+
+  String getAccessToken() {
+    return accessToken;
+  }
+
+  JWTClaimsSet getClaimsSet(Function<String, JWTClaimsSet> parser) {
+    var result = claimsSet;
+    if (result == null) {
+      result = parser.apply(accessToken);
+      claimsSet = result;
+    }
+    return result;
+  }
+
+  JwtClaimsDto getUserClaims(Function<String, JWTClaimsSet> parser,
+      Function<JWTClaimsSet, JwtClaimsDto> converter) {
+    var result = userClaims;
+    if (result == null) {
+      result = converter.apply(getClaimsSet(parser));
+      userClaims = result;
+    }
+    return result;
+  }
+}
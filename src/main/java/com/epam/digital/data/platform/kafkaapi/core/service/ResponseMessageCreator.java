@@ -19,78 +19,167 @@ package com.epam.digital.data.platform.kafkaapi.core.service;
 import com.epam.digital.data.platform.integration.ceph.exception.CephCommunicationException;
 import com.epam.digital.data.platform.integration.ceph.exception.MisconfigurationException;
 import com.epam.digital.data.platform.integration.ceph.service.CephService;
+import com.epam.digital.data.platform.kafkaapi.core.config.AsyncIoConfig;
+import com.epam.digital.data.platform.kafkaapi.core.exception.RequestProcessingException;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.ContentTypeSerializer;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.PayloadFormat;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.RequestFormatHolder;
 import com.epam.digital.data.platform.model.core.kafka.Response;
 import com.epam.digital.data.platform.model.core.kafka.ResponseHeaders;
 import com.epam.digital.data.platform.model.core.kafka.Status;
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 import java.util.UUID;
-import org.apache.kafka.common.serialization.Serializer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ResponseMessageCreator {
 
-  private static final String CEPH_MESSAGE_KEY_PREFIX = "datafactory-response-";
+  static final String CEPH_MESSAGE_KEY_PREFIX = "datafactory-response-";
 
   private final Logger log = LoggerFactory.getLogger(ResponseMessageCreator.class);
 
   private final Integer messageSizeLimit;
   private final String cephBucketName;
 
-  private final Serializer valueSerializer;
+  private final ContentTypeSerializer<Object> valueSerializer;
   private final CephService datafactoryResponseCephService;
+  private final Optional<AsyncCephService> datafactoryResponseAsyncCephService;
   private final TraceProvider traceProvider;
 
   public ResponseMessageCreator(
       @Value("${data-platform.kafka.max-request-size}") Integer messageSizeLimit,
       @Value("${datafactory-response-ceph.bucket}") String cephBucketName,
-      Serializer valueSerializer,
+      ContentTypeSerializer<Object> valueSerializer,
       CephService datafactoryResponseCephService,
+      @Qualifier(AsyncIoConfig.DATAFACTORY_RESPONSE_ASYNC_CEPH_SERVICE)
+          Optional<AsyncCephService> datafactoryResponseAsyncCephService,
       TraceProvider traceProvider) {
     this.messageSizeLimit = messageSizeLimit;
     this.valueSerializer = valueSerializer;
     this.cephBucketName = cephBucketName;
     this.datafactoryResponseCephService = datafactoryResponseCephService;
+    this.datafactoryResponseAsyncCephService = datafactoryResponseAsyncCephService;
     this.traceProvider = traceProvider;
   }
 
   public <T> Message<Response<T>> createMessageByPayloadSize(Response<T> originalResponse) {
     var response = new Response<T>();
+    var requestFormat = RequestFormatHolder.get();
 
-    var serializedResponse = valueSerializer.serialize(null, originalResponse);
+    var format = requestFormat.orElse(valueSerializer.getDefaultFormat());
+    var serializedResponse = valueSerializer.serialize(format, originalResponse);
     if (serializedResponse != null && serializedResponse.length >= messageSizeLimit) {
       log.info("Storing large response to Ceph");
 
       var cephContentKey = CEPH_MESSAGE_KEY_PREFIX + UUID.randomUUID();
       try {
         datafactoryResponseCephService.put(
-            cephBucketName, cephContentKey, new String(serializedResponse, StandardCharsets.UTF_8));
-        return MessageBuilder.withPayload(response)
-            .setHeader(KafkaHeaders.MESSAGE_KEY, traceProvider.getRequestId())
+            cephBucketName, cephContentKey,
+            toCephContent(format, serializedResponse, originalResponse));
+        return messageBuilder(response, traceProvider.getRequestId(), requestFormat)
             .setHeader(ResponseHeaders.CEPH_RESPONSE_KEY, cephContentKey)
             .build();
-      } catch (CephCommunicationException e) {
-        log.error("Exception while communication with ceph: {}", e.getMessage(), e);
-        response.setStatus(Status.THIRD_PARTY_SERVICE_UNAVAILABLE);
-      } catch (MisconfigurationException e) {
-        log.error("Incorrect Ceph configuration: {}", e.getMessage(), e);
-        response.setStatus(Status.INTERNAL_CONTRACT_VIOLATION);
       } catch (Exception e) {
-        log.error("Can not store large response: {}", e.getMessage(), e);
-        response.setStatus(Status.OPERATION_FAILED);
+        response.setStatus(toCephErrorStatus(e));
       }
     } else {
       response = originalResponse;
     }
 
-    return MessageBuilder.withPayload(response)
-        .setHeader(KafkaHeaders.MESSAGE_KEY, traceProvider.getRequestId())
-        .build();
+    return messageBuilder(response, traceProvider.getRequestId(), requestFormat).build();
+  }
+
+  /**
+   * Same as {@link #createMessageByPayloadSize(Response)}, but large responses are stored with the
+   * non-blocking ceph client if the async io is enabled.
+   */
+  public <T> CompletableFuture<Message<Response<T>>> createMessageByPayloadSizeAsync(
+      Response<T> originalResponse) {
+    if (datafactoryResponseAsyncCephService.isEmpty()) {
+      return CompletableFuture.completedFuture(createMessageByPayloadSize(originalResponse));
+    }
+
+    var requestId = traceProvider.getRequestId();
+    var requestFormat = RequestFormatHolder.get();
+    var format = requestFormat.orElse(valueSerializer.getDefaultFormat());
+    var serializedResponse = valueSerializer.serialize(format, originalResponse);
+    if (serializedResponse == null || serializedResponse.length < messageSizeLimit) {
+      return CompletableFuture.completedFuture(
+          messageBuilder(originalResponse, requestId, requestFormat).build());
+    }
+
+    log.info("Storing large response to Ceph");
+    var cephContentKey = CEPH_MESSAGE_KEY_PREFIX + UUID.randomUUID();
+    return datafactoryResponseAsyncCephService.get()
+        .put(cephBucketName, cephContentKey,
+            toCephContent(format, serializedResponse, originalResponse))
+        .handle((ignored, e) -> {
+          var response = new Response<T>();
+          var messageBuilder = messageBuilder(response, requestId, requestFormat);
+          if (e == null) {
+            messageBuilder.setHeader(ResponseHeaders.CEPH_RESPONSE_KEY, cephContentKey);
+          } else {
+            response.setStatus(toCephErrorStatus(
+                e instanceof CompletionException && e.getCause() != null ? e.getCause() : e));
+          }
+          return messageBuilder.build();
+        });
+  }
+
+  /**
+   * Starts the response message keyed by the request id. When the request named its wire format,
+   * the response is marked with the same format, so the value serializer writes it in that format.
+   */
+  <T> MessageBuilder<Response<T>> messageBuilder(
+      Response<T> response, String requestId, Optional<PayloadFormat> requestFormat) {
+    var messageBuilder = MessageBuilder.withPayload(response)
+        .setHeader(KafkaHeaders.MESSAGE_KEY, requestId);
+    requestFormat.ifPresent(
+        format -> messageBuilder.setHeader(MessageHeaders.CONTENT_TYPE, format.getContentType()));
+    return messageBuilder;
+  }
+
+  /**
+   * @return the format the response to the current request is serialized in
+   */
+  PayloadFormat responseFormat() {
+    return RequestFormatHolder.get().orElse(valueSerializer.getDefaultFormat());
+  }
+
+  Status toCephErrorStatus(Throwable e) {
+    if (e instanceof RequestProcessingException) {
+      log.error("Can not store large response: {}", e.getMessage());
+      return ((RequestProcessingException) e).getKafkaResponseStatus();
+    }
+    if (e instanceof CephCommunicationException) {
+      log.error("Exception while communication with ceph: {}", e.getMessage(), e);
+      return Status.THIRD_PARTY_SERVICE_UNAVAILABLE;
+    }
+    if (e instanceof MisconfigurationException) {
+      log.error("Incorrect Ceph configuration: {}", e.getMessage(), e);
+      return Status.INTERNAL_CONTRACT_VIOLATION;
+    }
+    log.error("Can not store large response: {}", e.getMessage(), e);
+    return Status.OPERATION_FAILED;
+  }
+
+  // responses stored in Ceph are always read as json, whatever the kafka wire format is
+  private String toCephContent(
+      PayloadFormat format, byte[] serializedResponse, Object originalResponse) {
+    if (format.isBinary()) {
+      serializedResponse = valueSerializer.serialize(PayloadFormat.JSON, originalResponse);
+    }
+    return new String(serializedResponse, StandardCharsets.UTF_8);
   }
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache of search results, kept separately for every search handler. Results are keyed by the
+ * search criteria serialized with sorted properties, the sorted roles of the user, the common
+ * condition of the search and the versions of the tables the search reads.
+ *
+ * <p>The version of a table is incremented once an insert, update or delete in the table is
+ * committed, locally and in the other instances through PostgreSQL notifications. Results read
+ * before the change are never found by the new key and are evicted by size or expiration.
+ *
+ * <p>Cached results are shared between requests and must not be modified.
+ */
+@Component
+public class SearchResultCache {
+
+  static final String CACHE_NAME = "search-result";
+  static final String INVALIDATION_CHANNEL = "search_cache_invalidation";
+  private static final String KEY_SEPARATOR = "|";
+
+  private final Logger log = LoggerFactory.getLogger(SearchResultCache.class);
+
+  private final boolean enabled;
+  private final long maxSize;
+  private final Duration ttl;
+  private final DatabaseNotificationListener notificationListener;
+  private final MeterRegistry meterRegistry;
+  private final ObjectMapper keyMapper;
+  private final Map<String, Cache<String, Object>> handlerCaches = new ConcurrentHashMap<>();
+  private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+  private final Set<String> cachedTables = ConcurrentHashMap.newKeySet();
+
+  public SearchResultCache(
+      @Value("${data-platform.search-cache.enabled:false}") boolean enabled,
+      @Value("${data-platform.search-cache.max-size:1000}") long maxSize,
+      @Value("${data-platform.search-cache.ttl:1m}") Duration ttl,
+      DatabaseNotificationListener notificationListener,
+      MeterRegistry meterRegistry,
+      ObjectMapper objectMapper) {
+    this.enabled = enabled;
+    this.maxSize = maxSize;
+    this.ttl = ttl;
+    this.notificationListener = notificationListener;
+    this.meterRegistry = meterRegistry;
+    this.keyMapper = objectMapper.copy()
+        .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+        .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+  }
+
+  @PostConstruct
+  public void postConstruct() {
+    if (enabled) {
+      notificationListener.subscribe(
+          INVALIDATION_CHANNEL, this::incrementVersion, this::invalidateAll);
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Marks the tables as read by cached searches, so changes of their rows are broadcast.
+   */
+  public void registerTables(Collection<String> tableNames) {
+    cachedTables.addAll(tableNames);
+  }
+
+  /**
+   * Returns the cached result of the search or runs it. Each handler has its own cache of
+   * {@code data-platform.search-cache.max-size} results, monitored with the handler tag.
+   *
+   * @param tableNames tables read by the search, whose changes invalidate the result
+   * @param commonCondition rendered condition the search adds for the user, if any
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(String handlerName, Object searchCriteria, Collection<String> roles,
+      String commonCondition, Collection<String> tableNames, Supplier<T> search) {
+    var cache = handlerCaches.computeIfAbsent(handlerName, this::createCache);
+    var versions = versions(tableNames);
+    var key = String.join(KEY_SEPARATOR,
+        versions, String.join(",", new TreeSet<>(roles)), commonCondition,
+        serialize(searchCriteria));
+
+    var cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return (T) cached;
+    }
+    var result = search.get();
+    if (result != null && versions.equals(versions(tableNames))) {
+      cache.put(key, result);
+    }
+    return result;
+  }
+
+  /**
+   * Increments the version of the table once the current transaction commits and notifies the
+   * other instances. The notification is sent within the transaction, so it is discarded on
+   * rollback.
+   */
+  public void incrementVersionOnCommit(String tableName) {
+    if (!enabled || !cachedTables.contains(tableName)) {
+      return;
+    }
+
+    notificationListener.notify(INVALIDATION_CHANNEL, tableName);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          incrementVersion(tableName);
+        }
+      });
+    } else {
+      incrementVersion(tableName);
+    }
+  }
+
+  public void incrementVersion(String tableName) {
+    tableVersions.computeIfAbsent(tableName, t -> new AtomicLong()).incrementAndGet();
+  }
+
+  public void invalidateAll() {
+    log.info("Evicting all cached search results");
+    tableVersions.values().forEach(AtomicLong::incrementAndGet);
+    handlerCaches.values().forEach(Cache::invalidateAll);
+  }
+
+  private Cache<String, Object> createCache(String handlerName) {
+    Cache<String, Object> cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME, "handler", handlerName);
+    return cache;
+  }
+
+  private String versions(Collection<String> tableNames) {
+    return new TreeSet<>(tableNames).stream()
+        .map(table -> table + ":" + version(table))
+        .collect(Collectors.joining(","));
+  }
+
+  private long version(String tableName) {
+    return tableVersions.computeIfAbsent(tableName, t -> new AtomicLong()).get();
+  }
+
+  private String serialize(Object searchCriteria) {
+    try {
+      return keyMapper.writeValueAsString(searchCriteria);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Couldn't serialize search criteria", e);
+    }
+  }
+}
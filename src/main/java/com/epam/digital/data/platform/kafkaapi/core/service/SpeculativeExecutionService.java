@@ -0,0 +1,147 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import com.epam.digital.data.platform.kafkaapi.core.config.ConcurrencyConfig;
+import com.epam.digital.data.platform.kafkaapi.core.model.ValidatedResult;
+import com.epam.digital.data.platform.kafkaapi.core.model.ValidationResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+/**
+ * Executes write operations while the request validation (jwt and digital seal checks) is still
+ * in flight, so the database work overlaps with calls to external services instead of following
+ * them.
+ *
+ * <p>The operation runs in a transaction that is committed only after the validation has passed
+ * and rolled back otherwise. Note that database audit events of rolled back operations are sent
+ * all the same, so the mode is disabled by default. Reads are not executed speculatively: they
+ * change nothing that could be rolled back, so their audit events would be the only effect of a
+ * rejected request.
+ *
+ * <p>The validation runs on its own executor, separate from the one the validation submits its
+ * checks to, so a saturated pool can't leave validations waiting for their own queued checks.
+ */
+@Component
+public class SpeculativeExecutionService {
+
+  static final String VALIDATION_WAIT_TIMER = "kafka.api.speculative.validation.wait";
+
+  private final Logger log = LoggerFactory.getLogger(SpeculativeExecutionService.class);
+
+  private final boolean enabled;
+  private final PlatformTransactionManager transactionManager;
+  private final Executor validationExecutor;
+  private final Timer writeValidationWaitTimer;
+
+  public SpeculativeExecutionService(
+      @Value("${data-platform.kafka-request.speculative-execution.enabled:false}") boolean enabled,
+      PlatformTransactionManager transactionManager,
+      @Qualifier(ConcurrencyConfig.SPECULATIVE_VALIDATION_EXECUTOR) Executor validationExecutor,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.transactionManager = transactionManager;
+    this.validationExecutor = validationExecutor;
+    this.writeValidationWaitTimer = Timer.builder(VALIDATION_WAIT_TIMER)
+        .description("Time the speculatively executed operation waits for request validation")
+        .tag("operation", "write")
+        .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Validates the request and executes the operation only if the validation has passed.
+   */
+  public static <R> ValidatedResult<R> executeSequentially(
+      Supplier<ValidationResult> validation, Supplier<R> operation) {
+    var validationResult = validation.get();
+    if (!validationResult.isValid()) {
+      return ValidatedResult.rejected(validationResult);
+    }
+    return ValidatedResult.completed(validationResult, operation.get());
+  }
+
+  /**
+   * Executes the write operation in a transaction concurrently with the validation. Validation
+   * failures take precedence over the operation failures.
+   */
+  public <R> ValidatedResult<R> executeWrite(
+      Supplier<ValidationResult> validation, Supplier<R> operation) {
+    var pendingValidation = CompletableFuture.supplyAsync(validation, validationExecutor);
+
+    TransactionStatus transactionStatus =
+        transactionManager.getTransaction(new DefaultTransactionDefinition());
+    R result;
+    ValidationResult validationResult;
+    try {
+      result = operation.get();
+      validationResult = await(pendingValidation, writeValidationWaitTimer);
+    } catch (RuntimeException e) {
+      transactionManager.rollback(transactionStatus);
+      return rejectedOrRethrow(pendingValidation, writeValidationWaitTimer, e);
+    }
+
+    if (!validationResult.isValid()) {
+      log.info("Rolling back speculatively executed operation");
+      transactionManager.rollback(transactionStatus);
+      return ValidatedResult.rejected(validationResult);
+    }
+    transactionManager.commit(transactionStatus);
+    return ValidatedResult.completed(validationResult, result);
+  }
+
+  private <R> ValidatedResult<R> rejectedOrRethrow(
+      CompletableFuture<ValidationResult> pendingValidation, Timer timer,
+      RuntimeException operationException) {
+    var validationResult = await(pendingValidation, timer);
+    if (!validationResult.isValid()) {
+      return ValidatedResult.rejected(validationResult);
+    }
+    throw operationException;
+  }
+
+  private ValidationResult await(CompletableFuture<ValidationResult> pendingValidation,
+      Timer timer) {
+    long start = System.nanoTime();
+    try {
+      return pendingValidation.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    } finally {
+      timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+}
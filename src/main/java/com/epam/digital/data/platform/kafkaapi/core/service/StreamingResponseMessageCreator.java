@@ -0,0 +1,261 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import com.epam.digital.data.platform.kafkaapi.core.config.AsyncIoConfig;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.RequestFormatHolder;
+import com.epam.digital.data.platform.model.core.kafka.Response;
+import com.epam.digital.data.platform.model.core.kafka.ResponseHeaders;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates responses with content produced item by item, e.g. by a search streaming its rows. Each
+ * item is written to the json response as soon as it is produced. While the response fits into
+ * a kafka message, the written json is kept in memory and sent as the payload of the message
+ * without serializing the items again. Once the response outgrows the message, it is spooled to a
+ * temporary file instead and uploaded to Ceph from there, so the memory used doesn't depend on the
+ * number of items. The blocking ceph client can store only the whole content as a string, so
+ * responses are streamed only when the non-blocking one is enabled with
+ * {@code data-platform.async-io.enabled}.
+ */
+@Component
+public class StreamingResponseMessageCreator {
+
+  private static final String SPOOL_FILE_PREFIX = "streamed-response-";
+  private static final String SPOOL_FILE_SUFFIX = ".json";
+  private static final byte[] PAYLOAD_PREFIX = "{\"payload\":".getBytes(StandardCharsets.UTF_8);
+
+  private final Logger log = LoggerFactory.getLogger(StreamingResponseMessageCreator.class);
+
+  private final Integer messageSizeLimit;
+  private final String cephBucketName;
+  private final ObjectMapper objectMapper;
+  private final Optional<AsyncCephService> datafactoryResponseAsyncCephService;
+  private final ResponseMessageCreator responseMessageCreator;
+  private final TraceProvider traceProvider;
+
+  public StreamingResponseMessageCreator(
+      @Value("${data-platform.kafka.max-request-size}") Integer messageSizeLimit,
+      @Value("${datafactory-response-ceph.bucket}") String cephBucketName,
+      ObjectMapper objectMapper,
+      @Qualifier(AsyncIoConfig.DATAFACTORY_RESPONSE_ASYNC_CEPH_SERVICE)
+          Optional<AsyncCephService> datafactoryResponseAsyncCephService,
+      ResponseMessageCreator responseMessageCreator,
+      TraceProvider traceProvider) {
+    this.messageSizeLimit = messageSizeLimit;
+    this.cephBucketName = cephBucketName;
+    this.objectMapper = objectMapper;
+    this.datafactoryResponseAsyncCephService = datafactoryResponseAsyncCephService;
+    this.responseMessageCreator = responseMessageCreator;
+    this.traceProvider = traceProvider;
+  }
+
+  /**
+   * @return {@code false} if spooled responses can't be uploaded to Ceph without reading them into
+   * memory, so the content must not be streamed
+   */
+  public boolean isAvailable() {
+    return datafactoryResponseAsyncCephService.isPresent();
+  }
+
+  /**
+   * @param contentProducer passes the items of the successful response payload to the consumer
+   *                        it is given. Exceptions thrown by the producer are rethrown
+   */
+  public <T> Message<Response<Object>> createMessage(Consumer<Consumer<T>> contentProducer) {
+    if (!isAvailable()) {
+      throw new IllegalStateException(
+          "Streamed responses require the non-blocking ceph client to be enabled");
+    }
+
+    var spool = new SpoolOutputStream(messageSizeLimit);
+    try {
+      int payloadEnd = writeResponse(spool, contentProducer);
+      if (spool.isInMemory()) {
+        return createInlineMessage(spool.toString(PAYLOAD_PREFIX.length, payloadEnd));
+      }
+      return storeToCeph(spool.getFile());
+    } finally {
+      deleteSpoolFile(spool.getFile());
+    }
+  }
+
+  /**
+   * Writes the payload array with the generator between the constant json of the response, so the
+   * json of the payload can be cut out of the spooled response.
+   *
+   * @return the end offset of the payload json
+   */
+  private <T> int writeResponse(SpoolOutputStream spool, Consumer<Consumer<T>> contentProducer) {
+    try (spool) {
+      spool.write(PAYLOAD_PREFIX);
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(spool)
+          .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+        generator.writeStartArray();
+        contentProducer.accept(item -> {
+          try {
+            objectMapper.writeValue(generator, item);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+        generator.writeEndArray();
+      }
+      int payloadEnd = spool.size();
+      spool.write(String.format(",\"status\":%s}", objectMapper.writeValueAsString(Status.SUCCESS))
+          .getBytes(StandardCharsets.UTF_8));
+      return payloadEnd;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // binary formats can't embed raw json, so it's read into a tree the serializer converts
+  private Message<Response<Object>> createInlineMessage(String payloadJson) {
+    var response = new Response<Object>();
+    try {
+      response.setPayload(responseMessageCreator.responseFormat().isBinary()
+          ? objectMapper.readTree(payloadJson)
+          : new RawValue(payloadJson));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    response.setStatus(Status.SUCCESS);
+    return responseMessageCreator.messageBuilder(
+        response, traceProvider.getRequestId(), RequestFormatHolder.get()).build();
+  }
+
+  private Message<Response<Object>> storeToCeph(Path file) {
+    log.info("Storing large streamed response to Ceph");
+    var response = new Response<Object>();
+    var messageBuilder = responseMessageCreator.messageBuilder(
+        response, traceProvider.getRequestId(), RequestFormatHolder.get());
+
+    var cephContentKey = ResponseMessageCreator.CEPH_MESSAGE_KEY_PREFIX + UUID.randomUUID();
+    try {
+      datafactoryResponseAsyncCephService.get().put(cephBucketName, cephContentKey, file).join();
+      messageBuilder.setHeader(ResponseHeaders.CEPH_RESPONSE_KEY, cephContentKey);
+    } catch (Exception e) {
+      response.setStatus(responseMessageCreator.toCephErrorStatus(
+          e instanceof CompletionException && e.getCause() != null ? e.getCause() : e));
+    }
+    return messageBuilder.build();
+  }
+
+  private void deleteSpoolFile(Path file) {
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Couldn't delete spooled response {}", file, e);
+    }
+  }
+
+  /**
+   * Keeps the written bytes in memory up to the threshold, and moves them to a temporary file as
+   * soon as the threshold is exceeded.
+   */
+  static class SpoolOutputStream extends OutputStream {
+
+    private final int threshold;
+    private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+    private Path file;
+    private OutputStream fileStream;
+    private int size;
+
+    SpoolOutputStream(int threshold) {
+      this.threshold = threshold;
+    }
+
+    boolean isInMemory() {
+      return file == null;
+    }
+
+    Path getFile() {
+      return file;
+    }
+
+    int size() {
+      return size;
+    }
+
+    /**
+     * @return the bytes kept in memory between the offsets decoded as UTF-8
+     */
+    String toString(int from, int to) {
+      return new String(memory.toByteArray(), from, to - from, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (isInMemory() && memory.size() + len > threshold) {
+        file = Files.createTempFile(SPOOL_FILE_PREFIX, SPOOL_FILE_SUFFIX);
+        fileStream = new BufferedOutputStream(Files.newOutputStream(file));
+        memory.writeTo(fileStream);
+        memory = null;
+      }
+      if (isInMemory()) {
+        memory.write(b, off, len);
+      } else {
+        fileStream.write(b, off, len);
+      }
+      size += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if (fileStream != null) {
+        fileStream.flush();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (fileStream != null) {
+        fileStream.close();
+      }
+    }
+  }
+}
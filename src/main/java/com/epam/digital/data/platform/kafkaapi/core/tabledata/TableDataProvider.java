@@ -21,4 +21,12 @@ public interface TableDataProvider {
   String tableName();
 
   String pkColumnName();
+
+  /**
+   * Entities of cacheable tables read by id are kept in the entity cache. Suits reference data
+   * that is read much more often than changed.
+   */
+  default boolean isCacheable() {
+    return false;
+  }
 }
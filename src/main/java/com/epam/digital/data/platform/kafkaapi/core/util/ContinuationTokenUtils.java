@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.util;
+
+import com.epam.digital.data.platform.kafkaapi.core.exception.ConstraintViolationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodes the keyset position of the last row of a page into an opaque continuation token and
+ * back. Values are kept as strings and cast by the database to the types of the key fields.
+ */
+public final class ContinuationTokenUtils {
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+  private static final TypeReference<List<String>> VALUES_TYPE = new TypeReference<>() {};
+
+  private ContinuationTokenUtils() {}
+
+  /**
+   * @param keyValues values of the key fields of the last row of a page
+   * @throws IllegalArgumentException if any of the values is {@code null}
+   */
+  public static String encode(List<?> keyValues) {
+    var values = new ArrayList<String>(keyValues.size());
+    for (Object value : keyValues) {
+      if (value == null) {
+        throw new IllegalArgumentException("Continuation token can't hold null key values");
+      }
+      values.add(value.toString());
+    }
+    try {
+      return Base64.getUrlEncoder().withoutPadding()
+          .encodeToString(objectMapper.writeValueAsBytes(values));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Couldn't encode continuation token", e);
+    }
+  }
+
+  /**
+   * @param keySize number of fields in the key the token was issued for
+   * @throws ConstraintViolationException if the token is malformed or issued for another key
+   */
+  public static List<String> decode(String token, int keySize) {
+    List<String> values;
+    try {
+      values = objectMapper.readValue(
+          new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8), VALUES_TYPE);
+    } catch (IllegalArgumentException | JsonProcessingException e) {
+      throw new ConstraintViolationException("Invalid continuation token", e,
+          "Malformed continuation token");
+    }
+    if (values == null || values.size() != keySize || values.contains(null)) {
+      throw new ConstraintViolationException("Invalid continuation token",
+          "Continuation token doesn't match the search");
+    }
+    return values;
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.OrderField;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.Select;
+import org.jooq.SelectFieldOrAsterisk;
+import org.jooq.impl.DSL;
+
+/**
+ * Reads rows together with the read access decision in a single statement:
+ *
+ * <pre>
+ * select * from (select &lt;access condition&gt; as access_granted) access
+ *   left join (select &lt;fields&gt;, 1 as row_found from ...) found on access.access_granted
+ * </pre>
+ *
+ * <p>The result always has at least one row, so a forbidden read is told apart from a read that
+ * found nothing, and no rows are returned if the access is not granted.
+ */
+public final class InlineAccessCheckUtils {
+
+  private static final String ACCESS_TABLE = "access";
+  private static final String FOUND_TABLE = "found";
+  private static final String ACCESS_GRANTED = "access_granted";
+  private static final String ROW_FOUND = "row_found";
+  private static final Set<String> MARKER_FIELDS = Set.of(ACCESS_GRANTED, ROW_FOUND);
+
+  private InlineAccessCheckUtils() {}
+
+  /**
+   * @return select fields with the marker of a found row, to be used in the rows query passed to
+   * {@link #fetch(DSLContext, Condition, Select)}
+   */
+  public static List<SelectFieldOrAsterisk> withRowMarker(
+      List<SelectFieldOrAsterisk> selectFields) {
+    var fields = new ArrayList<SelectFieldOrAsterisk>(selectFields);
+    fields.add(DSL.inline(1).as(ROW_FOUND));
+    return fields;
+  }
+
+  public static Result<Record> fetch(DSLContext context, Condition readAccess, Select<?> rows) {
+    return fetch(context, readAccess, rows, List.of());
+  }
+
+  /**
+   * @param order order of the rows query, repeated on the join as it doesn't preserve the order
+   *              of the joined rows. Must refer to the fields by their unqualified names
+   */
+  public static Result<Record> fetch(DSLContext context, Condition readAccess, Select<?> rows,
+      List<? extends OrderField<?>> order) {
+    var access = context.select(DSL.field(readAccess).as(ACCESS_GRANTED)).asTable(ACCESS_TABLE);
+    return context
+        .select(DSL.asterisk())
+        .from(access)
+        .leftJoin(rows.asTable(FOUND_TABLE))
+        .on(DSL.field(DSL.name(ACCESS_TABLE, ACCESS_GRANTED), Boolean.class).isTrue())
+        .orderBy(order)
+        .fetch();
+  }
+
+  public static boolean isAccessGranted(Result<Record> result) {
+    return result.isNotEmpty()
+        && Boolean.TRUE.equals(result.get(0).get(ACCESS_GRANTED, Boolean.class));
+  }
+
+  /**
+   * @return found rows without the marker fields
+   */
+  public static List<Record> foundRows(Result<Record> result) {
+    return result.stream()
+        .filter(row -> row.get(ROW_FOUND) != null)
+        .map(row -> row.into(Arrays.stream(row.fields())
+            .filter(field -> !MARKER_FIELDS.contains(field.getName()))
+            .toArray(Field[]::new)))
+        .collect(Collectors.toList());
+  }
+}
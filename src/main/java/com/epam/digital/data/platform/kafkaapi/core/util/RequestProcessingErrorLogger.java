@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.util;
+
+import static com.epam.digital.data.platform.kafkaapi.core.util.ExceptionMessage.GENERIC_REQUEST_PROCESSING_EXCEPTION_MESSAGE;
+
+import com.epam.digital.data.platform.kafkaapi.core.exception.RequestProcessingException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+
+/**
+ * Logs request processing exceptions in listeners. Every exception is logged, but stack traces
+ * are written for at most the configured number of exceptions per second, so an error storm does
+ * not turn into a logging storm. The number of omitted stack traces is reported with the next
+ * written one.
+ */
+public final class RequestProcessingErrorLogger {
+
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private static volatile long maxStackTracesPerSecond = 10;
+
+  private static final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+  private static final AtomicLong stackTracesInWindow = new AtomicLong();
+  private static final AtomicLong omittedStackTraces = new AtomicLong();
+
+  private RequestProcessingErrorLogger() {
+  }
+
+  public static void setMaxStackTracesPerSecond(long maxStackTracesPerSecond) {
+    RequestProcessingErrorLogger.maxStackTracesPerSecond = maxStackTracesPerSecond;
+  }
+
+  public static void log(Logger log, RequestProcessingException e) {
+    if (RequestProcessingException.isLightweight(e.getKafkaResponseStatus())) {
+      log.error(GENERIC_REQUEST_PROCESSING_EXCEPTION_MESSAGE, e.getMessage());
+      return;
+    }
+
+    if (!tryAcquireStackTrace()) {
+      omittedStackTraces.incrementAndGet();
+      log.error(GENERIC_REQUEST_PROCESSING_EXCEPTION_MESSAGE, e.getMessage());
+      return;
+    }
+
+    long omitted = omittedStackTraces.getAndSet(0);
+    if (omitted > 0) {
+      log.error("Stack traces of {} request processing exceptions were omitted", omitted);
+    }
+    log.error(GENERIC_REQUEST_PROCESSING_EXCEPTION_MESSAGE, e.getMessage(), e);
+  }
+
+  private static boolean tryAcquireStackTrace() {
+    long now = System.nanoTime();
+    long start = windowStart.get();
+    if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+      stackTracesInWindow.set(0);
+    }
+    return stackTracesInWindow.incrementAndGet() <= maxStackTracesPerSecond;
+  }
+}
@@ -17,16 +17,24 @@
 package com.epam.digital.data.platform.kafkaapi.core.aspect;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.epam.digital.data.platform.kafkaapi.core.commandhandler.impl.CreateCommandHandlerTestImpl;
+import com.epam.digital.data.platform.kafkaapi.core.exception.ExternalCallRejectedException;
+import com.epam.digital.data.platform.kafkaapi.core.exception.ExternalCommunicationException;
 import com.epam.digital.data.platform.kafkaapi.core.listener.impl.GenericCreateCommandListenerTestImpl;
+import com.epam.digital.data.platform.kafkaapi.core.model.ValidationResult;
 import com.epam.digital.data.platform.kafkaapi.core.service.InputValidationService;
 import com.epam.digital.data.platform.kafkaapi.core.service.JwtInfoProvider;
+import com.epam.digital.data.platform.kafkaapi.core.service.RawRequestProcessor;
 import com.epam.digital.data.platform.kafkaapi.core.service.ResponseMessageCreator;
+import com.epam.digital.data.platform.kafkaapi.core.service.SpeculativeExecutionService;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Response;
+import com.epam.digital.data.platform.model.core.kafka.Status;
 import com.epam.digital.data.platform.starter.actuator.livenessprobe.LivenessStateHandler;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,8 +48,8 @@ import org.springframework.messaging.support.MessageBuilder;
 @SpringBootTest(classes = {GenericCreateCommandListenerTestImpl.class,
     LivenessStateCheckAspect.class})
 @MockBean(JwtInfoProvider.class)
-@MockBean(CreateCommandHandlerTestImpl.class)
-@MockBean(InputValidationService.class)
+@MockBean(RawRequestProcessor.class)
+@MockBean(SpeculativeExecutionService.class)
 class LivenessStateCheckAspectTest {
 
   @Autowired
@@ -50,6 +58,10 @@ class LivenessStateCheckAspectTest {
   private LivenessStateHandler livenessStateHandler;
   @MockBean
   private ResponseMessageCreator responseMessageCreator;
+  @MockBean
+  private CreateCommandHandlerTestImpl commandHandler;
+  @MockBean
+  private InputValidationService inputValidationService;
 
   @Test
   void expectStateHandlerIsCalledAfterKafkaListener() {
@@ -60,4 +72,33 @@ class LivenessStateCheckAspectTest {
 
     verify(livenessStateHandler).handleResponse(any(), any());
   }
-}
\ No newline at end of file
+
+  @Test
+  void expectOpenCircuitBreakerDoesNotAffectLiveness() {
+    when(inputValidationService.validate(any(), any(), any()))
+        .thenReturn(new ValidationResult(true));
+    when(commandHandler.save(any())).thenThrow(new ExternalCallRejectedException(
+        "Circuit breaker of ceph is OPEN, the call is not permitted"));
+    when(responseMessageCreator.createMessageByPayloadSize(any()))
+        .thenAnswer(invocation -> MessageBuilder.withPayload(invocation.getArgument(0)).build());
+
+    commandListener.create("", new Request<>());
+
+    verify(livenessStateHandler, never()).handleResponse(any(), any());
+  }
+
+  @Test
+  void expectFailedExternalCallReportedToStateHandler() {
+    when(inputValidationService.validate(any(), any(), any()))
+        .thenReturn(new ValidationResult(true));
+    when(commandHandler.save(any())).thenThrow(new ExternalCommunicationException(
+        "Exception while communication with ceph", Status.THIRD_PARTY_SERVICE_UNAVAILABLE));
+    when(responseMessageCreator.createMessageByPayloadSize(any()))
+        .thenAnswer(invocation -> MessageBuilder.withPayload(invocation.getArgument(0)).build());
+
+    commandListener.create("", new Request<>());
+
+    verify(livenessStateHandler)
+        .handleResponse(eq(Status.THIRD_PARTY_SERVICE_UNAVAILABLE), any());
+  }
+}
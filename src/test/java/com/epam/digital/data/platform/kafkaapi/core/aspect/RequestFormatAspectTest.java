@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.aspect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.kafkaapi.core.commandhandler.impl.CreateCommandHandlerTestImpl;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.ContentTypeDeserializer;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.ContentTypeSerializer;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.PayloadFormat;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.RequestFormatHolder;
+import com.epam.digital.data.platform.kafkaapi.core.listener.impl.GenericCreateCommandListenerTestImpl;
+import com.epam.digital.data.platform.kafkaapi.core.service.InputValidationService;
+import com.epam.digital.data.platform.kafkaapi.core.service.JwtInfoProvider;
+import com.epam.digital.data.platform.kafkaapi.core.service.RawRequestProcessor;
+import com.epam.digital.data.platform.kafkaapi.core.service.ResponseMessageCreator;
+import com.epam.digital.data.platform.kafkaapi.core.service.SpeculativeExecutionService;
+import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import com.epam.digital.data.platform.model.core.kafka.Response;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+@Import({AopAutoConfiguration.class})
+@SpringBootTest(classes = {GenericCreateCommandListenerTestImpl.class,
+    RequestFormatAspect.class})
+@MockBean(JwtInfoProvider.class)
+@MockBean(CreateCommandHandlerTestImpl.class)
+@MockBean(InputValidationService.class)
+@MockBean(RawRequestProcessor.class)
+@MockBean(SpeculativeExecutionService.class)
+class RequestFormatAspectTest {
+
+  @Autowired
+  private GenericCreateCommandListenerTestImpl commandListener;
+  @MockBean
+  private ResponseMessageCreator responseMessageCreator;
+
+  @Test
+  void expectRequestFormatExposedWhileListenerIsRunning() {
+    var formatOnResponse = new AtomicReference<Optional<PayloadFormat>>();
+    when(responseMessageCreator.createMessageByPayloadSize(any())).thenAnswer(invocation -> {
+      formatOnResponse.set(RequestFormatHolder.get());
+      return MessageBuilder.withPayload(new Response<>()).build();
+    });
+
+    commandListener.create("", decode(PayloadFormat.SMILE));
+
+    assertThat(formatOnResponse.get()).contains(PayloadFormat.SMILE);
+    assertThat(RequestFormatHolder.get()).isEmpty();
+  }
+
+  @Test
+  void expectNoFormatForRequestWithoutContentType() {
+    var formatOnResponse = new AtomicReference<Optional<PayloadFormat>>();
+    when(responseMessageCreator.createMessageByPayloadSize(any())).thenAnswer(invocation -> {
+      formatOnResponse.set(RequestFormatHolder.get());
+      return MessageBuilder.withPayload(new Response<>()).build();
+    });
+
+    commandListener.create("", new Request<>());
+
+    assertThat(formatOnResponse.get()).isEmpty();
+  }
+
+  private Request<MockEntity> decode(PayloadFormat format) {
+    var headers = new RecordHeaders();
+    headers.add(MessageHeaders.CONTENT_TYPE,
+        format.getContentType().getBytes(StandardCharsets.UTF_8));
+    var data = new ContentTypeSerializer<Request<MockEntity>>()
+        .serialize("topic", headers, new Request<>());
+    var deserializer = new ContentTypeDeserializer<Request<MockEntity>>();
+    deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "*",
+        JsonDeserializer.VALUE_DEFAULT_TYPE, Request.class.getName()), false);
+    return deserializer.deserialize("topic", headers, data);
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.aspect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.integration.ceph.exception.CephCommunicationException;
+import com.epam.digital.data.platform.kafkaapi.core.config.ResilienceConfig;
+import com.epam.digital.data.platform.kafkaapi.core.exception.ExternalCallRejectedException;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ResilienceAspectTest {
+
+  @Mock
+  private ProceedingJoinPoint joinPoint;
+  @Mock
+  private MethodSignature signature;
+
+  private CircuitBreakerRegistry circuitBreakerRegistry;
+  private BulkheadRegistry bulkheadRegistry;
+  private ResilienceAspect resilienceAspect;
+
+  @BeforeEach
+  void beforeEach() {
+    circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+        .slidingWindowSize(2)
+        .minimumNumberOfCalls(2)
+        .build());
+    bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+        .maxConcurrentCalls(1)
+        .build());
+    resilienceAspect = new ResilienceAspect(circuitBreakerRegistry, bulkheadRegistry);
+    when(joinPoint.getSignature()).thenReturn(signature);
+  }
+
+  @Test
+  void expectCircuitOpenedAfterFailures() throws Throwable {
+    when(signature.getReturnType()).thenReturn(Optional.class);
+    when(joinPoint.proceed()).thenThrow(new CephCommunicationException("", new RuntimeException()));
+
+    for (int i = 0; i < 2; i++) {
+      assertThrows(CephCommunicationException.class,
+          () -> resilienceAspect.guard(joinPoint, ResilienceConfig.CEPH));
+    }
+
+    assertThat(circuitBreakerRegistry.circuitBreaker(ResilienceConfig.CEPH).getState())
+        .isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  @Test
+  void expectFastFailureWhenCircuitIsOpen() throws Throwable {
+    when(signature.getReturnType()).thenReturn(Optional.class);
+    circuitBreakerRegistry.circuitBreaker(ResilienceConfig.CEPH).transitionToOpenState();
+
+    var exception = assertThrows(ExternalCallRejectedException.class,
+        () -> resilienceAspect.guard(joinPoint, ResilienceConfig.CEPH));
+
+    assertThat(exception.getKafkaResponseStatus()).isEqualTo(Status.THIRD_PARTY_SERVICE_UNAVAILABLE);
+    assertThat(exception.getDetails()).isEqualTo(ExternalCallRejectedException.DETAILS);
+    verify(joinPoint, never()).proceed();
+    assertThat(bulkheadRegistry.bulkhead(ResilienceConfig.CEPH).getMetrics()
+        .getAvailableConcurrentCalls()).isEqualTo(1);
+  }
+
+  @Test
+  void expectFastFailureWhenBulkheadIsFull() throws Throwable {
+    when(signature.getReturnType()).thenReturn(Optional.class);
+    bulkheadRegistry.bulkhead(ResilienceConfig.DIGITAL_SIGNATURE_OPS).tryAcquirePermission();
+
+    var exception = assertThrows(ExternalCallRejectedException.class,
+        () -> resilienceAspect.guard(joinPoint, ResilienceConfig.DIGITAL_SIGNATURE_OPS));
+
+    assertThat(exception.getKafkaResponseStatus()).isEqualTo(Status.THIRD_PARTY_SERVICE_UNAVAILABLE);
+    assertThat(exception.getDetails()).isEqualTo(ExternalCallRejectedException.DETAILS);
+    verify(joinPoint, never()).proceed();
+  }
+
+  @Test
+  void expectAsyncCallReleasesBulkheadOnCompletion() throws Throwable {
+    when(signature.getReturnType()).thenReturn(CompletableFuture.class);
+    var pending = new CompletableFuture<Optional<String>>();
+    when(joinPoint.proceed()).thenReturn(pending);
+
+    var result = (CompletableFuture<?>) resilienceAspect.guard(joinPoint, ResilienceConfig.CEPH);
+    var bulkhead = bulkheadRegistry.bulkhead(ResilienceConfig.CEPH);
+    assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isZero();
+
+    pending.complete(Optional.empty());
+
+    assertThat(result).isCompleted();
+    assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    assertThat(circuitBreakerRegistry.circuitBreaker(ResilienceConfig.CEPH).getMetrics()
+        .getNumberOfSuccessfulCalls()).isEqualTo(1);
+  }
+}
@@ -18,6 +18,7 @@ package com.epam.digital.data.platform.kafkaapi.core.audit;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,14 +32,22 @@ import com.epam.digital.data.platform.kafkaapi.core.exception.ForbiddenOperation
 import com.epam.digital.data.platform.kafkaapi.core.exception.ProcedureErrorException;
 import com.epam.digital.data.platform.kafkaapi.core.exception.RequestProcessingException;
 import com.epam.digital.data.platform.kafkaapi.core.exception.SqlErrorException;
+import com.epam.digital.data.platform.kafkaapi.core.listener.impl.GenericQueryListenerTestImpl;
+import com.epam.digital.data.platform.kafkaapi.core.model.ValidationResult;
 import com.epam.digital.data.platform.kafkaapi.core.queryhandler.impl.QueryHandlerTestImpl;
 import com.epam.digital.data.platform.kafkaapi.core.searchhandler.impl.AbstractSearchHandlerTestImpl;
 import com.epam.digital.data.platform.kafkaapi.core.service.AccessPermissionService;
+import com.epam.digital.data.platform.kafkaapi.core.service.EntityCache;
+import com.epam.digital.data.platform.kafkaapi.core.service.InputValidationService;
 import com.epam.digital.data.platform.kafkaapi.core.service.JwtInfoProvider;
+import com.epam.digital.data.platform.kafkaapi.core.service.RawRequestProcessor;
+import com.epam.digital.data.platform.kafkaapi.core.service.ResponseMessageCreator;
+import com.epam.digital.data.platform.kafkaapi.core.service.SearchResultCache;
 import com.epam.digital.data.platform.kafkaapi.core.tabledata.MockEntityTableDataProviderImpl;
 import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.SecurityContext;
+import com.epam.digital.data.platform.model.core.kafka.Status;
 import com.epam.digital.data.platform.starter.security.dto.JwtClaimsDto;
 import com.epam.digital.data.platform.starter.security.dto.RolesDto;
 import java.io.IOException;
@@ -48,7 +57,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.List;
+import java.util.UUID;
 import javax.sql.DataSource;
+import org.aspectj.lang.ProceedingJoinPoint;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -69,10 +80,14 @@ import org.springframework.test.context.ContextConfiguration;
         DmlOperationHandler.class,
         QueryHandlerTestImpl.class,
         AbstractSearchHandlerTestImpl.class,
+        GenericQueryListenerTestImpl.class,
     })
-@MockBean(KafkaAuditProcessor.class)
 @MockBean(JwtInfoProvider.class)
 @MockBean(EntityConverter.class)
+@MockBean(EntityCache.class)
+@MockBean(SearchResultCache.class)
+@MockBean(ResponseMessageCreator.class)
+@MockBean(RawRequestProcessor.class)
 @ContextConfiguration(classes = JooqTestConfig.class)
 class AuditDatabaseEventsAspectTest {
 
@@ -85,12 +100,18 @@ class AuditDatabaseEventsAspectTest {
   private QueryHandlerTestImpl abstractQueryHandler;
   @Autowired
   private AbstractSearchHandlerTestImpl abstractSearchHandlerTest;
+  @Autowired
+  private GenericQueryListenerTestImpl queryListener;
 
   @MockBean
   private AccessPermissionService accessPermissionService;
   @MockBean
   private DatabaseEventsFacade databaseEventsFacade;
   @MockBean
+  private KafkaAuditProcessor kafkaAuditProcessor;
+  @MockBean
+  private InputValidationService inputValidationService;
+  @MockBean
   private DataSource dataSource;
   @MockBean
   private MockEntityTableDataProviderImpl tableDataProvider;
@@ -149,6 +170,19 @@ class AuditDatabaseEventsAspectTest {
         .sendDbAudit(any(), any(), any(), any(), any(), any(), any(), any());
   }
 
+  @Test
+  void expectNoAuditWhenReadRejectedByValidation() throws Throwable {
+    when(kafkaAuditProcessor.process(any(), any()))
+        .thenAnswer(invocation -> ((ProceedingJoinPoint) invocation.getArgument(0)).proceed());
+    when(inputValidationService.validate(any(), any(), any(), any()))
+        .thenReturn(new ValidationResult(false, Status.INVALID_SIGNATURE));
+
+    queryListener.read("key", mockRequest(ACCESS_TOKEN, UUID.fromString(ENTITY_ID)));
+
+    verify(databaseEventsFacade, never())
+        .sendDbAudit(any(), any(), any(), any(), any(), any(), any(), any());
+  }
+
   @Test
   void expectAuditAspectBeforeAndAfterSaveMethodWhenNoExceptionAndResultExist() {
 
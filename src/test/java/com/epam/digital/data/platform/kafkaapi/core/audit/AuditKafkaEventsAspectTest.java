@@ -30,7 +30,9 @@ import com.epam.digital.data.platform.kafkaapi.core.listener.impl.GenericDeleteC
 import com.epam.digital.data.platform.kafkaapi.core.listener.impl.GenericUpdateCommandListenerTestImpl;
 import com.epam.digital.data.platform.kafkaapi.core.searchhandler.AbstractSearchHandler;
 import com.epam.digital.data.platform.kafkaapi.core.service.InputValidationService;
+import com.epam.digital.data.platform.kafkaapi.core.service.RawRequestProcessor;
 import com.epam.digital.data.platform.kafkaapi.core.service.ResponseMessageCreator;
+import com.epam.digital.data.platform.kafkaapi.core.service.SpeculativeExecutionService;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Response;
 import org.junit.jupiter.api.BeforeEach;
@@ -71,6 +73,10 @@ class AuditKafkaEventsAspectTest {
   private InputValidationService inputValidationService;
   @MockBean
   private ResponseMessageCreator responseMessageCreator;
+  @MockBean
+  private RawRequestProcessor rawRequestProcessor;
+  @MockBean
+  private SpeculativeExecutionService speculativeExecutionService;
 
   @BeforeEach
   void beforeEach() {
@@ -89,7 +95,7 @@ class AuditKafkaEventsAspectTest {
 
   @Test
   void expectAuditAspectBeforeAndAfterCreateMethodWhenAnyException() {
-    when(inputValidationService.validate(any(), any())).thenThrow(new RuntimeException());
+    when(inputValidationService.validate(any(), any(), any())).thenThrow(new RuntimeException());
 
     createCommandListener.create("", new Request<>());
 
@@ -108,7 +114,7 @@ class AuditKafkaEventsAspectTest {
 
   @Test
   void expectAuditAspectBeforeAndAfterUpdateMethodWhenAnyException() {
-    when(inputValidationService.validate(any(), any())).thenThrow(new RuntimeException());
+    when(inputValidationService.validate(any(), any(), any())).thenThrow(new RuntimeException());
 
     updateCommandListener.update("", new Request<>());
 
@@ -127,7 +133,7 @@ class AuditKafkaEventsAspectTest {
 
   @Test
   void expectAuditAspectBeforeAndAfterDeleteMethodWhenAnyException() {
-    when(inputValidationService.validate(any(), any())).thenThrow(new RuntimeException());
+    when(inputValidationService.validate(any(), any(), any())).thenThrow(new RuntimeException());
 
     deleteCommandListener.delete("", new Request<>());
 
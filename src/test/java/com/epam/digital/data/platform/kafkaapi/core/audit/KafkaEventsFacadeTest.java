@@ -30,7 +30,6 @@ import com.epam.digital.data.platform.starter.audit.model.AuditEvent;
 import com.epam.digital.data.platform.starter.audit.model.AuditSourceInfo;
 import com.epam.digital.data.platform.starter.audit.model.EventType;
 import com.epam.digital.data.platform.starter.audit.service.AuditService;
-import com.epam.digital.data.platform.starter.security.jwt.TokenParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.time.Clock;
@@ -73,7 +72,7 @@ class KafkaEventsFacadeTest {
   static void init() throws IOException {
     ACCESS_TOKEN = new String(DatabaseEventsFacadeTest.class
         .getResourceAsStream("/accessToken.json").readAllBytes());
-    jwtInfoProvider = new JwtInfoProvider(new TokenParser(new ObjectMapper()));
+    jwtInfoProvider = new JwtInfoProvider(new ObjectMapper());
   }
 
   @BeforeEach
@@ -27,6 +27,8 @@ import com.epam.digital.data.platform.kafkaapi.core.commandhandler.model.DmlOper
 import com.epam.digital.data.platform.kafkaapi.core.exception.ConstraintViolationException;
 import com.epam.digital.data.platform.kafkaapi.core.exception.ForbiddenOperationException;
 import com.epam.digital.data.platform.kafkaapi.core.exception.ProcedureErrorException;
+import com.epam.digital.data.platform.kafkaapi.core.service.EntityCache;
+import com.epam.digital.data.platform.kafkaapi.core.service.SearchResultCache;
 import com.epam.digital.data.platform.model.core.kafka.Status;
 import com.epam.digital.data.platform.starter.security.dto.JwtClaimsDto;
 import com.epam.digital.data.platform.starter.security.dto.RolesDto;
@@ -69,12 +71,16 @@ class DmlOperationHandlerTest {
   private Array rolesDbArray;
   @Mock
   private ResultSet resultSet;
+  @Mock
+  private EntityCache entityCache;
+  @Mock
+  private SearchResultCache searchResultCache;
 
   private DmlOperationHandler dmlOperationHandler;
 
   @BeforeEach
   void beforeEach() throws SQLException {
-    dmlOperationHandler = new DmlOperationHandler(dataSource);
+    dmlOperationHandler = new DmlOperationHandler(dataSource, entityCache, searchResultCache);
     when(dataSource.getConnection()).thenReturn(connection);
     when(connection.prepareCall(any())).thenReturn(callableStatement);
 
@@ -106,6 +112,7 @@ class DmlOperationHandlerTest {
     verify(callableStatement).setString(2, SYS_VALUES_HSTORE_FORMATTED);
     verify(callableStatement).setString(3, BUSINESS_VALUES_HSTORE_FORMATTED);
     verify(callableStatement).setArray(4, rolesDbArray);
+    verify(searchResultCache).incrementVersionOnCommit(TABLE_NAME);
   }
 
   @Test
@@ -140,6 +147,8 @@ class DmlOperationHandlerTest {
     verify(callableStatement).setString(3, SYS_VALUES_HSTORE_FORMATTED);
     verify(callableStatement).setString(4, BUSINESS_VALUES_HSTORE_FORMATTED);
     verify(callableStatement).setArray(5, rolesDbArray);
+    verify(entityCache).invalidateOnCommit(TABLE_NAME, ENTITY_ID);
+    verify(searchResultCache).incrementVersionOnCommit(TABLE_NAME);
   }
 
   @Test
@@ -172,6 +181,8 @@ class DmlOperationHandlerTest {
     verify(callableStatement).setString(2, ENTITY_ID);
     verify(callableStatement).setString(3, SYS_VALUES_HSTORE_FORMATTED);
     verify(callableStatement).setArray(4, rolesDbArray);
+    verify(entityCache).invalidateOnCommit(TABLE_NAME, ENTITY_ID);
+    verify(searchResultCache).incrementVersionOnCommit(TABLE_NAME);
   }
 
   @Test
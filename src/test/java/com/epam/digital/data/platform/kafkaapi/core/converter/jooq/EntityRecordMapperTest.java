@@ -0,0 +1,211 @@
+/*
+ * Copyright 2021 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.converter.jooq;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.digital.data.platform.model.core.kafka.File;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PGobject;
+
+class EntityRecordMapperTest {
+
+  private static final UUID ID = UUID.randomUUID();
+  private static final LocalDateTime CREATED = LocalDateTime.of(2023, 1, 2, 3, 4, 5);
+
+  private final DSLContext context = DSL.using(SQLDialect.POSTGRES);
+  private AtomicInteger fallbacks;
+
+  @BeforeEach
+  void beforeEach() {
+    fallbacks = new AtomicInteger();
+  }
+
+  @Test
+  void expectColumnsWrittenToPropertiesByName() throws SQLException {
+    var mapper = new EntityRecordMapper<>(Entity.class, false, fallback(Entity.class));
+
+    var entity = mapper.map(record(ID.toString(), "name", fileObject()));
+
+    assertThat(entity.getId()).isEqualTo(ID);
+    assertThat(entity.getLegalEntityName()).isEqualTo("name");
+    assertThat(entity.created).isEqualTo(CREATED);
+    assertThat(entity.getScanCopy().getId()).isEqualTo("id");
+    assertThat(entity.getScanCopy().getChecksum()).isEqualTo("checksum");
+    assertThat(fallbacks).hasValue(0);
+  }
+
+  @Test
+  void expectRecordOfUnknownColumnMappedByFallbackWhenAllColumnsMapped() {
+    var mapper = new EntityRecordMapper<>(Entity.class, true, fallback(Entity.class));
+
+    mapper.map(context.newRecord(DSL.field("id"), DSL.field("unknown"))
+        .values(ID, "value"));
+
+    assertThat(fallbacks).hasValue(1);
+  }
+
+  @Test
+  void expectEntityWithJacksonPropertyMappedByFallbackWhenAllColumnsMapped() {
+    var mapper = new EntityRecordMapper<>(JsonEntity.class, true, fallback(JsonEntity.class));
+
+    mapper.map(context.newRecord(DSL.field("name")).values("name"));
+
+    assertThat(fallbacks).hasValue(1);
+  }
+
+  @Test
+  void expectEntityWithoutDefaultConstructorMappedByFallback() {
+    var mapper = new EntityRecordMapper<>(ImmutableEntity.class, false,
+        fallback(ImmutableEntity.class));
+
+    mapper.map(context.newRecord(DSL.field("name")).values("name"));
+
+    assertThat(fallbacks).hasValue(1);
+  }
+
+  @Test
+  void expectOnlyRecordFailedToMapMappedByFallback() {
+    var mapper = new EntityRecordMapper<>(ValidatedEntity.class, false,
+        fallback(ValidatedEntity.class));
+
+    var valid = mapper.map(context.newRecord(DSL.field("name")).values("name"));
+    mapper.map(context.newRecord(DSL.field("name")).values(""));
+    mapper.map(context.newRecord(DSL.field("name")).values("name"));
+    new EntityRecordMapper<>(ValidatedEntity.class, false, fallback(ValidatedEntity.class))
+        .map(context.newRecord(DSL.field("name")).values("name"));
+
+    assertThat(valid.name).isEqualTo("name");
+    assertThat(fallbacks).hasValue(1);
+  }
+
+  @Test
+  void expectMappingLookedUpAgainForOtherFieldsOfSameCount() {
+    var mapper = new EntityRecordMapper<>(Entity.class, true, fallback(Entity.class));
+
+    mapper.map(context.newRecord(DSL.field("unknown")).values("value"));
+    var entity = mapper.map(context.newRecord(DSL.field("legal_entity_name")).values("name"));
+
+    assertThat(entity.getLegalEntityName()).isEqualTo("name");
+    assertThat(fallbacks).hasValue(1);
+  }
+
+  @Test
+  void expectMapperSharedByThreadsMappingOtherFields() {
+    var mapper = new EntityRecordMapper<>(Entity.class, true, fallback(Entity.class));
+    mapper.map(context.newRecord(DSL.field("legal_entity_name")).values("first"));
+
+    CompletableFuture.runAsync(
+        () -> mapper.map(context.newRecord(DSL.field("unknown")).values("value"))).join();
+    var entity = mapper.map(context.newRecord(DSL.field("legal_entity_name")).values("second"));
+
+    assertThat(entity.getLegalEntityName()).isEqualTo("second");
+    assertThat(fallbacks).hasValue(1);
+  }
+
+  private Record record(Object id, String name, Object scanCopy) {
+    return context.newRecord(DSL.field("id"), DSL.field("legal_entity_name"),
+            DSL.field("created"), DSL.field("scan_copy"))
+        .values(id, name, Timestamp.valueOf(CREATED), scanCopy);
+  }
+
+  private PGobject fileObject() throws SQLException {
+    var pgObject = new PGobject();
+    pgObject.setType("type_file");
+    pgObject.setValue("(id,checksum)");
+    return pgObject;
+  }
+
+  private <T> RecordMapper<Record, T> fallback(Class<T> type) {
+    return record -> {
+      fallbacks.incrementAndGet();
+      return null;
+    };
+  }
+
+  public static class Entity {
+
+    private UUID id;
+    private String legalEntityName;
+    private LocalDateTime created;
+    private File scanCopy;
+
+    public UUID getId() {
+      return id;
+    }
+
+    public void setId(UUID id) {
+      this.id = id;
+    }
+
+    public String getLegalEntityName() {
+      return legalEntityName;
+    }
+
+    public void setLegalEntityName(String legalEntityName) {
+      this.legalEntityName = legalEntityName;
+    }
+
+    public File getScanCopy() {
+      return scanCopy;
+    }
+
+    public void setScanCopy(File scanCopy) {
+      this.scanCopy = scanCopy;
+    }
+  }
+
+  public static class JsonEntity {
+
+    @JsonProperty("full_name")
+    private String name;
+  }
+
+  public static class ValidatedEntity {
+
+    private String name;
+
+    public void setName(String name) {
+      if (name.isEmpty()) {
+        throw new IllegalArgumentException("Empty name");
+      }
+      this.name = name;
+    }
+  }
+
+  public static class ImmutableEntity {
+
+    private final String name;
+
+    public ImmutableEntity(String name) {
+      this.name = name;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RequestProcessingExceptionTest {
+
+  @AfterEach
+  void afterEach() {
+    RequestProcessingException.resetLightweightStatuses();
+  }
+
+  @Test
+  void expectNoStackTraceForLightweightStatus() {
+    RequestProcessingException.setLightweightStatuses(Set.of(Status.FORBIDDEN_OPERATION));
+
+    var exception = new ForbiddenOperationException("forbidden");
+
+    assertThat(exception.getStackTrace()).isEmpty();
+    assertThat(exception.getKafkaResponseStatus()).isEqualTo(Status.FORBIDDEN_OPERATION);
+  }
+
+  @Test
+  void expectStackTraceForOtherStatuses() {
+    RequestProcessingException.setLightweightStatuses(Set.of(Status.FORBIDDEN_OPERATION));
+
+    var exception = new SqlErrorException("sql error", new RuntimeException());
+
+    assertThat(exception.getStackTrace()).isNotEmpty();
+  }
+
+  @Test
+  void expectCauseOmittedForLightweightStatus() {
+    RequestProcessingException.setLightweightStatuses(Set.of(Status.CONSTRAINT_VIOLATION));
+
+    var exception = new ConstraintViolationException("violation", new RuntimeException(), "d");
+
+    assertThat(exception.getCause()).isNull();
+    assertThat(exception.getStackTrace()).isEmpty();
+    assertThat(exception.getDetails()).isEqualTo("d");
+  }
+
+  @Test
+  void expectCauseKeptForOtherStatuses() {
+    var cause = new RuntimeException();
+
+    var exception = new ConstraintViolationException("violation", cause, "d");
+
+    assertThat(exception.getCause()).isSameAs(cause);
+  }
+
+  @Test
+  void expectNoLightweightStatusesAfterReset() {
+    RequestProcessingException.setLightweightStatuses(Set.of(Status.FORBIDDEN_OPERATION));
+
+    RequestProcessingException.resetLightweightStatuses();
+
+    assertThat(RequestProcessingException.isLightweight(Status.FORBIDDEN_OPERATION)).isFalse();
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.kafkaserializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.digital.data.platform.kafkaapi.core.util.Header;
+import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.messaging.MessageHeaders;
+
+class ContentTypeSerializerTest {
+
+  private static final String TOPIC = "topic";
+
+  private ContentTypeDeserializer<MockEntity> deserializer;
+
+  @BeforeEach
+  void beforeEach() {
+    deserializer = new ContentTypeDeserializer<>();
+    deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "*"), false);
+  }
+
+  @Test
+  void expectJsonWithoutContentTypeHeaderByDefault() {
+    var serializer = new ContentTypeSerializer<MockEntity>();
+    var headers = new RecordHeaders();
+
+    var serialized = serializer.serialize(TOPIC, headers, mockEntity());
+
+    assertThat(headers.lastHeader(MessageHeaders.CONTENT_TYPE)).isNull();
+    assertThat(new String(serialized, StandardCharsets.UTF_8)).startsWith("{");
+    var deserialized = deserializer.deserialize(TOPIC, headers, serialized);
+    assertEntity(deserialized);
+    assertThat(DecodedValues.formatOf(deserialized)).isEmpty();
+  }
+
+  @Test
+  void expectConfiguredBinaryFormatMarkedWithHeader() {
+    var serializer = new ContentTypeSerializer<MockEntity>(PayloadFormat.SMILE);
+    var headers = new RecordHeaders();
+
+    var serialized = serializer.serialize(TOPIC, headers, mockEntity());
+
+    assertThat(new String(headers.lastHeader(MessageHeaders.CONTENT_TYPE).value(),
+        StandardCharsets.UTF_8)).isEqualTo(PayloadFormat.SMILE.getContentType());
+    assertThat(serialized.length)
+        .isLessThan(new ContentTypeSerializer<MockEntity>().serialize(TOPIC, mockEntity()).length);
+    assertEntity(deserializer.deserialize(TOPIC, headers, serialized));
+  }
+
+  @Test
+  void expectFormatFromContentTypeHeader() {
+    var serializer = new ContentTypeSerializer<MockEntity>();
+    var headers = new RecordHeaders();
+    headers.add(MessageHeaders.CONTENT_TYPE,
+        ("\"" + PayloadFormat.CBOR.getContentType() + "\"").getBytes(StandardCharsets.UTF_8));
+
+    var serialized = serializer.serialize(TOPIC, headers, mockEntity());
+
+    assertThat(new String(headers.lastHeader(MessageHeaders.CONTENT_TYPE).value(),
+        StandardCharsets.UTF_8)).isEqualTo(PayloadFormat.CBOR.getContentType());
+    var deserialized = deserializer.deserialize(TOPIC, headers, serialized);
+    assertEntity(deserialized);
+    assertThat(DecodedValues.formatOf(deserialized)).contains(PayloadFormat.CBOR);
+  }
+
+  @Test
+  void expectNoRawPayloadCapturedByDefault() {
+    var serializer = new ContentTypeSerializer<MockEntity>();
+    var headers = new RecordHeaders();
+
+    var serialized = serializer.serialize(TOPIC, headers, mockEntity());
+    var deserialized = deserializer.deserialize(TOPIC, headers, serialized);
+
+    assertThat(DecodedValues.rawPayloadOf(deserialized)).isNull();
+  }
+
+  @Test
+  void expectRawPayloadKeptForDecodedValueOnly() {
+    deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "*",
+        ContentTypeDeserializer.CAPTURE_RAW_PAYLOAD_CONFIG, "true"), false);
+    var serializer = new ContentTypeSerializer<MockEntity>();
+    var headers = new RecordHeaders();
+    headers.add(Header.RAW_PAYLOAD, "{}".getBytes(StandardCharsets.UTF_8));
+
+    var serialized = serializer.serialize(TOPIC, headers, mockEntity());
+    var deserialized = deserializer.deserialize(TOPIC, headers, serialized);
+
+    assertThat(headers.lastHeader(Header.RAW_PAYLOAD)).isNull();
+    assertThat(DecodedValues.rawPayloadOf(deserialized)).isSameAs(serialized);
+  }
+
+  @Test
+  void expectNoRawPayloadForBinaryFormat() {
+    deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "*",
+        ContentTypeDeserializer.CAPTURE_RAW_PAYLOAD_CONFIG, "true"), false);
+    var serializer = new ContentTypeSerializer<MockEntity>(PayloadFormat.CBOR);
+    var headers = new RecordHeaders();
+
+    var serialized = serializer.serialize(TOPIC, headers, mockEntity());
+    var deserialized = deserializer.deserialize(TOPIC, headers, serialized);
+
+    assertThat(DecodedValues.rawPayloadOf(deserialized)).isNull();
+    assertThat(DecodedValues.formatOf(deserialized)).contains(PayloadFormat.CBOR);
+  }
+
+  private void assertEntity(MockEntity actual) {
+    var expected = mockEntity();
+    assertThat(actual.getConsentId()).isEqualTo(expected.getConsentId());
+    assertThat(actual.getConsentDate()).isEqualTo(expected.getConsentDate());
+    assertThat(actual.getPersonFullName()).isEqualTo(expected.getPersonFullName());
+  }
+
+  private MockEntity mockEntity() {
+    var entity = new MockEntity();
+    entity.setConsentId(UUID.fromString("123e4567-e89b-12d3-a456-426655440000"));
+    entity.setConsentDate(LocalDateTime.of(2021, 2, 6, 12, 33, 20, 111_000_000));
+    entity.setPersonFullName("Full name");
+    return entity;
+  }
+}
@@ -17,24 +17,32 @@
 package com.epam.digital.data.platform.kafkaapi.core.listener;
 
 import static com.epam.digital.data.platform.model.core.kafka.Status.INVALID_SIGNATURE;
+import static com.epam.digital.data.platform.model.core.kafka.Status.JWT_EXPIRED;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.epam.digital.data.platform.kafkaapi.core.commandhandler.impl.CreateCommandHandlerTestImpl;
 import com.epam.digital.data.platform.kafkaapi.core.exception.ProcedureErrorException;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.PayloadFormat;
 import com.epam.digital.data.platform.kafkaapi.core.listener.impl.GenericCreateCommandListenerTestImpl;
 import com.epam.digital.data.platform.kafkaapi.core.model.ValidationResult;
 import com.epam.digital.data.platform.kafkaapi.core.service.InputValidationService;
+import com.epam.digital.data.platform.kafkaapi.core.service.RawRequestProcessor;
+import com.epam.digital.data.platform.kafkaapi.core.service.RequestPayloadReader;
 import com.epam.digital.data.platform.kafkaapi.core.service.ResponseMessageCreator;
+import com.epam.digital.data.platform.kafkaapi.core.service.SpeculativeExecutionService;
 import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
 import com.epam.digital.data.platform.model.core.kafka.EntityId;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Response;
 import com.epam.digital.data.platform.model.core.kafka.Status;
 import java.util.UUID;
+import org.apache.kafka.common.errors.SerializationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -45,7 +53,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.messaging.support.MessageBuilder;
 
-@SpringBootTest(classes = GenericCreateCommandListenerTestImpl.class)
+@SpringBootTest(classes = {GenericCreateCommandListenerTestImpl.class, RawRequestProcessor.class})
 class GenericCreateCommandListenerTest {
 
   private static final UUID ENTITY_ID = UUID.fromString("123e4567-e89b-12d3-a456-426655440000");
@@ -57,6 +65,10 @@ class GenericCreateCommandListenerTest {
   InputValidationService inputValidationService;
   @MockBean
   ResponseMessageCreator responseMessageCreator;
+  @MockBean
+  RequestPayloadReader requestPayloadReader;
+  @MockBean
+  SpeculativeExecutionService speculativeExecutionService;
   @Autowired
   private GenericCreateCommandListener<MockEntity, EntityId> commandListener;
 
@@ -65,7 +77,7 @@ class GenericCreateCommandListenerTest {
 
   @BeforeEach
   void init() {
-    when(inputValidationService.validate(any(), any())).thenReturn(new ValidationResult(true));
+    when(inputValidationService.validate(any(), any(), any())).thenReturn(new ValidationResult(true));
 
     when(responseMessageCreator.createMessageByPayloadSize(any()))
         .thenReturn(MessageBuilder.withPayload(new Response<>()).build());
@@ -107,7 +119,7 @@ class GenericCreateCommandListenerTest {
 
   @Test
   void shouldReturnErrorStatusFromValidation() {
-    when(inputValidationService.validate(any(), any()))
+    when(inputValidationService.validate(any(), any(), any()))
         .thenReturn(new ValidationResult(false, INVALID_SIGNATURE));
     var mockResponse = new Response<>();
     when(responseMessageCreator.createMessageByPayloadSize(any()))
@@ -123,6 +135,60 @@ class GenericCreateCommandListenerTest {
     assertThat(actualMessage.getPayload()).isEqualTo(mockResponse);
   }
 
+  @Test
+  void expectPayloadNotDeserializedWhenAccessTokenHeaderInvalid() {
+    when(inputValidationService.validateAccessToken("token"))
+        .thenReturn(new ValidationResult(false, JWT_EXPIRED));
+
+    commandListener.create(KEY, new byte[0], "token");
+
+    verify(responseMessageCreator).createMessageByPayloadSize(responseNoPayloadCaptor.capture());
+    assertThat(responseNoPayloadCaptor.getValue().getStatus()).isEqualTo(JWT_EXPIRED);
+    verifyNoInteractions(requestPayloadReader, mockCommandHandler);
+  }
+
+  @Test
+  void expectRawPayloadDeserializedAndProcessedWhenAccessTokenHeaderValid() {
+    var rawPayload = new byte[0];
+    var request = mockRequest();
+    when(inputValidationService.validateAccessToken("token")).thenReturn(new ValidationResult(true));
+    when(requestPayloadReader.<MockEntity>read(eq(rawPayload), eq(PayloadFormat.JSON), any()))
+        .thenReturn(request);
+
+    commandListener.create(KEY, rawPayload, "token");
+
+    verify(inputValidationService).validate(KEY, request, rawPayload);
+    verify(mockCommandHandler).save(request);
+  }
+
+  @Test
+  void expectBinaryPayloadDecodedInContentTypeFormat() {
+    var rawPayload = new byte[0];
+    var request = mockRequest();
+    when(inputValidationService.validateAccessToken("token")).thenReturn(new ValidationResult(true));
+    when(requestPayloadReader.<MockEntity>read(eq(rawPayload), eq(PayloadFormat.SMILE), any()))
+        .thenReturn(request);
+
+    commandListener.create(KEY, rawPayload, "token", PayloadFormat.SMILE.getContentType());
+
+    verify(inputValidationService).validate(KEY, request, null);
+    verify(mockCommandHandler).save(request);
+  }
+
+  @Test
+  void expectErrorResponseWhenRawPayloadMalformed() {
+    var rawPayload = new byte[0];
+    when(inputValidationService.validateAccessToken("token")).thenReturn(new ValidationResult(true));
+    when(requestPayloadReader.read(eq(rawPayload), eq(PayloadFormat.JSON), any()))
+        .thenThrow(new SerializationException("Couldn't deserialize request payload"));
+
+    commandListener.create(KEY, rawPayload, "token");
+
+    verify(responseMessageCreator).createMessageByPayloadSize(responseNoPayloadCaptor.capture());
+    assertThat(responseNoPayloadCaptor.getValue().getStatus()).isEqualTo(Status.OPERATION_FAILED);
+    verifyNoInteractions(mockCommandHandler);
+  }
+
   private Request<MockEntity> mockRequest() {
     MockEntity mock = new MockEntity();
     Request<MockEntity> request = new Request<>();
@@ -28,7 +28,9 @@ import com.epam.digital.data.platform.kafkaapi.core.exception.ProcedureErrorExce
 import com.epam.digital.data.platform.kafkaapi.core.listener.impl.GenericDeleteCommandListenerTestImpl;
 import com.epam.digital.data.platform.kafkaapi.core.model.ValidationResult;
 import com.epam.digital.data.platform.kafkaapi.core.service.InputValidationService;
+import com.epam.digital.data.platform.kafkaapi.core.service.RawRequestProcessor;
 import com.epam.digital.data.platform.kafkaapi.core.service.ResponseMessageCreator;
+import com.epam.digital.data.platform.kafkaapi.core.service.SpeculativeExecutionService;
 import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Response;
@@ -56,6 +58,10 @@ class GenericDeleteCommandListenerTest {
   InputValidationService inputValidationService;
   @MockBean
   ResponseMessageCreator responseMessageCreator;
+  @MockBean
+  RawRequestProcessor rawRequestProcessor;
+  @MockBean
+  SpeculativeExecutionService speculativeExecutionService;
   @Autowired
   private GenericDeleteCommandListenerTestImpl commandListener;
 
@@ -64,7 +70,7 @@ class GenericDeleteCommandListenerTest {
 
   @BeforeEach
   void init() {
-    when(inputValidationService.validate(any(), any())).thenReturn(new ValidationResult(true));
+    when(inputValidationService.validate(any(), any(), any())).thenReturn(new ValidationResult(true));
 
     when(responseMessageCreator.createMessageByPayloadSize(any()))
         .thenReturn(MessageBuilder.withPayload(new Response<>()).build());
@@ -106,7 +112,7 @@ class GenericDeleteCommandListenerTest {
 
   @Test
   void shouldReturnErrorStatusFromValidation() {
-    when(inputValidationService.validate(any(), any()))
+    when(inputValidationService.validate(any(), any(), any()))
         .thenReturn(new ValidationResult(false, INVALID_SIGNATURE));
     var mockResponse = new Response<>();
     when(responseMessageCreator.createMessageByPayloadSize(any()))
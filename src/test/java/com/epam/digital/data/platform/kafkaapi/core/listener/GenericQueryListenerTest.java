@@ -20,15 +20,19 @@ import static com.epam.digital.data.platform.model.core.kafka.Status.INVALID_SIG
 import static com.epam.digital.data.platform.model.core.kafka.Status.JWT_INVALID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.epam.digital.data.platform.kafkaapi.core.exception.ForbiddenOperationException;
 import com.epam.digital.data.platform.kafkaapi.core.exception.ProcedureErrorException;
 import com.epam.digital.data.platform.kafkaapi.core.listener.impl.GenericQueryListenerTestImpl;
 import com.epam.digital.data.platform.kafkaapi.core.model.ValidationResult;
 import com.epam.digital.data.platform.kafkaapi.core.queryhandler.impl.QueryHandlerTestImpl;
 import com.epam.digital.data.platform.kafkaapi.core.service.InputValidationService;
+import com.epam.digital.data.platform.kafkaapi.core.service.RawRequestProcessor;
 import com.epam.digital.data.platform.kafkaapi.core.service.ResponseMessageCreator;
 import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
 import com.epam.digital.data.platform.model.core.kafka.Request;
@@ -58,6 +62,8 @@ class GenericQueryListenerTest {
   InputValidationService inputValidationService;
   @MockBean
   ResponseMessageCreator responseMessageCreator;
+  @MockBean
+  RawRequestProcessor rawRequestProcessor;
   @Autowired
   private GenericQueryListenerTestImpl queryListener;
 
@@ -66,7 +72,7 @@ class GenericQueryListenerTest {
 
   @BeforeEach
   void init() {
-    when(inputValidationService.validate(any(), any())).thenReturn(new ValidationResult(true));
+    when(inputValidationService.validate(any(), any(), any(), any())).thenReturn(new ValidationResult(true));
 
     when(responseMessageCreator.createMessageByPayloadSize(any()))
         .thenReturn(MessageBuilder.withPayload(new Response<>()).build());
@@ -75,7 +81,7 @@ class GenericQueryListenerTest {
   @Test
   @DisplayName("Check if response is failed on record not found")
   void notFound() {
-    when(mockQueryHandler.findById(any())).thenReturn(Optional.empty());
+    when(mockQueryHandler.findById(any(), anyBoolean())).thenReturn(Optional.empty());
 
     queryListener.read(KEY, mockInput());
 
@@ -88,7 +94,7 @@ class GenericQueryListenerTest {
   @Test
   @DisplayName("Check if response is valid when DB error for read")
   void procedureErrorOnRead() {
-    doThrow(new ProcedureErrorException("")).when(mockQueryHandler).findById(any());
+    doThrow(new ProcedureErrorException("")).when(mockQueryHandler).findById(any(), anyBoolean());
 
     queryListener.read(KEY, mockInput());
 
@@ -100,7 +106,7 @@ class GenericQueryListenerTest {
   @Test
   @DisplayName("Check if response is valid when NPE for read")
   void nullPointerExceptionOnWrite() {
-    doThrow(new NullPointerException("")).when(mockQueryHandler).findById(any());
+    doThrow(new NullPointerException("")).when(mockQueryHandler).findById(any(), anyBoolean());
 
     queryListener.read(KEY, mockInput());
 
@@ -115,7 +121,7 @@ class GenericQueryListenerTest {
     MockEntity mock = new MockEntity();
     mock.setConsentId(ENTITY_ID);
     mock.setPersonFullName("stub");
-    when(mockQueryHandler.findById(any())).thenReturn(Optional.of(mock));
+    when(mockQueryHandler.findById(any(), anyBoolean())).thenReturn(Optional.of(mock));
 
     var mockResponse = new Response<>();
     mockResponse.setPayload(mock);
@@ -134,7 +140,7 @@ class GenericQueryListenerTest {
 
   @Test
   void shouldReturnInvalidSignatureStatus() {
-    when(inputValidationService.validate(any(), any()))
+    when(inputValidationService.validate(any(), any(), any(), any()))
         .thenReturn(new ValidationResult(false, INVALID_SIGNATURE));
     var mockResponse = new Response<>();
     when(responseMessageCreator.createMessageByPayloadSize(any()))
@@ -151,12 +157,12 @@ class GenericQueryListenerTest {
 
   @Test
   void expectJwtInvalidStatusOnReadIfValidationNotPassed() {
-    when(inputValidationService.validate(any(), any()))
+    when(inputValidationService.validate(any(), any(), any(), any()))
         .thenReturn(new ValidationResult(false, JWT_INVALID));
     MockEntity mock = new MockEntity();
     mock.setConsentId(ENTITY_ID);
     mock.setPersonFullName("stub");
-    when(mockQueryHandler.findById(any())).thenReturn(Optional.of(mock));
+    when(mockQueryHandler.findById(any(), anyBoolean())).thenReturn(Optional.of(mock));
 
     queryListener.read(KEY, mockInput());
 
@@ -166,6 +172,22 @@ class GenericQueryListenerTest {
     assertThat(response.getDetails()).isNull();
   }
 
+  @Test
+  void expectDeniedReadPassedToAuditedFindById() {
+    when(inputValidationService.validate(any(), any(), any(), any()))
+        .thenReturn(new ValidationResult(false, Status.FORBIDDEN_OPERATION));
+    doThrow(new ForbiddenOperationException("User has invalid role"))
+        .when(mockQueryHandler).findById(any(), eq(false));
+    var input = mockInput();
+
+    queryListener.read(KEY, input);
+
+    verify(mockQueryHandler).findById(input, false);
+    verify(responseMessageCreator).createMessageByPayloadSize(responseWithPayloadCaptor.capture());
+    var response = responseWithPayloadCaptor.getValue();
+    assertThat(response.getStatus()).isEqualTo(Status.FORBIDDEN_OPERATION);
+  }
+
   private Request<UUID> mockInput() {
     return new Request<>(ENTITY_ID, null, null);
   }
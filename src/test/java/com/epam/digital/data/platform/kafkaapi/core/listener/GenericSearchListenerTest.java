@@ -21,7 +21,9 @@ import com.epam.digital.data.platform.kafkaapi.core.model.ValidationResult;
 import com.epam.digital.data.platform.kafkaapi.core.searchhandler.AbstractSearchHandler;
 import com.epam.digital.data.platform.kafkaapi.core.listener.impl.GenericSearchListenerTestImpl;
 import com.epam.digital.data.platform.kafkaapi.core.service.InputValidationService;
+import com.epam.digital.data.platform.kafkaapi.core.service.RawRequestProcessor;
 import com.epam.digital.data.platform.kafkaapi.core.service.ResponseMessageCreator;
+import com.epam.digital.data.platform.kafkaapi.core.service.StreamingResponseMessageCreator;
 import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
 import com.epam.digital.data.platform.kafkaapi.core.util.MockEntityContains;
 import com.epam.digital.data.platform.model.core.kafka.Request;
@@ -62,6 +64,10 @@ class GenericSearchListenerTest {
   InputValidationService inputValidationService;
   @MockBean
   ResponseMessageCreator responseMessageCreator;
+  @MockBean
+  RawRequestProcessor rawRequestProcessor;
+  @MockBean
+  StreamingResponseMessageCreator streamingResponseMessageCreator;
   @Autowired
   GenericSearchListenerTestImpl instance;
 
@@ -70,7 +76,7 @@ class GenericSearchListenerTest {
 
   @BeforeEach
   void init() {
-    when(inputValidationService.validate(any(), any())).thenReturn(new ValidationResult(true));
+    when(inputValidationService.validate(any(), any(), any())).thenReturn(new ValidationResult(true));
 
     when(responseMessageCreator.createMessageByPayloadSize(any()))
         .thenReturn(MessageBuilder.withPayload(new Response<>()).build());
@@ -125,7 +131,7 @@ class GenericSearchListenerTest {
 
   @Test
   void shouldReturnInvalidSignatureStatus() {
-    when(inputValidationService.validate(any(), any()))
+    when(inputValidationService.validate(any(), any(), any()))
         .thenReturn(new ValidationResult(false, INVALID_SIGNATURE));
     var mockResponse = new Response<>();
     when(responseMessageCreator.createMessageByPayloadSize(any()))
@@ -142,7 +148,7 @@ class GenericSearchListenerTest {
 
   @Test
   void shouldReturnInvalidJwtStatus() {
-    when(inputValidationService.validate(any(), any()))
+    when(inputValidationService.validate(any(), any(), any()))
         .thenReturn(new ValidationResult(false, JWT_INVALID));
     var mockResponse = new Response<>();
     when(responseMessageCreator.createMessageByPayloadSize(any()))
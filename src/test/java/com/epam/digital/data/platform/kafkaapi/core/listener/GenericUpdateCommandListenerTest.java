@@ -21,7 +21,9 @@ import com.epam.digital.data.platform.kafkaapi.core.exception.ProcedureErrorExce
 import com.epam.digital.data.platform.kafkaapi.core.listener.impl.GenericUpdateCommandListenerTestImpl;
 import com.epam.digital.data.platform.kafkaapi.core.model.ValidationResult;
 import com.epam.digital.data.platform.kafkaapi.core.service.InputValidationService;
+import com.epam.digital.data.platform.kafkaapi.core.service.RawRequestProcessor;
 import com.epam.digital.data.platform.kafkaapi.core.service.ResponseMessageCreator;
+import com.epam.digital.data.platform.kafkaapi.core.service.SpeculativeExecutionService;
 import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Response;
@@ -57,6 +59,10 @@ class GenericUpdateCommandListenerTest {
   InputValidationService inputValidationService;
   @MockBean
   ResponseMessageCreator responseMessageCreator;
+  @MockBean
+  RawRequestProcessor rawRequestProcessor;
+  @MockBean
+  SpeculativeExecutionService speculativeExecutionService;
   @Autowired
   private GenericUpdateCommandListenerTestImpl commandListener;
 
@@ -65,7 +71,7 @@ class GenericUpdateCommandListenerTest {
 
   @BeforeEach
   void init() {
-    when(inputValidationService.validate(any(), any())).thenReturn(new ValidationResult(true));
+    when(inputValidationService.validate(any(), any(), any())).thenReturn(new ValidationResult(true));
 
     when(responseMessageCreator.createMessageByPayloadSize(any()))
         .thenReturn(MessageBuilder.withPayload(new Response<>()).build());
@@ -107,7 +113,7 @@ class GenericUpdateCommandListenerTest {
 
   @Test
   void shouldReturnErrorStatusFromValidation() {
-    when(inputValidationService.validate(any(), any())).thenReturn(new ValidationResult(false, INVALID_SIGNATURE));
+    when(inputValidationService.validate(any(), any(), any())).thenReturn(new ValidationResult(false, INVALID_SIGNATURE));
     var mockResponse = new Response<>();
     when(responseMessageCreator.createMessageByPayloadSize(any()))
         .thenReturn(MessageBuilder.withPayload(mockResponse).build());
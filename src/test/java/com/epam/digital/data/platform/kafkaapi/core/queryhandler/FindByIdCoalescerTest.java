@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.queryhandler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FindByIdCoalescerTest {
+
+  private static final String SHAPE = "1 = 1";
+  private static final Duration WINDOW = Duration.ofMillis(300);
+  private static final Duration JOIN_TIMEOUT = Duration.ofSeconds(10);
+
+  private final DSLContext context = DSL.using(SQLDialect.POSTGRES);
+
+  private FindByIdCoalescer coalescer;
+  private ExecutorService executor;
+  private List<List<Object>> queries;
+
+  @BeforeEach
+  void beforeEach() {
+    coalescer = new FindByIdCoalescer();
+    executor = Executors.newFixedThreadPool(4);
+    queries = new CopyOnWriteArrayList<>();
+  }
+
+  @AfterEach
+  void afterEach() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void expectConcurrentReadsCoalescedIntoOneQuery() throws Exception {
+    var reads = readConcurrently(List.of("1", "2", "2", "3"), 100);
+
+    assertThat(queries).hasSize(1);
+    assertThat(queries.get(0)).containsExactlyInAnyOrder("1", "2", "3");
+    assertThat(reads.get(0).get()).map(row -> row.get("name")).contains("name 1");
+    assertThat(reads.get(1).get()).map(row -> row.get("name")).contains("name 2");
+    assertThat(reads.get(2).get()).map(row -> row.get("name")).contains("name 2");
+    assertThat(reads.get(3).get()).isEmpty();
+  }
+
+  @Test
+  void expectFullBatchReadBeforeWindowPassed() {
+    long start = System.nanoTime();
+
+    coalescer.read(SHAPE, "1", Duration.ofMinutes(1), 1, JOIN_TIMEOUT, this::query);
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+    assertThat(queries).hasSize(1);
+  }
+
+  @Test
+  void expectQueryFailurePropagatedToAllReads() throws Exception {
+    var start = new CountDownLatch(1);
+    var reads = new ArrayList<Future<?>>();
+    for (String id : List.of("1", "2")) {
+      reads.add(executor.submit(() -> {
+        start.await();
+        return coalescer.read(SHAPE, id, WINDOW, 100, JOIN_TIMEOUT, ids -> {
+          throw new IllegalStateException("Failed");
+        });
+      }));
+    }
+    start.countDown();
+
+    for (Future<?> read : reads) {
+      assertThatThrownBy(read::get).hasCauseInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  void expectQueryErrorPropagatedToAllReads() throws Exception {
+    var start = new CountDownLatch(1);
+    var reads = new ArrayList<Future<?>>();
+    for (String id : List.of("1", "2")) {
+      reads.add(executor.submit(() -> {
+        start.await();
+        return coalescer.read(SHAPE, id, WINDOW, 100, JOIN_TIMEOUT, ids -> {
+          throw new AssertionError("Failed");
+        });
+      }));
+    }
+    start.countDown();
+
+    for (Future<?> read : reads) {
+      assertThatThrownBy(() -> read.get(5, TimeUnit.SECONDS))
+          .hasCauseInstanceOf(AssertionError.class);
+    }
+  }
+
+  @Test
+  void expectReadOfStuckBatchTimedOut() throws Exception {
+    var queried = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var leader = executor.submit(() -> coalescer.read(SHAPE, "1", Duration.ZERO, 100,
+        JOIN_TIMEOUT, ids -> {
+          queried.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return query(ids);
+        }));
+    queried.await();
+
+    assertThatThrownBy(
+        () -> coalescer.read(SHAPE, "1", WINDOW, 100, Duration.ofMillis(100), this::query))
+        .isInstanceOf(IllegalStateException.class);
+
+    release.countDown();
+    assertThat(leader.get()).map(row -> row.get("name")).contains("name 1");
+  }
+
+  private List<Future<Optional<Record>>> readConcurrently(List<String> ids, int maxBatchSize)
+      throws InterruptedException {
+    var start = new CountDownLatch(1);
+    var reads = new ArrayList<Future<Optional<Record>>>();
+    for (String id : ids) {
+      reads.add(executor.submit(() -> {
+        start.await();
+        return coalescer.read(SHAPE, id, WINDOW, maxBatchSize, JOIN_TIMEOUT, this::query);
+      }));
+    }
+    start.countDown();
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+    return reads;
+  }
+
+  private Map<String, Record> query(List<Object> ids) {
+    queries.add(ids);
+    return ids.stream()
+        .filter(id -> !"3".equals(id))
+        .collect(Collectors.toMap(String::valueOf,
+            id -> (Record) context.newRecord(DSL.field("name")).values("name " + id)));
+  }
+}
@@ -21,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,6 +32,7 @@ import com.epam.digital.data.platform.kafkaapi.core.exception.SqlErrorException;
 import com.epam.digital.data.platform.kafkaapi.core.model.FieldsAccessCheckDto;
 import com.epam.digital.data.platform.kafkaapi.core.queryhandler.impl.QueryHandlerTestImpl;
 import com.epam.digital.data.platform.kafkaapi.core.service.AccessPermissionService;
+import com.epam.digital.data.platform.kafkaapi.core.service.EntityCache;
 import com.epam.digital.data.platform.kafkaapi.core.service.JwtInfoProvider;
 import com.epam.digital.data.platform.kafkaapi.core.tabledata.MockEntityTableDataProviderImpl;
 import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
@@ -61,6 +63,8 @@ class QueryHandlerTest {
   private JwtInfoProvider jwtInfoProvider;
   @MockBean
   private MockEntityTableDataProviderImpl tableDataProvider;
+  @MockBean
+  private EntityCache entityCache;
 
   @Autowired
   private QueryHandlerTestImpl queryHandler;
@@ -112,6 +116,53 @@ class QueryHandlerTest {
     assertThrows(SqlErrorException.class, () -> queryHandler.findById(input));
   }
 
+  @Test
+  void expectCachedEntityReturnedAfterAccessCheck() {
+    var cachedEntity = new MockEntity();
+    when(jwtInfoProvider.getUserClaims(any())).thenReturn(new JwtClaimsDto());
+    when(accessPermissionService.hasReadAccess(any(), any())).thenReturn(true);
+    when(tableDataProvider.tableName()).thenReturn("table");
+    when(tableDataProvider.isCacheable()).thenReturn(true);
+    when(entityCache.isEnabled()).thenReturn(true);
+    when(entityCache.get(eq("table"), eq(TestDataProvider.ENTITY_ID), any(), eq(MockEntity.class)))
+        .thenReturn(Optional.of(cachedEntity));
+
+    var actual = queryHandler.findById(getMockRequest(TestDataProvider.ENTITY_ID));
+
+    assertThat(actual).containsSame(cachedEntity);
+    verify(accessPermissionService).hasReadAccess(any(), any());
+  }
+
+  @Test
+  void expectCachedEntityNotReturnedWithoutAccess() {
+    when(jwtInfoProvider.getUserClaims(any())).thenReturn(new JwtClaimsDto());
+    when(accessPermissionService.hasReadAccess(any(), any())).thenReturn(false);
+    when(tableDataProvider.isCacheable()).thenReturn(true);
+    when(entityCache.isEnabled()).thenReturn(true);
+    Request<UUID> input = getMockRequest(TestDataProvider.ENTITY_ID);
+
+    assertThrows(ForbiddenOperationException.class, () -> queryHandler.findById(input));
+    verify(entityCache, never()).get(any(), any(), any(), any());
+  }
+
+  @Test
+  void expectEntityReadFromDatabaseStoredInCache() {
+    when(jwtInfoProvider.getUserClaims(any())).thenReturn(new JwtClaimsDto());
+    when(accessPermissionService.hasReadAccess(any(), any())).thenReturn(true);
+    when(tableDataProvider.tableName()).thenReturn("table");
+    when(tableDataProvider.pkColumnName()).thenReturn("consent_id");
+    when(tableDataProvider.isCacheable()).thenReturn(true);
+    when(entityCache.isEnabled()).thenReturn(true);
+    when(entityCache.get(any(), any(), any(), any())).thenReturn(Optional.empty());
+    when(entityCache.version("table")).thenReturn(7L);
+
+    var actual = queryHandler.findById(getMockRequest(TestDataProvider.ENTITY_ID));
+
+    assertThat(actual).isPresent();
+    verify(entityCache).put(eq("table"), eq(TestDataProvider.ENTITY_ID), any(),
+        eq(actual.get()), eq(7L));
+  }
+
   private <T> Request<T> getMockRequest(T payload) {
     Request<T> input = new Request<>();
     input.setPayload(payload);
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.searchhandler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.epam.digital.data.platform.kafkaapi.core.util.ContinuationTokenUtils;
+import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
+import com.epam.digital.data.platform.kafkaapi.core.util.MockEntityContains;
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.SelectFieldOrAsterisk;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockExecuteContext;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class KeysetSearchTest {
+
+  private static final Field<String> NAME = DSL.field("person_full_name", String.class);
+  private static final Field<UUID> ID = DSL.field("consent_id", UUID.class);
+  private static final Field<?>[] FIELDS = {NAME, ID};
+
+  private final List<MockExecuteContext> executed = new ArrayList<>();
+  private Result<Record> rows;
+
+  private KeysetSearchHandler handler;
+  private KeysetSearch<MockEntityContains, MockEntity> keysetSearch;
+
+  @BeforeEach
+  void init() {
+    handler = new KeysetSearchHandler();
+    handler.context = DSL.using(new MockConnection(ctx -> {
+      executed.add(ctx);
+      return new MockResult[] {new MockResult(rows.size(), rows)};
+    }), SQLDialect.POSTGRES);
+    handler.limit = 2;
+    keysetSearch = new KeysetSearch<>(handler);
+  }
+
+  @Test
+  void expectFirstPageReadWithRowPastPage() {
+    rows = rows(1, 2, 3);
+
+    var page = keysetSearch.search(new Request<>());
+
+    assertThat(page.getContent()).extracting(MockEntity::getPersonFullName)
+        .containsExactly("Roman 1", "Roman 2");
+    assertThat(ContinuationTokenUtils.decode(page.getContinuationToken(), 2))
+        .containsExactly("Roman 2", id(2).toString());
+    var query = executed.get(0);
+    assertThat(query.sql()).containsIgnoringCase("order by person_full_name, consent_id");
+    assertThat(query.bindings()).contains(3);
+  }
+
+  @Test
+  void expectNextPageSoughtPastToken() {
+    rows = rows(3, 4, 5);
+    handler.continuationToken = ContinuationTokenUtils.encode(List.of("Roman 2", id(2)));
+
+    var page = keysetSearch.search(new Request<>());
+
+    assertThat(page.getContent()).extracting(MockEntity::getConsentId)
+        .containsExactly(id(3), id(4));
+    assertThat(ContinuationTokenUtils.decode(page.getContinuationToken(), 2))
+        .containsExactly("Roman 4", id(4).toString());
+    var query = executed.get(0);
+    assertThat(query.sql()).containsIgnoringCase("cast(? as uuid)");
+    assertThat(query.bindings()).contains("Roman 2", id(2).toString(), 3);
+  }
+
+  @Test
+  void expectNoTokenOnLastPage() {
+    rows = rows(5);
+    handler.continuationToken = ContinuationTokenUtils.encode(List.of("Roman 4", id(4)));
+
+    var page = keysetSearch.search(new Request<>());
+
+    assertThat(page.getContent()).extracting(MockEntity::getConsentId).containsExactly(id(5));
+    assertThat(page.getContinuationToken()).isNull();
+  }
+
+  @Test
+  void expectNoTokenWhenPageIsFull() {
+    rows = rows(1, 2);
+
+    var page = keysetSearch.search(new Request<>());
+
+    assertThat(page.getContent()).hasSize(2);
+    assertThat(page.getContinuationToken()).isNull();
+  }
+
+  @Test
+  void expectNullKeyValueRejected() {
+    rows = rows(1, 2, 3);
+    rows.get(1).set(NAME, null);
+
+    var e = assertThrows(IllegalStateException.class,
+        () -> keysetSearch.search(new Request<>()));
+
+    assertThat(e.getMessage()).contains("person_full_name");
+  }
+
+  private Result<Record> rows(int... numbers) {
+    var context = DSL.using(SQLDialect.POSTGRES);
+    var result = context.newResult(FIELDS);
+    for (int number : numbers) {
+      var row = context.newRecord(NAME, ID);
+      row.set(NAME, "Roman " + number);
+      row.set(ID, id(number));
+      result.add(row);
+    }
+    return result;
+  }
+
+  private static UUID id(int number) {
+    return new UUID(0, number);
+  }
+
+  private static class KeysetSearchHandler
+      extends AbstractSearchHandler<MockEntityContains, MockEntity> {
+
+    private Integer limit;
+    private String continuationToken;
+
+    @Override
+    protected List<Field<?>> keysetFields() {
+      return List.of(NAME, ID);
+    }
+
+    @Override
+    protected String continuationToken(MockEntityContains searchCriteria) {
+      return continuationToken;
+    }
+
+    @Override
+    protected Integer limit(MockEntityContains searchCriteria) {
+      return limit;
+    }
+
+    @Override
+    protected Condition whereClause(MockEntityContains searchCriteria) {
+      return DSL.noCondition();
+    }
+
+    @Override
+    protected String tableName() {
+      return "consent";
+    }
+
+    @Override
+    protected Class<MockEntity> entityType() {
+      return MockEntity.class;
+    }
+
+    @Override
+    protected List<SelectFieldOrAsterisk> selectFields() {
+      return List.of(NAME, ID);
+    }
+  }
+}
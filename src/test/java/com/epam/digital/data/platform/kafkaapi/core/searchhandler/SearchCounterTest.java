@@ -0,0 +1,250 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.searchhandler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
+import com.epam.digital.data.platform.kafkaapi.core.util.MockEntityContains;
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.SelectFieldOrAsterisk;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockExecuteContext;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SearchCounterTest {
+
+  private static final Field<String> NAME = DSL.field("person_full_name", String.class);
+  private static final Field<UUID> ID = DSL.field("consent_id", UUID.class);
+  private static final Field<Integer> TOTAL_COUNT = DSL.field("total_count", Integer.class);
+  private static final int TOTAL = 7;
+
+  private final DSLContext resultContext = DSL.using(SQLDialect.POSTGRES);
+  private final List<String> executed = new ArrayList<>();
+  private Result<Record> rows;
+
+  private PagedSearchHandler handler;
+
+  @BeforeEach
+  void init() {
+    handler = new PagedSearchHandler();
+    handler.context = DSL.using(new MockConnection(this::execute), SQLDialect.POSTGRES);
+  }
+
+  @Test
+  void expectSeparateCountAfterContent() {
+    handler.countStrategy = CountStrategy.SEPARATE;
+    rows = rows(false, 1, 2);
+
+    var page = handler.search(new Request<>());
+
+    assertThat(page.getContent()).extracting(MockEntity::getPersonFullName)
+        .containsExactly("Roman 1", "Roman 2");
+    assertThat(page.getTotalElements()).isEqualTo(TOTAL);
+    assertThat(executed).hasSize(2);
+    assertThat(executed.get(1)).startsWith("select count(*)");
+  }
+
+  @Test
+  void expectSeparateCountStartedOnCountExecutorBeforeContent() {
+    handler.countStrategy = CountStrategy.SEPARATE;
+    Executor countExecutor = Runnable::run;
+    ReflectionTestUtils.setField(handler, "parallelCount", true);
+    ReflectionTestUtils.setField(handler, "countExecutor", countExecutor);
+    rows = rows(false, 1, 2);
+
+    var page = handler.search(new Request<>());
+
+    assertThat(page.getContent()).hasSize(2);
+    assertThat(page.getTotalElements()).isEqualTo(TOTAL);
+    assertThat(executed).hasSize(2);
+    assertThat(executed.get(0)).startsWith("select count(*)");
+  }
+
+  @Test
+  void expectWindowCountReadWithContent() {
+    handler.countStrategy = CountStrategy.WINDOW;
+    rows = rows(true, 1, 2);
+
+    var page = handler.search(new Request<>());
+
+    assertThat(page.getContent()).extracting(MockEntity::getConsentId)
+        .containsExactly(id(1), id(2));
+    assertThat(page.getTotalElements()).isEqualTo(TOTAL);
+    assertThat(executed).hasSize(1);
+    assertThat(executed.get(0)).contains("count(*) over ()");
+  }
+
+  @Test
+  void expectNoRowsCountedForEmptyFirstPageByWindow() {
+    handler.countStrategy = CountStrategy.WINDOW;
+    rows = rows(true);
+
+    var page = handler.search(new Request<>());
+
+    assertThat(page.getContent()).isEmpty();
+    assertThat(page.getTotalElements()).isZero();
+    assertThat(executed).hasSize(1);
+  }
+
+  @Test
+  void expectSeparateCountForPagePastLastRowByWindow() {
+    handler.countStrategy = CountStrategy.WINDOW;
+    handler.offset = 10;
+    rows = rows(true);
+
+    var page = handler.search(new Request<>());
+
+    assertThat(page.getContent()).isEmpty();
+    assertThat(page.getTotalElements()).isEqualTo(TOTAL);
+    assertThat(executed).hasSize(2);
+    assertThat(executed.get(1)).startsWith("select count(*)");
+  }
+
+  @Test
+  void expectPlannerEstimateCount() {
+    handler.countStrategy = CountStrategy.ESTIMATE;
+    rows = rows(false, 1, 2);
+
+    var page = handler.search(new Request<>());
+
+    assertThat(page.getContent()).hasSize(2);
+    assertThat(page.getTotalElements()).isEqualTo(42);
+    assertThat(executed).hasSize(2);
+    assertThat(executed.get(1)).startsWith("explain");
+    assertThat(executed).noneMatch(sql -> sql.startsWith("select count(*)"));
+  }
+
+  @Test
+  void expectEntityMapperCreatedOncePerHandler() {
+    var entityMapper = handler.entityMapper(handler.selectFields());
+
+    assertThat(handler.entityMapper(handler.selectFields())).isSameAs(entityMapper);
+    assertThat(handler.entityMapper(List.of(DSL.asterisk()))).isNotSameAs(entityMapper)
+        .isSameAs(handler.entityMapper(List.of(DSL.asterisk())));
+  }
+
+  private MockResult[] execute(MockExecuteContext ctx) {
+    var sql = ctx.sql();
+    executed.add(sql);
+    Result<?> result;
+    if (sql.startsWith("explain")) {
+      result = plan("Seq Scan on consent  (cost=0.00..35.50 rows=42 width=4)");
+    } else if (sql.startsWith("select count(*)")) {
+      var countField = DSL.count();
+      var count = resultContext.newRecord(countField);
+      count.set(countField, TOTAL);
+      var countResult = resultContext.newResult(countField);
+      countResult.add(count);
+      result = countResult;
+    } else {
+      result = rows;
+    }
+    return new MockResult[] {new MockResult(result.size(), result)};
+  }
+
+  private Result<?> plan(String line) {
+    var planField = DSL.field("QUERY PLAN", String.class);
+    var planRow = resultContext.newRecord(planField);
+    planRow.set(planField, line);
+    var plan = resultContext.newResult(planField);
+    plan.add(planRow);
+    return plan;
+  }
+
+  private Result<Record> rows(boolean withTotalCount, int... numbers) {
+    var fields = withTotalCount
+        ? new Field<?>[] {NAME, ID, TOTAL_COUNT}
+        : new Field<?>[] {NAME, ID};
+    var result = resultContext.newResult(fields);
+    for (int number : numbers) {
+      var row = resultContext.newRecord(fields);
+      row.set(NAME, "Roman " + number);
+      row.set(ID, id(number));
+      if (withTotalCount) {
+        row.set(TOTAL_COUNT, TOTAL);
+      }
+      result.add(row);
+    }
+    return result;
+  }
+
+  private static UUID id(int number) {
+    return new UUID(0, number);
+  }
+
+  private static class PagedSearchHandler
+      extends AbstractSearchHandler<MockEntityContains, MockEntity> {
+
+    private CountStrategy countStrategy;
+    private Integer offset;
+
+    @Override
+    protected boolean isPaged() {
+      return true;
+    }
+
+    @Override
+    protected CountStrategy countStrategy() {
+      return countStrategy;
+    }
+
+    @Override
+    protected Integer limit(MockEntityContains searchCriteria) {
+      return 2;
+    }
+
+    @Override
+    protected Integer offset(MockEntityContains searchCriteria) {
+      return offset;
+    }
+
+    @Override
+    protected Condition whereClause(MockEntityContains searchCriteria) {
+      return DSL.noCondition();
+    }
+
+    @Override
+    protected String tableName() {
+      return "consent";
+    }
+
+    @Override
+    protected Class<MockEntity> entityType() {
+      return MockEntity.class;
+    }
+
+    @Override
+    protected List<SelectFieldOrAsterisk> selectFields() {
+      return List.of(NAME, ID);
+    }
+  }
+}
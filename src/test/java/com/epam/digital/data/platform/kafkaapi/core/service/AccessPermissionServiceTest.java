@@ -19,10 +19,12 @@ package com.epam.digital.data.platform.kafkaapi.core.service;
 import com.epam.digital.data.platform.kafkaapi.core.config.JooqTestConfig;
 import com.epam.digital.data.platform.kafkaapi.core.exception.ForbiddenOperationException;
 import com.epam.digital.data.platform.kafkaapi.core.model.FieldsAccessCheckDto;
-import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
 import com.epam.digital.data.platform.model.core.kafka.Status;
 import com.epam.digital.data.platform.starter.security.dto.JwtClaimsDto;
 import com.epam.digital.data.platform.starter.security.dto.RolesDto;
+import org.jooq.Condition;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -32,125 +34,191 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 
 import javax.sql.DataSource;
 import java.sql.Array;
-import java.sql.CallableStatement;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Optional;
 
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest(classes = {AccessPermissionService.class, JooqTestConfig.class})
 class AccessPermissionServiceTest {
 
   private static final String TABLE_NAME = "table";
+  private static final String OTHER_TABLE_NAME = "other_table";
   private static final List<String> ROLES = singletonList("role");
+  private static final List<String> FIELDS =
+      List.of(
+          "consent_id",
+          "consent_date",
+          "person_full_name",
+          "person_pass_number",
+          "passport_scan_copy");
 
   @Autowired
   private AccessPermissionService accessPermissionService;
 
   @MockBean
   private DataSource dataSource;
+  @MockBean
+  private PermissionDecisionCache permissionDecisionCache;
 
   @Mock
   private Connection connection;
   @Mock
-  private CallableStatement callableStatement;
+  private PreparedStatement statement;
   @Mock
   private Array rolesDbArray;
   @Mock
-  private Array requestedFieldsDbArray;
+  private Array tableNamesDbArray;
+  @Mock
+  private Array tableFieldsDbArray;
   @Mock
   private ResultSet resultSet;
 
   @BeforeEach
   void beforeEach() throws SQLException {
     when(dataSource.getConnection()).thenReturn(connection);
-    when(connection.prepareCall(any())).thenReturn(callableStatement);
+    when(connection.prepareStatement(any())).thenReturn(statement);
   }
 
   @Test
   void expectHasAccessIfReturnedFromDb() throws SQLException {
-    when(connection.createArrayOf("text", ROLES.toArray()))
-            .thenReturn(rolesDbArray);
-    when(connection.createArrayOf(
-            "text",
-            new String[] {
-              "consent_id",
-              "consent_date",
-              "person_full_name",
-              "person_pass_number",
-              "passport_scan_copy"
-            }))
-        .thenReturn(requestedFieldsDbArray);
-    when(callableStatement.executeQuery()).thenReturn(resultSet);
+    when(connection.createArrayOf("text", ROLES.toArray())).thenReturn(rolesDbArray);
+    when(connection.createArrayOf("text", new String[] {TABLE_NAME}))
+        .thenReturn(tableNamesDbArray);
+    when(connection.createArrayOf("text", new String[] {String.join(",", FIELDS)}))
+        .thenReturn(tableFieldsDbArray);
+    when(statement.executeQuery()).thenReturn(resultSet);
     when(resultSet.next()).thenReturn(true);
     when(resultSet.getBoolean(1)).thenReturn(true);
     JwtClaimsDto userClaims = getMockedClaims();
 
+    boolean actual =
+        accessPermissionService.hasReadAccess(
+            List.of(new FieldsAccessCheckDto(TABLE_NAME, FIELDS)), userClaims);
+
+    assertThat(actual).isTrue();
+
+    verify(statement).setArray(1, rolesDbArray);
+    verify(statement).setString(2, "S");
+    verify(statement).setString(3, ",");
+    verify(statement).setArray(4, tableNamesDbArray);
+    verify(statement).setArray(5, tableFieldsDbArray);
+    verify(connection).close();
+    verify(permissionDecisionCache)
+        .put(eq(TABLE_NAME), eq(ROLES), eq(FIELDS), eq(true), anyLong());
+  }
+
+  @Test
+  void expectAllTablesCheckedInSingleStatement() throws SQLException {
+    when(statement.executeQuery()).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getBoolean(1)).thenReturn(true);
+
     boolean actual =
         accessPermissionService.hasReadAccess(
             List.of(
-                new FieldsAccessCheckDto(
-                    TABLE_NAME,
-                    List.of(
-                        "consent_id",
-                        "consent_date",
-                        "person_full_name",
-                        "person_pass_number",
-                        "passport_scan_copy"))),
-            userClaims);
+                new FieldsAccessCheckDto(TABLE_NAME, FIELDS),
+                new FieldsAccessCheckDto(OTHER_TABLE_NAME, List.of("id", "name"))),
+            getMockedClaims());
 
     assertThat(actual).isTrue();
+    verify(statement).executeQuery();
+    verify(connection)
+        .createArrayOf("text", new String[] {TABLE_NAME, OTHER_TABLE_NAME});
+    verify(connection)
+        .createArrayOf("text", new String[] {String.join(",", FIELDS), "id,name"});
+    verify(permissionDecisionCache, times(2))
+        .put(any(), eq(ROLES), any(), eq(true), anyLong());
+  }
+
+  @Test
+  void expectNoDecisionCachedIfSeveralTablesDenied() throws SQLException {
+    when(statement.executeQuery()).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getBoolean(1)).thenReturn(false);
+
+    boolean actual =
+        accessPermissionService.hasReadAccess(
+            List.of(
+                new FieldsAccessCheckDto(TABLE_NAME, FIELDS),
+                new FieldsAccessCheckDto(OTHER_TABLE_NAME, List.of("id"))),
+            getMockedClaims());
+
+    assertThat(actual).isFalse();
+    verify(permissionDecisionCache, never())
+        .put(any(), any(), any(), anyBoolean(), anyLong());
+  }
+
+  @Test
+  void expectOnlyNotCachedTablesChecked() throws SQLException {
+    when(permissionDecisionCache.get(TABLE_NAME, ROLES, FIELDS)).thenReturn(Optional.of(true));
+    when(statement.executeQuery()).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getBoolean(1)).thenReturn(true);
+
+    accessPermissionService.hasReadAccess(
+        List.of(
+            new FieldsAccessCheckDto(TABLE_NAME, FIELDS),
+            new FieldsAccessCheckDto(OTHER_TABLE_NAME, List.of("id"))),
+        getMockedClaims());
 
-    verify(callableStatement).setString(1, TABLE_NAME);
-    verify(callableStatement).setArray(2, rolesDbArray);
-    verify(callableStatement).setString(3, "S");
-    verify(callableStatement).setArray(4, requestedFieldsDbArray);
+    verify(connection).createArrayOf("text", new String[] {OTHER_TABLE_NAME});
   }
 
   @Test
   void expectNoAccessIfNoResultSetInResponse() throws SQLException {
-    when(connection.createArrayOf("text", ROLES.toArray()))
-            .thenReturn(rolesDbArray);
-    when(connection.createArrayOf(
-            "text",
-            new String[] {
-              "consent_id",
-              "consent_date",
-              "person_full_name",
-              "person_pass_number",
-              "passport_scan_copy"
-            }))
-        .thenReturn(requestedFieldsDbArray);
-    when(callableStatement.executeQuery()).thenReturn(resultSet);
+    when(statement.executeQuery()).thenReturn(resultSet);
     when(resultSet.next()).thenReturn(false);
     JwtClaimsDto userClaims = getMockedClaims();
 
     boolean actual =
         accessPermissionService.hasReadAccess(
-            List.of(
-                new FieldsAccessCheckDto(
-                    TABLE_NAME,
-                    List.of(
-                        "consent_id",
-                        "consent_date",
-                        "person_full_name",
-                        "person_pass_number",
-                        "passport_scan_copy"))),
-            userClaims);
+            List.of(new FieldsAccessCheckDto(TABLE_NAME, FIELDS)), userClaims);
 
     assertThat(actual).isFalse();
   }
 
+  @Test
+  void expectCachedDecisionUsedWithoutDbCall() {
+    when(permissionDecisionCache.get(TABLE_NAME, ROLES, List.of("consent_id")))
+        .thenReturn(Optional.of(true));
+    when(permissionDecisionCache.get(OTHER_TABLE_NAME, ROLES, List.of("consent_id")))
+        .thenReturn(Optional.of(false));
+
+    boolean firstTableAccess =
+        accessPermissionService.hasReadAccess(
+            List.of(new FieldsAccessCheckDto(TABLE_NAME, List.of("consent_id"))),
+            getMockedClaims());
+    boolean otherTableAccess =
+        accessPermissionService.hasReadAccess(
+            List.of(
+                new FieldsAccessCheckDto(TABLE_NAME, List.of("consent_id")),
+                new FieldsAccessCheckDto(OTHER_TABLE_NAME, List.of("consent_id"))),
+            getMockedClaims());
+
+    assertThat(firstTableAccess).isTrue();
+    assertThat(otherTableAccess).isFalse();
+    verifyNoInteractions(dataSource);
+  }
+
   @Test
   void expectCustomExceptionWhenSqlExceptionResolved() throws SQLException {
-    when(callableStatement.executeQuery()).thenThrow(new SQLException("", "20003"));
+    when(statement.executeQuery()).thenThrow(new SQLException("", "20003"));
     JwtClaimsDto userClaims = getMockedClaims();
 
     ForbiddenOperationException e =
@@ -158,19 +226,48 @@ class AccessPermissionServiceTest {
             ForbiddenOperationException.class,
             () ->
                 accessPermissionService.hasReadAccess(
-                    List.of(
-                        new FieldsAccessCheckDto(
-                            TABLE_NAME,
-                            List.of(
-                                "consent_id",
-                                "consent_date",
-                                "person_full_name",
-                                "person_pass_number",
-                                "passport_scan_copy"))),
-                    userClaims));
+                    List.of(new FieldsAccessCheckDto(TABLE_NAME, FIELDS)), userClaims));
 
     assertThat(e.getKafkaResponseStatus()).isEqualTo(Status.FORBIDDEN_OPERATION);
     assertThat(e.getDetails()).isNull();
+    verify(connection).close();
+  }
+
+  @Test
+  void expectInlineConditionCheckingNotCachedTables() {
+    when(permissionDecisionCache.get(TABLE_NAME, ROLES, FIELDS)).thenReturn(Optional.of(true));
+
+    Condition actual =
+        accessPermissionService.readAccessCondition(
+            List.of(
+                new FieldsAccessCheckDto(TABLE_NAME, FIELDS),
+                new FieldsAccessCheckDto(OTHER_TABLE_NAME, List.of("id"))),
+            getMockedClaims());
+
+    String sql = DSL.using(SQLDialect.POSTGRES).renderInlined(actual);
+    assertThat(sql).contains("f_check_permissions").contains(OTHER_TABLE_NAME)
+        .doesNotContain("'" + TABLE_NAME + "'");
+    verifyNoInteractions(dataSource);
+  }
+
+  @Test
+  void expectInlineConditionFromCachedDecisions() {
+    when(permissionDecisionCache.get(TABLE_NAME, ROLES, FIELDS)).thenReturn(Optional.of(true));
+    when(permissionDecisionCache.get(OTHER_TABLE_NAME, ROLES, FIELDS))
+        .thenReturn(Optional.of(false));
+
+    Condition granted =
+        accessPermissionService.readAccessCondition(
+            List.of(new FieldsAccessCheckDto(TABLE_NAME, FIELDS)), getMockedClaims());
+    Condition denied =
+        accessPermissionService.readAccessCondition(
+            List.of(
+                new FieldsAccessCheckDto(TABLE_NAME, FIELDS),
+                new FieldsAccessCheckDto(OTHER_TABLE_NAME, FIELDS)),
+            getMockedClaims());
+
+    assertThat(granted).isEqualTo(DSL.trueCondition());
+    assertThat(denied).isEqualTo(DSL.falseCondition());
   }
 
   private JwtClaimsDto getMockedClaims() {
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.dso.api.dto.VerificationRequestDto;
+import com.epam.digital.data.platform.dso.api.dto.VerificationResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Response;
+import feign.codec.ErrorDecoder;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncDigitalSealClientTest {
+
+  private static final URI VERIFY_URI =
+      URI.create("http://digital-signature-ops/api/esignature/verify");
+  private static final String METHOD_KEY = "DigitalSealRestClient#verify(VerificationRequestDto)";
+
+  @Mock
+  private HttpClient httpClient;
+  @Mock
+  private HttpResponse<byte[]> httpResponse;
+  @Mock
+  private ErrorDecoder errorDecoder;
+  @Captor
+  private ArgumentCaptor<HttpRequest> requestCaptor;
+  @Captor
+  private ArgumentCaptor<Response> responseCaptor;
+
+  private AsyncDigitalSealClient asyncDigitalSealClient;
+
+  @BeforeEach
+  void beforeEach() {
+    asyncDigitalSealClient = new AsyncDigitalSealClient(httpClient, VERIFY_URI,
+        Duration.ofSeconds(1), new ObjectMapper(), errorDecoder, METHOD_KEY,
+        List.of(template -> template.header("X-B3-TraceId", "trace"),
+            template -> template.header("X-Access-Token", "token")));
+    when(httpClient.sendAsync(requestCaptor.capture(), ArgumentMatchers.<BodyHandler<byte[]>>any()))
+        .thenReturn(CompletableFuture.completedFuture(httpResponse));
+  }
+
+  @Test
+  void expectInterceptorHeadersSentWithRequest() throws JsonProcessingException {
+    when(httpResponse.statusCode()).thenReturn(200);
+    when(httpResponse.body()).thenReturn(
+        new ObjectMapper().writeValueAsBytes(new VerificationResponseDto(true, null)));
+
+    var response =
+        asyncDigitalSealClient.verify(new VerificationRequestDto("signature", "data")).join();
+
+    assertThat(response.isValid()).isTrue();
+
+    var headers = requestCaptor.getValue().headers();
+    assertThat(headers.firstValue("X-B3-TraceId")).contains("trace");
+    assertThat(headers.firstValue("X-Access-Token")).contains("token");
+    assertThat(headers.firstValue("Content-Type")).contains("application/json");
+    assertThat(requestCaptor.getValue().uri()).isEqualTo(VERIFY_URI);
+  }
+
+  @Test
+  void expectErrorResponseDecodedWithInterceptedRequest() {
+    var decoded = new IllegalStateException("bad request");
+    when(httpResponse.statusCode()).thenReturn(400);
+    when(httpResponse.body()).thenReturn(new byte[0]);
+    when(httpResponse.headers()).thenReturn(HttpHeaders.of(Map.of(), (name, value) -> true));
+    when(errorDecoder.decode(any(), responseCaptor.capture())).thenReturn(decoded);
+
+    var result = asyncDigitalSealClient.verify(new VerificationRequestDto("signature", "data"));
+
+    assertThatThrownBy(result::join)
+        .isInstanceOf(CompletionException.class)
+        .hasCause(decoded);
+    verify(errorDecoder).decode(any(), any());
+    assertThat(responseCaptor.getValue().status()).isEqualTo(400);
+    assertThat(responseCaptor.getValue().request().headers())
+        .containsEntry("X-B3-TraceId", List.of("trace"));
+  }
+}
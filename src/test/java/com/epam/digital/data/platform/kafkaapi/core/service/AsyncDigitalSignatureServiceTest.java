@@ -0,0 +1,133 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.dso.api.dto.VerificationResponseDto;
+import com.epam.digital.data.platform.integration.ceph.exception.CephCommunicationException;
+import com.epam.digital.data.platform.kafkaapi.core.exception.ExternalCommunicationException;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncDigitalSignatureServiceTest {
+
+  private static final String BUCKET = "bucket";
+  private static final String KEY = "datafactory-key";
+  private static final String SIGNATURE = "signature";
+  private static final String DATA = "{\"payload\":{}}";
+  private static final byte[] RAW_PAYLOAD = DATA.getBytes();
+
+  @Mock
+  private AsyncCephService asyncCephService;
+  @Mock
+  private HedgedCephReader cephReader;
+  @Mock
+  private AsyncDigitalSealClient asyncDigitalSealClient;
+  @Mock
+  private DigitalSignatureService digitalSignatureService;
+
+  private DigitalSealVerificationCache verificationCache;
+  private AsyncDigitalSignatureService asyncDigitalSignatureService;
+
+  @BeforeEach
+  void beforeEach() {
+    verificationCache = new DigitalSealVerificationCache(true, 100, Duration.ofMinutes(1),
+        new SimpleMeterRegistry());
+    asyncDigitalSignatureService = new AsyncDigitalSignatureService(asyncCephService, cephReader,
+        BUCKET,
+        asyncDigitalSealClient, digitalSignatureService, verificationCache, true);
+    when(digitalSignatureService.toData(null, RAW_PAYLOAD)).thenReturn(DATA);
+  }
+
+  @Test
+  void expectSealVerifiedAndCached() {
+    when(cephReader.getAsStringAsync(asyncCephService, BUCKET, KEY))
+        .thenReturn(CompletableFuture.completedFuture(Optional.of(SIGNATURE)));
+    when(asyncDigitalSealClient.verify(any()))
+        .thenReturn(CompletableFuture.completedFuture(new VerificationResponseDto(true, null)));
+
+    assertThat(asyncDigitalSignatureService.isSealValid(KEY, null, RAW_PAYLOAD).join()).isTrue();
+    assertThat(verificationCache.isVerified(KEY, DATA)).isTrue();
+  }
+
+  @Test
+  void expectCachedSealNotVerifiedAgain() {
+    verificationCache.markVerified(KEY, DATA);
+
+    assertThat(asyncDigitalSignatureService.isSealValid(KEY, null, RAW_PAYLOAD).join()).isTrue();
+    verifyNoInteractions(cephReader, asyncDigitalSealClient);
+  }
+
+  @Test
+  void expectDecodedClientExceptionHandledAsBlockingClientOne() {
+    var decoded = new IllegalStateException("invalid signature");
+    when(cephReader.getAsStringAsync(asyncCephService, BUCKET, KEY))
+        .thenReturn(CompletableFuture.completedFuture(Optional.of(SIGNATURE)));
+    when(asyncDigitalSealClient.verify(any()))
+        .thenReturn(CompletableFuture.failedFuture(new CompletionException(decoded)));
+    when(digitalSignatureService.handleVerificationFailure(decoded)).thenReturn(false);
+
+    assertThat(asyncDigitalSignatureService.isSealValid(KEY, null, RAW_PAYLOAD).join()).isFalse();
+    assertThat(verificationCache.isVerified(KEY, DATA)).isFalse();
+  }
+
+  @Test
+  void expectContractViolationWhenSignatureAbsent() {
+    when(cephReader.getAsStringAsync(asyncCephService, BUCKET, KEY))
+        .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+    var result = asyncDigitalSignatureService.isSealValid(KEY, null, RAW_PAYLOAD);
+
+    assertThat(result).failsWithin(Duration.ofSeconds(1))
+        .withThrowableOfType(Exception.class)
+        .havingCause()
+        .isInstanceOfSatisfying(ExternalCommunicationException.class,
+            e -> assertThat(e.getKafkaResponseStatus())
+                .isEqualTo(Status.INTERNAL_CONTRACT_VIOLATION));
+  }
+
+  @Test
+  void expectCephFailureMappedToThirdPartyServiceUnavailable() {
+    when(cephReader.getAsStringAsync(asyncCephService, BUCKET, KEY)).thenReturn(CompletableFuture.failedFuture(
+        new CompletionException(new CephCommunicationException("", new RuntimeException()))));
+
+    var result = asyncDigitalSignatureService.isSealValid(KEY, null, RAW_PAYLOAD);
+
+    assertThat(result).failsWithin(Duration.ofSeconds(1))
+        .withThrowableOfType(Exception.class)
+        .havingCause()
+        .isInstanceOfSatisfying(ExternalCommunicationException.class,
+            e -> assertThat(e.getKafkaResponseStatus())
+                .isEqualTo(Status.THIRD_PARTY_SERVICE_UNAVAILABLE));
+    verify(digitalSignatureService).validateKey(KEY);
+  }
+}
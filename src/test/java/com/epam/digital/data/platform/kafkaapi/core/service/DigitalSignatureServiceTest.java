@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +33,7 @@ import com.epam.digital.data.platform.dso.client.exception.InvalidSignatureExcep
 import com.epam.digital.data.platform.integration.ceph.exception.CephCommunicationException;
 import com.epam.digital.data.platform.integration.ceph.exception.MisconfigurationException;
 import com.epam.digital.data.platform.integration.ceph.service.CephService;
+import com.epam.digital.data.platform.kafkaapi.core.config.CephHedgingProperties;
 import com.epam.digital.data.platform.kafkaapi.core.config.JooqTestConfig;
 import com.epam.digital.data.platform.kafkaapi.core.exception.ExternalCommunicationException;
 import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
@@ -39,10 +41,15 @@ import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Status;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -59,20 +66,27 @@ class DigitalSignatureServiceTest {
   private static final String BUCKET = "bucket";
   private static final String SIGNATURE = "signature";
   private static final String KEY = "datafactory-key";
+  private static final Executor EXECUTOR = Executors.newFixedThreadPool(4);
   @Mock
   private CephService cephService;
   @Mock
   private DigitalSealRestClient digitalSealRestClient;
   @Autowired
   private ObjectMapper objectMapper;
+  private HedgedCephReader cephReader;
   private DigitalSignatureService digitalSignatureService;
+  private DigitalSealVerificationCache verificationCache;
   private Request<MockEntity> request;
 
   @BeforeEach
   void init() {
     when(cephService.getAsString(BUCKET, KEY)).thenReturn(Optional.of(SIGNATURE));
-    digitalSignatureService = new DigitalSignatureService(cephService, BUCKET,
-        digitalSealRestClient, objectMapper, true);
+    verificationCache = new DigitalSealVerificationCache(true, 100, Duration.ofMinutes(1),
+        new SimpleMeterRegistry());
+    cephReader = new HedgedCephReader(cephService, new CephHedgingProperties(), EXECUTOR,
+        new SimpleMeterRegistry());
+    digitalSignatureService = new DigitalSignatureService(cephReader, BUCKET,
+        digitalSealRestClient, objectMapper, verificationCache, true);
     request = new Request<>(getMockPayload(), null, null);
     when(digitalSealRestClient.verify(any()))
         .thenReturn(new VerificationResponseDto(true, null));
@@ -143,8 +157,8 @@ class DigitalSignatureServiceTest {
 
   @Test
   void shouldReturnTrueWhenValidationDisabled() {
-    digitalSignatureService = new DigitalSignatureService(cephService, BUCKET,
-        digitalSealRestClient, objectMapper, false);
+    digitalSignatureService = new DigitalSignatureService(cephReader, BUCKET,
+        digitalSealRestClient, objectMapper, verificationCache, false);
 
     var actual = digitalSignatureService.isSealValid(KEY, request);
 
@@ -153,13 +167,55 @@ class DigitalSignatureServiceTest {
 
   @Test
   void jsonProcessingExceptionChangedToIllegalStateException() {
-    digitalSignatureService = new DigitalSignatureService(cephService, BUCKET,
-        digitalSealRestClient, new ObjectMapper(), true);
+    digitalSignatureService = new DigitalSignatureService(cephReader, BUCKET,
+        digitalSealRestClient, new ObjectMapper(), verificationCache, true);
 
     assertThrows(IllegalStateException.class,
         () -> digitalSignatureService.isSealValid(KEY, request));
   }
 
+  @Test
+  void expectVerifiedSealTakenFromCacheOnRedelivery() {
+    assertThat(digitalSignatureService.isSealValid(KEY, request)).isTrue();
+    assertThat(digitalSignatureService.isSealValid(KEY, request)).isTrue();
+
+    verify(cephService, times(1)).getAsString(BUCKET, KEY);
+    verify(digitalSealRestClient, times(1)).verify(any());
+  }
+
+  @Test
+  void expectSealVerifiedAgainWhenContentChanged() {
+    digitalSignatureService.isSealValid(KEY, request);
+    request.getPayload().setPersonFullName("Changed name");
+    digitalSignatureService.isSealValid(KEY, request);
+
+    verify(digitalSealRestClient, times(2)).verify(any());
+  }
+
+  @Test
+  void expectInvalidSealNotCached() {
+    when(digitalSealRestClient.verify(any()))
+        .thenReturn(new VerificationResponseDto(false, null));
+
+    assertThat(digitalSignatureService.isSealValid(KEY, request)).isFalse();
+    assertThat(digitalSignatureService.isSealValid(KEY, request)).isFalse();
+
+    verify(cephService, times(2)).getAsString(BUCKET, KEY);
+    verify(digitalSealRestClient, times(2)).verify(any());
+  }
+
+  @Test
+  void expectRawPayloadVerifiedAsReceived() {
+    var rawPayload = "{\"payload\": {\"personFullName\": \"Full name\"}}";
+
+    digitalSignatureService.isSealValid(KEY, request, rawPayload.getBytes(StandardCharsets.UTF_8));
+
+    ArgumentCaptor<VerificationRequestDto> requestCaptor = ArgumentCaptor
+        .forClass(VerificationRequestDto.class);
+    verify(digitalSealRestClient).verify(requestCaptor.capture());
+    assertEquals(rawPayload, requestCaptor.getValue().getData());
+  }
+
   private MockEntity getMockPayload() {
     MockEntity mockEntity = new MockEntity();
     mockEntity.setConsentId(UUID.fromString("123e4567-e89b-12d3-a456-426655440000"));
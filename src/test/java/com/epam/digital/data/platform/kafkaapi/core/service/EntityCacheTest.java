@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EntityCacheTest {
+
+  private static final String TABLE = "table";
+  private static final String VARIANT = "variant";
+  private static final UUID ID = UUID.randomUUID();
+
+  @Mock
+  private DatabaseNotificationListener notificationListener;
+
+  private EntityCache entityCache;
+
+  @BeforeEach
+  void beforeEach() {
+    entityCache = new EntityCache(true, 100, Duration.ofMinutes(1), notificationListener,
+        new SimpleMeterRegistry());
+  }
+
+  @Test
+  void expectEntityCachedByTableIdAndVariant() {
+    entityCache.put(TABLE, ID, VARIANT, "entity", entityCache.version(TABLE));
+
+    assertThat(entityCache.get(TABLE, ID, VARIANT, String.class)).contains("entity");
+    assertThat(entityCache.get(TABLE, ID, "other", String.class)).isEmpty();
+    assertThat(entityCache.get(TABLE, UUID.randomUUID(), VARIANT, String.class)).isEmpty();
+  }
+
+  @Test
+  void expectEntityReadBeforeInvalidationNotCached() {
+    long version = entityCache.version(TABLE);
+    entityCache.invalidate(TABLE, ID.toString());
+
+    entityCache.put(TABLE, ID, VARIANT, "outdated", version);
+
+    assertThat(entityCache.get(TABLE, ID, VARIANT, String.class)).isEmpty();
+  }
+
+  @Test
+  void expectAllVariantsEvictedById() {
+    entityCache.put(TABLE, ID, VARIANT, "entity", entityCache.version(TABLE));
+    entityCache.put(TABLE, ID, "other", "entity", entityCache.version(TABLE));
+
+    entityCache.invalidate(TABLE, ID.toString());
+
+    assertThat(entityCache.get(TABLE, ID, VARIANT, String.class)).isEmpty();
+    assertThat(entityCache.get(TABLE, ID, "other", String.class)).isEmpty();
+  }
+
+  @Test
+  void expectOtherInstancesNotifiedOnlyForCacheableTables() {
+    entityCache.invalidateOnCommit(TABLE, ID.toString());
+    verifyNoInteractions(notificationListener);
+
+    entityCache.registerTable(TABLE);
+    entityCache.invalidateOnCommit(TABLE, ID.toString());
+    verify(notificationListener).notify(EntityCache.INVALIDATION_CHANNEL, TABLE + ":" + ID);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void expectEntityEvictedOnNotification() {
+    Consumer<String>[] onNotification = new Consumer[1];
+    doAnswer(invocation -> onNotification[0] = invocation.getArgument(1))
+        .when(notificationListener)
+        .subscribe(eq(EntityCache.INVALIDATION_CHANNEL), any(), any());
+    entityCache.postConstruct();
+    entityCache.put(TABLE, ID, VARIANT, "entity", entityCache.version(TABLE));
+
+    onNotification[0].accept(TABLE + ":" + ID);
+
+    assertThat(entityCache.get(TABLE, ID, VARIANT, String.class)).isEmpty();
+  }
+}
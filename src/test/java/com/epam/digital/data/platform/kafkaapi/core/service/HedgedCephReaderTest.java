@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.integration.ceph.exception.CephCommunicationException;
+import com.epam.digital.data.platform.integration.ceph.service.CephService;
+import com.epam.digital.data.platform.kafkaapi.core.config.CephHedgingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class HedgedCephReaderTest {
+
+  private static final String BUCKET = "bucket";
+  private static final String KEY = "datafactory-key";
+
+  @Mock
+  private CephService cephService;
+  @Mock
+  private AsyncCephService asyncCephService;
+
+  private ExecutorService executor;
+  private SimpleMeterRegistry meterRegistry;
+  private CephHedgingProperties properties;
+
+  @BeforeEach
+  void beforeEach() {
+    executor = Executors.newFixedThreadPool(4);
+    meterRegistry = new SimpleMeterRegistry();
+    properties = new CephHedgingProperties();
+    properties.setEnabled(true);
+    properties.setMaxDelay(Duration.ofMillis(10));
+  }
+
+  @AfterEach
+  void afterEach() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void expectCephReadDirectlyWhenHedgingDisabled() {
+    properties.setEnabled(false);
+    when(cephService.getAsString(BUCKET, KEY)).thenReturn(Optional.of("signature"));
+
+    var actual = newReader().getAsString(BUCKET, KEY);
+
+    assertThat(actual).contains("signature");
+    assertThat(meterRegistry.get(HedgedCephReader.HEDGE_SENT_COUNTER).counter().count())
+        .isZero();
+  }
+
+  @Test
+  void expectHedgedReadTakenWhenFirstReadIsSlow() {
+    var calls = new AtomicInteger();
+    when(cephService.getAsString(BUCKET, KEY)).thenAnswer(invocation -> {
+      if (calls.getAndIncrement() == 0) {
+        Thread.sleep(1000);
+        return Optional.of("slow");
+      }
+      return Optional.of("fast");
+    });
+
+    var actual = newReader().getAsString(BUCKET, KEY);
+
+    assertThat(actual).contains("fast");
+    verify(cephService, times(2)).getAsString(BUCKET, KEY);
+    assertThat(meterRegistry.get(HedgedCephReader.HEDGE_SENT_COUNTER).counter().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get(HedgedCephReader.HEDGE_WON_COUNTER).counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void expectNoHedgedReadWhenBudgetExhausted() {
+    properties.setBudgetBurst(0);
+    properties.setBudgetRatio(0);
+    when(cephService.getAsString(BUCKET, KEY)).thenAnswer(invocation -> {
+      Thread.sleep(100);
+      return Optional.of("slow");
+    });
+
+    var actual = newReader().getAsString(BUCKET, KEY);
+
+    assertThat(actual).contains("slow");
+    verify(cephService, times(1)).getAsString(BUCKET, KEY);
+    assertThat(meterRegistry.get(HedgedCephReader.HEDGE_REJECTED_COUNTER).counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void expectAsyncReadHedgedWhenFirstReadIsSlow() {
+    var slow = new CompletableFuture<Optional<String>>();
+    when(asyncCephService.getAsString(BUCKET, KEY))
+        .thenReturn(slow, CompletableFuture.completedFuture(Optional.of("fast")));
+
+    var actual = newReader().getAsStringAsync(asyncCephService, BUCKET, KEY);
+
+    assertThat(actual.join()).contains("fast");
+    verify(asyncCephService, times(2)).getAsString(BUCKET, KEY);
+    assertThat(meterRegistry.get(HedgedCephReader.HEDGE_WON_COUNTER).counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void expectCephExceptionRethrownAsIs() {
+    when(cephService.getAsString(BUCKET, KEY)).thenThrow(CephCommunicationException.class);
+
+    var reader = newReader();
+    assertThrows(CephCommunicationException.class, () -> reader.getAsString(BUCKET, KEY));
+  }
+
+  @Test
+  void expectPercentileOfRecentLatenciesUsed() {
+    var window = new HedgedCephReader.LatencyWindow(10);
+    assertThat(window.percentile(0.9)).isEmpty();
+
+    for (long latency = 1; latency <= 10; latency++) {
+      window.record(latency);
+    }
+
+    assertThat(window.percentile(0.9)).contains(9L);
+    assertThat(window.percentile(0.5)).contains(5L);
+  }
+
+  private HedgedCephReader newReader() {
+    return new HedgedCephReader(cephService, properties, executor, meterRegistry);
+  }
+}
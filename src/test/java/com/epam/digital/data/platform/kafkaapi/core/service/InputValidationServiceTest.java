@@ -1,11 +1,16 @@
 package com.epam.digital.data.platform.kafkaapi.core.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.Status;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,13 +27,16 @@ class InputValidationServiceTest {
   private DigitalSignatureService digitalSignatureService;
   @Mock
   private JwtValidationService jwtValidationService;
+  @Mock
+  private AsyncDigitalSignatureService asyncDigitalSignatureService;
 
   private InputValidationService inputValidationService;
 
   @BeforeEach
   void beforeEach() {
     inputValidationService =
-        new InputValidationService(digitalSignatureService, jwtValidationService);
+        new InputValidationService(digitalSignatureService, jwtValidationService,
+            Optional.empty(), Runnable::run, Duration.ofSeconds(1));
   }
 
   @Test
@@ -44,7 +52,7 @@ class InputValidationServiceTest {
   @Test
   void expectValidationWithSignatureInvalid() {
     when(jwtValidationService.isValid(REQUEST)).thenReturn(true);
-    when(digitalSignatureService.isSealValid(KEY, REQUEST)).thenReturn(false);
+    when(digitalSignatureService.isSealValid(KEY, REQUEST, null)).thenReturn(false);
 
     var actualResult = inputValidationService.validate(KEY, REQUEST);
 
@@ -52,14 +60,80 @@ class InputValidationServiceTest {
     assertThat(actualResult.getStatus()).isEqualTo(Status.INVALID_SIGNATURE);
   }
 
+  @Test
+  void expectValidationWithAccessForbidden() {
+    when(jwtValidationService.isValid(REQUEST)).thenReturn(true);
+    when(digitalSignatureService.isSealValid(KEY, REQUEST, null)).thenReturn(true);
+
+    var actualResult = inputValidationService.validate(KEY, REQUEST, null, () -> false);
+
+    assertThat(actualResult.isValid()).isFalse();
+    assertThat(actualResult.getStatus()).isEqualTo(Status.FORBIDDEN_OPERATION);
+  }
+
+  @Test
+  void expectNoSealOrAccessCheckForInvalidJwt() {
+    when(jwtValidationService.isValid(REQUEST)).thenReturn(false);
+    var accessChecked = new AtomicBoolean();
+
+    var actualResult = inputValidationService.validate(KEY, REQUEST, null,
+        () -> accessChecked.getAndSet(true));
+
+    assertThat(actualResult.getStatus()).isEqualTo(Status.JWT_INVALID);
+    assertThat(accessChecked).isFalse();
+    verifyNoInteractions(digitalSignatureService);
+  }
+
+  @Test
+  void expectSealStatusTakesPrecedenceOverAccessCheck() {
+    when(jwtValidationService.isValid(REQUEST)).thenReturn(true);
+    when(digitalSignatureService.isSealValid(KEY, REQUEST, null)).thenReturn(false);
+
+    var actualResult = inputValidationService.validate(KEY, REQUEST, null, () -> {
+      throw new IllegalStateException();
+    });
+
+    assertThat(actualResult.getStatus()).isEqualTo(Status.INVALID_SIGNATURE);
+  }
+
+  @Test
+  void expectAccessCheckedOnCallingThread() {
+    inputValidationService =
+        new InputValidationService(digitalSignatureService, jwtValidationService,
+            Optional.empty(), command -> new Thread(command).start(), Duration.ofSeconds(1));
+    when(jwtValidationService.isValid(REQUEST)).thenReturn(true);
+    when(digitalSignatureService.isSealValid(KEY, REQUEST, null)).thenReturn(true);
+    var callingThread = Thread.currentThread();
+
+    var actualResult = inputValidationService.validate(KEY, REQUEST, null,
+        () -> Thread.currentThread() == callingThread);
+
+    assertThat(actualResult.isValid()).isTrue();
+  }
+
   @Test
   void expectValidationWithoutErrors() {
     when(jwtValidationService.isValid(REQUEST)).thenReturn(true);
-    when(digitalSignatureService.isSealValid(KEY, REQUEST)).thenReturn(true);
+    when(digitalSignatureService.isSealValid(KEY, REQUEST, null)).thenReturn(true);
 
     var actualResult = inputValidationService.validate(KEY, REQUEST);
 
     assertThat(actualResult.isValid()).isTrue();
     assertThat(actualResult.getStatus()).isNull();
   }
+
+  @Test
+  void expectSealVerifiedAsynchronouslyWhenAsyncIoEnabled() {
+    inputValidationService =
+        new InputValidationService(digitalSignatureService, jwtValidationService,
+            Optional.of(asyncDigitalSignatureService), Runnable::run, Duration.ofSeconds(1));
+    when(jwtValidationService.isValid(REQUEST)).thenReturn(true);
+    when(asyncDigitalSignatureService.isSealValid(KEY, REQUEST, null))
+        .thenReturn(CompletableFuture.completedFuture(false));
+
+    var actualResult = inputValidationService.validate(KEY, REQUEST);
+
+    assertThat(actualResult.getStatus()).isEqualTo(Status.INVALID_SIGNATURE);
+    verifyNoInteractions(digitalSignatureService);
+  }
 }
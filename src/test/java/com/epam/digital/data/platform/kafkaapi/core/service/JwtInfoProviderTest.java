@@ -18,16 +18,13 @@ package com.epam.digital.data.platform.kafkaapi.core.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 import com.epam.digital.data.platform.kafkaapi.core.exception.JwtValidationException;
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.SecurityContext;
 import com.epam.digital.data.platform.starter.security.dto.JwtClaimsDto;
-import com.epam.digital.data.platform.starter.security.exception.JwtParsingException;
 import com.epam.digital.data.platform.starter.security.jwt.TokenParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JOSEObjectType;
 import com.nimbusds.jose.JWSAlgorithm;
@@ -38,26 +35,20 @@ import com.nimbusds.jose.jwk.ECKey;
 import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import java.io.IOException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.springframework.test.context.junit.jupiter.SpringExtension;
 
-@ExtendWith(SpringExtension.class)
 class JwtInfoProviderTest {
 
   private static final String DRFO_CLAIM_NAME = "drfo";
   private static final String DRFO_CLAIM_VALUE = "1";
 
-  @Mock
-  private TokenParser tokenParser;
-
   private JwtInfoProvider jwtInfoProvider;
 
   @BeforeEach
   void beforeEach() {
-    jwtInfoProvider = new JwtInfoProvider(tokenParser);
+    jwtInfoProvider = new JwtInfoProvider(new ObjectMapper());
   }
 
   @Test
@@ -66,19 +57,52 @@ class JwtInfoProviderTest {
         .claim(DRFO_CLAIM_NAME, DRFO_CLAIM_VALUE)
         .build();
     Request<Void> input = mockRequest(claims);
-    JwtClaimsDto jwtClaimsDto = new JwtClaimsDto();
-    when(tokenParser.parseClaims(any())).thenReturn(jwtClaimsDto);
 
     JwtClaimsDto actual = jwtInfoProvider.getUserClaims(input);
 
-    assertThat(actual).isEqualTo(jwtClaimsDto);
-    verify(tokenParser).parseClaims(input.getSecurityContext().getAccessToken());
+    assertThat(actual.getDrfo()).isEqualTo(DRFO_CLAIM_VALUE);
   }
 
   @Test
-  void expectJwtValidationExceptionIfParsingError() {
-    when(tokenParser.parseClaims(any())).thenThrow(new JwtParsingException(""));
+  void expectUserClaimsSameAsParsedFromToken() throws IOException {
+    var accessToken = new String(JwtInfoProviderTest.class
+        .getResourceAsStream("/accessToken.json").readAllBytes());
+    var input = new Request<Void>();
+    input.setSecurityContext(new SecurityContext(accessToken, null, null));
+
+    JwtClaimsDto actual = jwtInfoProvider.getUserClaims(input);
+
+    assertThat(actual).usingRecursiveComparison()
+        .isEqualTo(new TokenParser(new ObjectMapper()).parseClaims(accessToken));
+  }
+
+  @Test
+  void expectJwtParsedOncePerRequest() throws JOSEException {
+    Request<Void> input = mockRequest(new JWTClaimsSet.Builder().build());
 
+    var claimsSet = jwtInfoProvider.getClaimsSet(input);
+    var userClaims = jwtInfoProvider.getUserClaims(input);
+
+    assertThat(jwtInfoProvider.getClaimsSet(input)).isSameAs(claimsSet);
+    assertThat(jwtInfoProvider.getUserClaims(input)).isSameAs(userClaims);
+  }
+
+  @Test
+  void expectJwtParsedAgainWhenTokenChanged() throws JOSEException {
+    Request<Void> input = mockRequest(new JWTClaimsSet.Builder()
+        .claim(DRFO_CLAIM_NAME, DRFO_CLAIM_VALUE)
+        .build());
+
+    jwtInfoProvider.getUserClaims(input);
+    input.getSecurityContext().setAccessToken(mockJwt(new JWTClaimsSet.Builder()
+        .claim(DRFO_CLAIM_NAME, "2")
+        .build()));
+
+    assertThat(jwtInfoProvider.getUserClaims(input).getDrfo()).isEqualTo("2");
+  }
+
+  @Test
+  void expectJwtValidationExceptionIfParsingError() {
     assertThrows(JwtValidationException.class,
         () -> jwtInfoProvider.getUserClaims(new Request<>()));
   }
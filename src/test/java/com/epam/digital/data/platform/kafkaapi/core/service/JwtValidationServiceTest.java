@@ -28,6 +28,7 @@ import com.epam.digital.data.platform.kafkaapi.core.exception.JwtValidationExcep
 import com.epam.digital.data.platform.model.core.kafka.Request;
 import com.epam.digital.data.platform.model.core.kafka.SecurityContext;
 import com.epam.digital.data.platform.model.core.kafka.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JOSEObjectType;
 import com.nimbusds.jose.JWSAlgorithm;
@@ -35,14 +36,17 @@ import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.crypto.RSASSASigner;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.NoSuchAlgorithmException;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Collections;
 import java.util.Date;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -63,14 +67,22 @@ class JwtValidationServiceTest {
 
   private KeyPair jwtSigningKeyPair;
 
+  private JwtVerificationCache verificationCache;
+  private RealmKeyRefresher realmKeyRefresher;
+  private final JwtInfoProvider jwtInfoProvider =
+      new JwtInfoProvider(new ObjectMapper());
   private JwtValidationService jwtValidationService;
 
   @BeforeEach
   void beforeEach() throws NoSuchAlgorithmException {
     jwtSigningKeyPair = generateSigningKeyPair();
+    verificationCache = new JwtVerificationCache(true, 100, Duration.ofMinutes(1),
+        new SimpleMeterRegistry());
+    realmKeyRefresher = new RealmKeyRefresher(true, keycloakConfigProperties, publicIdmService,
+        verificationCache, Duration.ZERO, Duration.ZERO);
 
     jwtValidationService = new JwtValidationService(true, keycloakConfigProperties,
-        publicIdmService, clock);
+        realmKeyRefresher, jwtInfoProvider, verificationCache, clock, Duration.ofSeconds(1));
 
     when(keycloakConfigProperties.getRealms()).thenReturn(Collections.singletonList(REALM));
     when(clock.millis())
@@ -85,8 +97,7 @@ class JwtValidationServiceTest {
   @Test
   void expectOperationTokenVerifiedWhenProcessingDisabled() throws JOSEException {
     jwtValidationService = new JwtValidationService(false, keycloakConfigProperties,
-        publicIdmService, clock);
-    jwtValidationService.postConstruct();
+        realmKeyRefresher, jwtInfoProvider, verificationCache, clock, Duration.ofSeconds(1));
     Request<Void> input = mockRequest("", new Date());
 
     boolean actual = jwtValidationService.isValid(input);
@@ -96,9 +107,7 @@ class JwtValidationServiceTest {
 
   @Test
   void expectExceptionWhenOperationWithNoToken() {
-    jwtValidationService = new JwtValidationService(true, keycloakConfigProperties,
-        publicIdmService, clock);
-    jwtValidationService.postConstruct();
+    realmKeyRefresher.postConstruct();
     Request<Void> input = new Request<>();
 
     JwtValidationException e =
@@ -115,7 +124,7 @@ class JwtValidationServiceTest {
     Date tokenExp = Date.from(LocalDateTime.of(2021, 3, 1, 12, 0)
         .atZone(ZoneId.systemDefault()).toInstant());
     Request<Void> input = mockRequest("/" + REALM, tokenExp);
-    jwtValidationService.postConstruct();
+    realmKeyRefresher.postConstruct();
 
     boolean actual = jwtValidationService.isValid(input);
 
@@ -128,7 +137,7 @@ class JwtValidationServiceTest {
     Date tokenExp =
         Date.from(LocalDateTime.of(2021, 3, 1, 12, 0).atZone(ZoneId.systemDefault()).toInstant());
     Request<Void> input = mockRequest("/" + REALM, tokenExp);
-    jwtValidationService.postConstruct();
+    realmKeyRefresher.postConstruct();
 
     var actual = jwtValidationService.isValid(input);
 
@@ -141,7 +150,7 @@ class JwtValidationServiceTest {
     Date tokenExp = Date.from(LocalDateTime.of(2021, 3, 1, 12, 0)
         .atZone(ZoneId.systemDefault()).toInstant());
     Request<Void> input = mockRequest("/wrongRealm", tokenExp);
-    jwtValidationService.postConstruct();
+    realmKeyRefresher.postConstruct();
 
     JwtValidationException e = assertThrows(JwtValidationException.class,
         () -> jwtValidationService.isValid(input));
@@ -154,7 +163,7 @@ class JwtValidationServiceTest {
     Date tokenExp = Date.from(LocalDateTime.of(2021, 3, 1, 11, 45)
         .atZone(ZoneId.systemDefault()).toInstant());
     Request<Void> input = mockRequest("", tokenExp);
-    jwtValidationService.postConstruct();
+    realmKeyRefresher.postConstruct();
 
     JwtExpiredException e = assertThrows(JwtExpiredException.class,
         () -> jwtValidationService.isValid(input));
@@ -162,6 +171,58 @@ class JwtValidationServiceTest {
     assertThat(e.getDetails()).isNull();
   }
 
+  @Test
+  void expectCachedTokenStillCheckedForExpiration() throws JOSEException {
+    Date tokenExp =
+        Date.from(LocalDateTime.of(2021, 3, 1, 12, 0).atZone(ZoneId.systemDefault()).toInstant());
+    Request<Void> input = mockRequest("/" + REALM, tokenExp);
+    realmKeyRefresher.postConstruct();
+    assertThat(jwtValidationService.isValid(input)).isTrue();
+
+    when(clock.millis())
+        .thenReturn(LocalDateTime.of(2021, 3, 1, 12, 5)
+            .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+
+    assertThrows(JwtExpiredException.class, () -> jwtValidationService.isValid(input));
+  }
+
+  @Test
+  void expectCachedTokenEvictedWhenRealmKeyChanged()
+      throws JOSEException, NoSuchAlgorithmException {
+    Date tokenExp =
+        Date.from(LocalDateTime.of(2021, 3, 1, 12, 0).atZone(ZoneId.systemDefault()).toInstant());
+    Request<Void> input = mockRequest("/" + REALM, tokenExp);
+    realmKeyRefresher.postConstruct();
+    assertThat(jwtValidationService.isValid(input)).isTrue();
+
+    when(publicIdmService.getRealm(REALM)).thenReturn(PublishedIdmRealm.builder()
+        .publicKey(generateSigningKeyPair().getPublic()).build());
+    realmKeyRefresher.postConstruct();
+
+    assertThat(jwtValidationService.isValid(input)).isFalse();
+  }
+
+  @Test
+  void expectTokenVerifiedWithKeyRefreshedOnFailure()
+      throws JOSEException, NoSuchAlgorithmException {
+    var outdatedKeyPair = generateSigningKeyPair();
+    when(publicIdmService.getRealm(REALM)).thenReturn(PublishedIdmRealm.builder()
+        .publicKey(outdatedKeyPair.getPublic()).build());
+    realmKeyRefresher.postConstruct();
+    when(publicIdmService.getRealm(REALM)).thenReturn(PublishedIdmRealm.builder()
+        .publicKey(jwtSigningKeyPair.getPublic()).build());
+    Date tokenExp =
+        Date.from(LocalDateTime.of(2021, 3, 1, 12, 0).atZone(ZoneId.systemDefault()).toInstant());
+    Request<Void> input = mockRequest("/" + REALM, tokenExp);
+
+    assertThat(jwtValidationService.isValid(input)).isTrue();
+  }
+
+  @AfterEach
+  void afterEach() {
+    realmKeyRefresher.preDestroy();
+  }
+
   private Request<Void> mockRequest(String jwtIssuer, Date jwtExpirationTime) throws JOSEException {
     var request = new Request<Void>();
     var securityContext = new SecurityContext();
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PermissionDecisionCacheTest {
+
+  private static final String TABLE = "table";
+  private static final List<String> ROLES = List.of("officer", "citizen");
+  private static final List<String> FIELDS = List.of("id", "name");
+
+  @Mock
+  private DatabaseNotificationListener notificationListener;
+
+  private PermissionDecisionCache permissionDecisionCache;
+
+  @BeforeEach
+  void beforeEach() {
+    permissionDecisionCache = new PermissionDecisionCache(true, 100, Duration.ofMinutes(1),
+        notificationListener, new SimpleMeterRegistry());
+  }
+
+  @Test
+  void expectDecisionCachedBySortedRolesAndFields() {
+    permissionDecisionCache.put(TABLE, ROLES, FIELDS, true, permissionDecisionCache.version());
+
+    assertThat(permissionDecisionCache.get(TABLE, List.of("citizen", "officer"),
+        List.of("name", "id"))).contains(true);
+    assertThat(permissionDecisionCache.get(TABLE, List.of("citizen"), FIELDS)).isEmpty();
+    assertThat(permissionDecisionCache.get(TABLE, ROLES, List.of("id"))).isEmpty();
+    assertThat(permissionDecisionCache.get("other", ROLES, FIELDS)).isEmpty();
+  }
+
+  @Test
+  void expectDecisionReadBeforeInvalidationNotCached() {
+    long version = permissionDecisionCache.version();
+    permissionDecisionCache.invalidateAll();
+
+    permissionDecisionCache.put(TABLE, ROLES, FIELDS, true, version);
+
+    assertThat(permissionDecisionCache.get(TABLE, ROLES, FIELDS)).isEmpty();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void expectAllDecisionsEvictedOnNotification() {
+    Consumer<String>[] handler = new Consumer[1];
+    doAnswer(invocation -> {
+      handler[0] = invocation.getArgument(1);
+      return null;
+    }).when(notificationListener).subscribe(
+        eq(PermissionDecisionCache.INVALIDATION_CHANNEL), any(), any());
+    permissionDecisionCache.postConstruct();
+    permissionDecisionCache.put(TABLE, ROLES, FIELDS, false, permissionDecisionCache.version());
+
+    handler[0].accept("");
+
+    assertThat(permissionDecisionCache.get(TABLE, ROLES, FIELDS)).isEmpty();
+  }
+
+  @Test
+  void expectNothingCachedWhenDisabled() {
+    var disabledCache = new PermissionDecisionCache(false, 100, Duration.ofMinutes(1),
+        notificationListener, new SimpleMeterRegistry());
+    disabledCache.postConstruct();
+
+    disabledCache.put(TABLE, ROLES, FIELDS, true, disabledCache.version());
+
+    assertThat(disabledCache.get(TABLE, ROLES, FIELDS)).isEmpty();
+    verifyNoInteractions(notificationListener);
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.digital.data.platform.kafkaapi.core.util.JooqDataTypes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.ResultQuery;
+import org.jooq.SQLDialect;
+import org.jooq.SelectFieldOrAsterisk;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RenderedQueryCacheTest {
+
+  private static final String SHAPE = "handler|findById";
+  private static final List<SelectFieldOrAsterisk> FIELDS =
+      List.of(DSL.field("id"), DSL.field("scan_copy", JooqDataTypes.FILE_DATA_TYPE));
+
+  private DSLContext context;
+  private RenderedQueryCache renderedQueryCache;
+  private AtomicInteger builds;
+
+  @BeforeEach
+  void beforeEach() {
+    context = DSL.using(SQLDialect.POSTGRES);
+    renderedQueryCache = new RenderedQueryCache(true, 100, new SimpleMeterRegistry());
+    builds = new AtomicInteger();
+  }
+
+  @Test
+  void expectQueryRenderedOncePerShape() {
+    var first = renderedQueryCache.query(context, SHAPE, () -> query("John"), List.of("John"),
+        FIELDS);
+    var second = renderedQueryCache.query(context, SHAPE, () -> query("Jane"), List.of("Jane"),
+        FIELDS);
+
+    assertThat(builds).hasValue(1);
+    assertThat(second.getSQL()).isEqualTo(first.getSQL()).isEqualTo(query("Jane").getSQL());
+    assertThat(second.getBindValues()).containsExactly("Jane");
+  }
+
+  @Test
+  void expectQueryOfFieldsWithAsteriskRenderedEachTime() {
+    List<SelectFieldOrAsterisk> fields = List.of(DSL.asterisk(), DSL.field("scan_copy"));
+
+    renderedQueryCache.query(context, SHAPE, () -> query("John"), List.of("John"), fields);
+    renderedQueryCache.query(context, SHAPE, () -> query("Jane"), List.of("Jane"), fields);
+
+    assertThat(builds).hasValue(2);
+  }
+
+  @Test
+  void expectQueryWithOtherBindValuesRenderedEachTime() {
+    var first = renderedQueryCache.query(context, SHAPE, () -> query("John"), List.of(),
+        FIELDS);
+    var second = renderedQueryCache.query(context, SHAPE, () -> query("Jane"), List.of(),
+        FIELDS);
+
+    assertThat(builds).hasValue(2);
+    assertThat(first.getBindValues()).containsExactly("John");
+    assertThat(second.getBindValues()).containsExactly("Jane");
+  }
+
+  @Test
+  void expectSharedConditionRenderedOnce() {
+    var condition = DSL.field("owner").eq("John");
+
+    assertThat(renderedQueryCache.render(context, condition)).isEqualTo("owner = ?");
+    assertThat(renderedQueryCache.bindValues(context, condition)).containsExactly("John");
+    assertThat(renderedQueryCache.render(context, condition))
+        .isSameAs(renderedQueryCache.render(context, condition));
+  }
+
+  private ResultQuery<Record> query(String name) {
+    builds.incrementAndGet();
+    return context
+        .select(FIELDS)
+        .from(DSL.table("person"))
+        .where(DSL.field("name").eq(name));
+  }
+}
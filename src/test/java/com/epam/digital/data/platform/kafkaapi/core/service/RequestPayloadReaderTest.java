@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.PayloadFormat;
+import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
+import com.epam.digital.data.platform.model.core.kafka.Request;
+import java.nio.charset.StandardCharsets;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+
+class RequestPayloadReaderTest {
+
+  private final RequestPayloadReader requestPayloadReader =
+      new RequestPayloadReader(PayloadFormat.JSON.createObjectMapper());
+
+  @Test
+  void expectPayloadDeserializedIntoResolvedType() {
+    var rawPayload = "{\"payload\":{\"personFullName\":\"Full name\"}}"
+        .getBytes(StandardCharsets.UTF_8);
+
+    var request = requestPayloadReader.<MockEntity>read(rawPayload,
+        ResolvableType.forClass(MockEntity.class));
+
+    assertThat(request.getPayload()).isInstanceOf(MockEntity.class);
+    assertThat(request.getPayload().getPersonFullName()).isEqualTo("Full name");
+  }
+
+  @Test
+  void expectBinaryPayloadDeserializedWithItsFormat() throws Exception {
+    var request = new Request<MockEntity>();
+    var entity = new MockEntity();
+    entity.setPersonFullName("Full name");
+    request.setPayload(entity);
+    var rawPayload = PayloadFormat.CBOR.createObjectMapper().writeValueAsBytes(request);
+
+    var actual = requestPayloadReader.<MockEntity>read(rawPayload, PayloadFormat.CBOR,
+        ResolvableType.forClass(MockEntity.class));
+
+    assertThat(actual.getPayload().getPersonFullName()).isEqualTo("Full name");
+  }
+
+  @Test
+  void expectSerializationExceptionOnMalformedPayload() {
+    var rawPayload = "{".getBytes(StandardCharsets.UTF_8);
+
+    assertThrows(SerializationException.class,
+        () -> requestPayloadReader.read(rawPayload, ResolvableType.forClass(MockEntity.class)));
+  }
+}
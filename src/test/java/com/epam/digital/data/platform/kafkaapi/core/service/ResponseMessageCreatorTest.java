@@ -21,22 +21,29 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.epam.digital.data.platform.integration.ceph.exception.CephCommunicationException;
 import com.epam.digital.data.platform.integration.ceph.exception.MisconfigurationException;
 import com.epam.digital.data.platform.integration.ceph.service.CephService;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.ContentTypeSerializer;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.PayloadFormat;
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.RequestFormatHolder;
 import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
 import com.epam.digital.data.platform.model.core.kafka.Response;
 import com.epam.digital.data.platform.model.core.kafka.ResponseHeaders;
 import com.epam.digital.data.platform.model.core.kafka.Status;
-import org.apache.kafka.common.serialization.Serializer;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageHeaders;
 
 @ExtendWith(MockitoExtension.class)
 class ResponseMessageCreatorTest {
@@ -48,26 +55,35 @@ class ResponseMessageCreatorTest {
   private ResponseMessageCreator responseMessageCreator;
 
   @Mock
-  private Serializer<Response<MockEntity>> valueSerializer;
+  private ContentTypeSerializer<Object> valueSerializer;
   @Mock
   private TraceProvider traceProvider;
   @Mock
   private CephService cephService;
+  @Mock
+  private AsyncCephService asyncCephService;
 
   @BeforeEach
   void beforeEach() {
     responseMessageCreator =
         new ResponseMessageCreator(
-            MAX_ALLOWED_MESSAGE_SIZE, BUCKET_NAME, valueSerializer, cephService, traceProvider);
+            MAX_ALLOWED_MESSAGE_SIZE, BUCKET_NAME, valueSerializer, cephService, Optional.empty(),
+            traceProvider);
 
     when(traceProvider.getRequestId()).thenReturn(REQUEST_ID);
+    when(valueSerializer.getDefaultFormat()).thenReturn(PayloadFormat.JSON);
+  }
+
+  @AfterEach
+  void afterEach() {
+    RequestFormatHolder.reset();
   }
 
   @Test
   void expectNoResponseChangesIfSizeIsSmallerThanMax() {
     var responseToProcess = mockResponse();
     var serializedResponseStr = "qwer";
-    when(valueSerializer.serialize(null, responseToProcess))
+    when(valueSerializer.serialize(PayloadFormat.JSON, responseToProcess))
         .thenReturn(serializedResponseStr.getBytes());
 
     var actualResponseMessage =
@@ -78,11 +94,45 @@ class ResponseMessageCreatorTest {
     assertThat(actualResponseMessage.getPayload()).isEqualTo(responseToProcess);
   }
 
+  @Test
+  void expectResponseInRequestFormat() {
+    RequestFormatHolder.set(PayloadFormat.SMILE);
+    var responseToProcess = mockResponse();
+    when(valueSerializer.serialize(PayloadFormat.SMILE, responseToProcess))
+        .thenReturn("qwer".getBytes());
+
+    var actualResponseMessage =
+        responseMessageCreator.createMessageByPayloadSize(responseToProcess);
+
+    assertThat(actualResponseMessage.getHeaders().get(MessageHeaders.CONTENT_TYPE))
+        .isEqualTo(PayloadFormat.SMILE.getContentType());
+    assertThat(actualResponseMessage.getPayload()).isEqualTo(responseToProcess);
+  }
+
+  @Test
+  void expectJsonSavedToCephForBinaryRequestFormat() {
+    RequestFormatHolder.set(PayloadFormat.CBOR);
+    var responseToProcess = mockResponse();
+    when(valueSerializer.serialize(PayloadFormat.CBOR, responseToProcess))
+        .thenReturn("qwerty".getBytes());
+    when(valueSerializer.serialize(PayloadFormat.JSON, responseToProcess))
+        .thenReturn("{\"json\"}".getBytes());
+
+    var actualResponseMessage =
+        responseMessageCreator.createMessageByPayloadSize(responseToProcess);
+
+    verify(cephService).put(eq(BUCKET_NAME), any(), eq("{\"json\"}"));
+    assertThat(actualResponseMessage.getHeaders().get(MessageHeaders.CONTENT_TYPE))
+        .isEqualTo(PayloadFormat.CBOR.getContentType());
+    assertThat(
+        actualResponseMessage.getHeaders().get(ResponseHeaders.CEPH_RESPONSE_KEY)).isNotNull();
+  }
+
   @Test
   void expectSaveToCephIfSizeIsLargerThanMax() {
     var responseToProcess = mockResponse();
     var serializedResponseStr = "qwerty";
-    when(valueSerializer.serialize(null, responseToProcess))
+    when(valueSerializer.serialize(PayloadFormat.JSON, responseToProcess))
         .thenReturn(serializedResponseStr.getBytes());
 
     var actualResponseMessage =
@@ -104,7 +154,7 @@ class ResponseMessageCreatorTest {
   void expectErrorStatusWhenCephCommunicationException() {
     var responseToProcess = mockResponse();
     var serializedResponseStr = "qwerty";
-    when(valueSerializer.serialize(null, responseToProcess)).thenReturn(
+    when(valueSerializer.serialize(PayloadFormat.JSON, responseToProcess)).thenReturn(
         serializedResponseStr.getBytes());
     doThrow(new CephCommunicationException("", new RuntimeException()))
         .when(cephService)
@@ -126,7 +176,7 @@ class ResponseMessageCreatorTest {
   void expectErrorStatusWhenMisconfigurationException() {
     var responseToProcess = mockResponse();
     var serializedResponseStr = "qwerty";
-    when(valueSerializer.serialize(null, responseToProcess)).thenReturn(
+    when(valueSerializer.serialize(PayloadFormat.JSON, responseToProcess)).thenReturn(
         serializedResponseStr.getBytes());
     doThrow(new MisconfigurationException(""))
         .when(cephService)
@@ -144,6 +194,50 @@ class ResponseMessageCreatorTest {
     assertThat(actualResponsePayload.getDetails()).isNull();
   }
 
+  @Test
+  void expectLargeResponseStoredWithAsyncCephClient() {
+    responseMessageCreator =
+        new ResponseMessageCreator(
+            MAX_ALLOWED_MESSAGE_SIZE, BUCKET_NAME, valueSerializer, cephService,
+            Optional.of(asyncCephService), traceProvider);
+    var responseToProcess = mockResponse();
+    var serializedResponseStr = "qwerty";
+    when(valueSerializer.serialize(PayloadFormat.JSON, responseToProcess)).thenReturn(
+        serializedResponseStr.getBytes());
+    when(asyncCephService.put(eq(BUCKET_NAME), any(), eq(serializedResponseStr)))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    var actualResponseMessage =
+        responseMessageCreator.createMessageByPayloadSizeAsync(responseToProcess).join();
+
+    verifyNoInteractions(cephService);
+    assertThat(actualResponseMessage.getHeaders().get(KafkaHeaders.MESSAGE_KEY))
+        .isEqualTo(REQUEST_ID);
+    assertThat(
+        actualResponseMessage.getHeaders().get(ResponseHeaders.CEPH_RESPONSE_KEY)).isNotNull();
+    assertThat(actualResponseMessage.getPayload().getStatus()).isNull();
+  }
+
+  @Test
+  void expectErrorStatusWhenAsyncCephPutFailed() {
+    responseMessageCreator =
+        new ResponseMessageCreator(
+            MAX_ALLOWED_MESSAGE_SIZE, BUCKET_NAME, valueSerializer, cephService,
+            Optional.of(asyncCephService), traceProvider);
+    var responseToProcess = mockResponse();
+    when(valueSerializer.serialize(PayloadFormat.JSON, responseToProcess))
+        .thenReturn("qwerty".getBytes());
+    when(asyncCephService.put(any(), any(), any())).thenReturn(CompletableFuture.failedFuture(
+        new CephCommunicationException("", new RuntimeException())));
+
+    var actualResponseMessage =
+        responseMessageCreator.createMessageByPayloadSizeAsync(responseToProcess).join();
+
+    assertThat(actualResponseMessage.getHeaders().get(ResponseHeaders.CEPH_RESPONSE_KEY)).isNull();
+    assertThat(actualResponseMessage.getPayload().getStatus())
+        .isEqualTo(Status.THIRD_PARTY_SERVICE_UNAVAILABLE);
+  }
+
   private Response<MockEntity> mockResponse() {
     var response = new Response<MockEntity>();
     response.setPayload(mockPayload());
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SearchResultCacheTest {
+
+  private static final String HANDLER = "handler";
+  private static final String TABLE = "table";
+  private static final Set<String> TABLES = Set.of(TABLE);
+  private static final List<String> ROLES = List.of("officer", "citizen");
+  private static final String CONDITION = "1 = 1";
+
+  @Mock
+  private DatabaseNotificationListener notificationListener;
+
+  private SimpleMeterRegistry meterRegistry;
+  private SearchResultCache searchResultCache;
+  private AtomicInteger searches;
+
+  @BeforeEach
+  void beforeEach() {
+    meterRegistry = new SimpleMeterRegistry();
+    searchResultCache = new SearchResultCache(true, 100, Duration.ofMinutes(1),
+        notificationListener, meterRegistry, new ObjectMapper());
+    searches = new AtomicInteger();
+  }
+
+  @Test
+  void expectResultCachedByNormalizedCriteriaAndSortedRoles() {
+    var criteria = new LinkedHashMap<String, Object>();
+    criteria.put("name", "John");
+    criteria.put("limit", 10);
+
+    search(criteria, ROLES);
+    var result = search(Map.of("limit", 10, "name", "John"), List.of("citizen", "officer"));
+
+    assertThat(result).isEqualTo(1);
+    assertThat(search(Map.of("limit", 20, "name", "John"), ROLES)).isEqualTo(2);
+    assertThat(search(criteria, List.of("citizen"))).isEqualTo(3);
+  }
+
+  @Test
+  void expectResultCachedPerHandlerAndCondition() {
+    search(Map.of(), ROLES);
+
+    assertThat(searchResultCache.get("other", Map.of(), ROLES, CONDITION, TABLES,
+        searches::incrementAndGet)).isEqualTo(2);
+    assertThat(searchResultCache.get(HANDLER, Map.of(), ROLES, "1 = 0", TABLES,
+        searches::incrementAndGet)).isEqualTo(3);
+    assertThat(meterRegistry.find("cache.gets").tag("handler", "other").meters()).isNotEmpty();
+  }
+
+  @Test
+  void expectResultNotFoundAfterTableChanged() {
+    search(Map.of(), ROLES);
+
+    searchResultCache.incrementVersion(TABLE);
+
+    assertThat(search(Map.of(), ROLES)).isEqualTo(2);
+  }
+
+  @Test
+  void expectResultReadDuringTableChangeNotCached() {
+    searchResultCache.get(HANDLER, Map.of(), ROLES, CONDITION, TABLES, () -> {
+      searchResultCache.incrementVersion(TABLE);
+      return searches.incrementAndGet();
+    });
+
+    assertThat(search(Map.of(), ROLES)).isEqualTo(2);
+    assertThat(search(Map.of(), ROLES)).isEqualTo(2);
+  }
+
+  @Test
+  void expectChangeOfRegisteredTableBroadcast() {
+    searchResultCache.incrementVersionOnCommit(TABLE);
+    verifyNoInteractions(notificationListener);
+
+    searchResultCache.registerTables(TABLES);
+    search(Map.of(), ROLES);
+    searchResultCache.incrementVersionOnCommit(TABLE);
+
+    verify(notificationListener).notify(SearchResultCache.INVALIDATION_CHANNEL, TABLE);
+    assertThat(search(Map.of(), ROLES)).isEqualTo(2);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void expectResultNotFoundAfterChangeNotification() {
+    Consumer<String>[] handler = new Consumer[1];
+    doAnswer(invocation -> {
+      handler[0] = invocation.getArgument(1);
+      return null;
+    }).when(notificationListener).subscribe(
+        eq(SearchResultCache.INVALIDATION_CHANNEL), any(), any());
+    searchResultCache.postConstruct();
+    search(Map.of(), ROLES);
+
+    handler[0].accept(TABLE);
+
+    assertThat(search(Map.of(), ROLES)).isEqualTo(2);
+  }
+
+  private Integer search(Object criteria, List<String> roles) {
+    return searchResultCache.get(HANDLER, criteria, roles, CONDITION, TABLES,
+        searches::incrementAndGet);
+  }
+}
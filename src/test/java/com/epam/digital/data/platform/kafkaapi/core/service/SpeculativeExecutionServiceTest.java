@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.kafkaapi.core.exception.ConstraintViolationException;
+import com.epam.digital.data.platform.kafkaapi.core.model.ValidationResult;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+class SpeculativeExecutionServiceTest {
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+  @Mock
+  private TransactionStatus transactionStatus;
+
+  private SimpleMeterRegistry meterRegistry;
+  private SpeculativeExecutionService speculativeExecutionService;
+
+  @BeforeEach
+  void beforeEach() {
+    meterRegistry = new SimpleMeterRegistry();
+    speculativeExecutionService =
+        new SpeculativeExecutionService(true, transactionManager, Runnable::run, meterRegistry);
+  }
+
+  @Test
+  void expectWriteCommittedWhenValidationPassed() {
+    when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+
+    var result = speculativeExecutionService.executeWrite(
+        () -> new ValidationResult(true), () -> "id");
+
+    assertThat(result.getValidationResult().isValid()).isTrue();
+    assertThat(result.getResult()).isEqualTo("id");
+    verify(transactionManager).commit(transactionStatus);
+    assertThat(meterRegistry.get(SpeculativeExecutionService.VALIDATION_WAIT_TIMER)
+        .tag("operation", "write").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void expectWriteRolledBackWhenValidationFailed() {
+    when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+
+    var result = speculativeExecutionService.executeWrite(
+        () -> new ValidationResult(false, Status.INVALID_SIGNATURE), () -> "id");
+
+    assertThat(result.getValidationResult().getStatus()).isEqualTo(Status.INVALID_SIGNATURE);
+    assertThat(result.getResult()).isNull();
+    verify(transactionManager).rollback(transactionStatus);
+    verify(transactionManager, never()).commit(any());
+  }
+
+  @Test
+  void expectValidationFailureTakesPrecedenceOverOperationFailure() {
+    when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+
+    var result = speculativeExecutionService.executeWrite(
+        () -> new ValidationResult(false, Status.JWT_INVALID),
+        () -> {
+          throw new ConstraintViolationException("violation", "details");
+        });
+
+    assertThat(result.getValidationResult().getStatus()).isEqualTo(Status.JWT_INVALID);
+    verify(transactionManager).rollback(transactionStatus);
+  }
+
+  @Test
+  void expectOperationFailureRethrownWhenValidationPassed() {
+    when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+
+    assertThrows(IllegalStateException.class,
+        () -> speculativeExecutionService.executeWrite(
+            () -> new ValidationResult(true),
+            () -> {
+              throw new IllegalStateException();
+            }));
+    verify(transactionManager).rollback(transactionStatus);
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.kafkaapi.core.kafkaserializer.PayloadFormat;
+import com.epam.digital.data.platform.kafkaapi.core.util.MockEntity;
+import com.epam.digital.data.platform.model.core.kafka.ResponseHeaders;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.support.MessageBuilder;
+
+@ExtendWith(MockitoExtension.class)
+class StreamingResponseMessageCreatorTest {
+
+  private static final String REQUEST_ID = "1";
+  private static final Integer MAX_ALLOWED_MESSAGE_SIZE = 1000;
+  private static final String BUCKET_NAME = "name";
+
+  private final ObjectMapper objectMapper = PayloadFormat.JSON.createObjectMapper();
+
+  @Mock
+  private AsyncCephService asyncCephService;
+  @Mock
+  private ResponseMessageCreator responseMessageCreator;
+  @Mock
+  private TraceProvider traceProvider;
+
+  private StreamingResponseMessageCreator streamingResponseMessageCreator;
+
+  @BeforeEach
+  void beforeEach() {
+    streamingResponseMessageCreator = creator(Optional.of(asyncCephService));
+  }
+
+  @Test
+  void expectSmallContentSentAsSpooledJson() throws IOException {
+    when(traceProvider.getRequestId()).thenReturn(REQUEST_ID);
+    when(responseMessageCreator.responseFormat()).thenReturn(PayloadFormat.JSON);
+    mockMessageBuilder();
+
+    var actual = streamingResponseMessageCreator.createMessage(produce(2));
+
+    assertThat(actual.getPayload().getPayload()).isInstanceOf(RawValue.class);
+    JsonNode sentResponse =
+        objectMapper.readTree(objectMapper.writeValueAsBytes(actual.getPayload()));
+    assertThat(sentResponse.get("payload")).hasSize(2);
+    assertThat(sentResponse.get("payload").get(1).get("personFullName").asText())
+        .isEqualTo("name 1");
+    assertThat(sentResponse.get("status").asText()).isEqualTo("SUCCESS");
+    verify(responseMessageCreator, never()).createMessageByPayloadSize(any());
+    verifyNoInteractions(asyncCephService);
+  }
+
+  @Test
+  void expectSmallContentReadIntoTreeForBinaryFormat() {
+    when(traceProvider.getRequestId()).thenReturn(REQUEST_ID);
+    when(responseMessageCreator.responseFormat()).thenReturn(PayloadFormat.CBOR);
+    mockMessageBuilder();
+
+    var actual = streamingResponseMessageCreator.createMessage(produce(2));
+
+    assertThat(actual.getPayload().getStatus()).isEqualTo(Status.SUCCESS);
+    var payload = (JsonNode) actual.getPayload().getPayload();
+    assertThat(payload).hasSize(2);
+    assertThat(payload.get(0).get("personFullName").asText()).isEqualTo("name 0");
+  }
+
+  @Test
+  void expectEmptyContentSentAsEmptyArray() throws IOException {
+    when(traceProvider.getRequestId()).thenReturn(REQUEST_ID);
+    when(responseMessageCreator.responseFormat()).thenReturn(PayloadFormat.JSON);
+    mockMessageBuilder();
+
+    var actual = streamingResponseMessageCreator.createMessage(produce(0));
+
+    JsonNode sentResponse =
+        objectMapper.readTree(objectMapper.writeValueAsBytes(actual.getPayload()));
+    assertThat(sentResponse.get("payload").isArray()).isTrue();
+    assertThat(sentResponse.get("payload")).isEmpty();
+  }
+
+  @Test
+  void expectStreamingRefusedWithoutAsyncClient() {
+    streamingResponseMessageCreator = creator(Optional.empty());
+
+    assertThat(streamingResponseMessageCreator.isAvailable()).isFalse();
+    assertThrows(IllegalStateException.class,
+        () -> streamingResponseMessageCreator.createMessage(produce(2)));
+    verifyNoInteractions(responseMessageCreator);
+  }
+
+  @Test
+  void expectLargeContentUploadedFromSpooledFile() {
+    when(traceProvider.getRequestId()).thenReturn(REQUEST_ID);
+    mockMessageBuilder();
+    var fileCaptor = ArgumentCaptor.forClass(Path.class);
+    when(asyncCephService.put(eq(BUCKET_NAME), startsWith("datafactory-response-"),
+        fileCaptor.capture()))
+        .thenAnswer(invocation -> {
+          var file = invocation.getArgument(2, Path.class);
+          assertThat(Files.size(file)).isGreaterThan(MAX_ALLOWED_MESSAGE_SIZE);
+          JsonNode storedResponse = objectMapper.readTree(file.toFile());
+          assertThat(storedResponse.get("payload")).hasSize(50);
+          assertThat(storedResponse.get("payload").get(49).get("personFullName").asText())
+              .isEqualTo("name 49");
+          assertThat(storedResponse.get("status").asText()).isEqualTo("SUCCESS");
+          return CompletableFuture.completedFuture(null);
+        });
+
+    var actual = streamingResponseMessageCreator.createMessage(produce(50));
+
+    assertThat(actual.getHeaders().get(ResponseHeaders.CEPH_RESPONSE_KEY)).isNotNull();
+    assertThat(actual.getPayload().getPayload()).isNull();
+    assertThat(fileCaptor.getValue()).doesNotExist();
+    verify(responseMessageCreator, never()).createMessageByPayloadSize(any());
+  }
+
+  @Test
+  void expectProducerExceptionRethrown() {
+    Consumer<Consumer<MockEntity>> failingProducer = consumer -> {
+      produce(50).accept(consumer);
+      throw new IllegalStateException("cursor failed");
+    };
+
+    assertThrows(IllegalStateException.class,
+        () -> streamingResponseMessageCreator.createMessage(failingProducer));
+    verifyNoInteractions(asyncCephService);
+  }
+
+  private void mockMessageBuilder() {
+    when(responseMessageCreator.<Object>messageBuilder(any(), eq(REQUEST_ID), any()))
+        .thenAnswer(invocation -> MessageBuilder.withPayload(invocation.getArgument(0)));
+  }
+
+  private StreamingResponseMessageCreator creator(Optional<AsyncCephService> asyncCephService) {
+    return new StreamingResponseMessageCreator(MAX_ALLOWED_MESSAGE_SIZE, BUCKET_NAME, objectMapper,
+        asyncCephService, responseMessageCreator, traceProvider);
+  }
+
+  private Consumer<Consumer<MockEntity>> produce(int count) {
+    return consumer -> {
+      for (int i = 0; i < count; i++) {
+        var entity = new MockEntity();
+        entity.setPersonFullName("name " + i);
+        consumer.accept(entity);
+      }
+    };
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.kafkaapi.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.epam.digital.data.platform.kafkaapi.core.exception.ConstraintViolationException;
+import com.epam.digital.data.platform.model.core.kafka.Status;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class ContinuationTokenUtilsTest {
+
+  private static final UUID ID = UUID.fromString("123e4567-e89b-12d3-a456-426655440000");
+
+  @Test
+  void expectKeyValuesDecodedAsStrings() {
+    var token = ContinuationTokenUtils.encode(List.of("Roman", ID, 42));
+
+    assertThat(ContinuationTokenUtils.decode(token, 3))
+        .containsExactly("Roman", ID.toString(), "42");
+  }
+
+  @Test
+  void expectTokenSafeForUrls() {
+    var token = ContinuationTokenUtils.encode(List.of("??>>", "~~~"));
+
+    assertThat(token).matches("[A-Za-z0-9_-]+");
+  }
+
+  @Test
+  void expectNullKeyValueRejected() {
+    var keyValues = Arrays.asList("Roman", null);
+
+    assertThrows(IllegalArgumentException.class, () -> ContinuationTokenUtils.encode(keyValues));
+  }
+
+  @Test
+  void expectMalformedTokenRejected() {
+    var e = assertThrows(ConstraintViolationException.class,
+        () -> ContinuationTokenUtils.decode("not a token", 1));
+
+    assertThat(e.getKafkaResponseStatus()).isEqualTo(Status.CONSTRAINT_VIOLATION);
+    assertThat(e.getDetails()).isEqualTo("Malformed continuation token");
+  }
+
+  @Test
+  void expectTokenOfNotListRejected() {
+    var token = Base64.getUrlEncoder()
+        .encodeToString("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+
+    var e = assertThrows(ConstraintViolationException.class,
+        () -> ContinuationTokenUtils.decode(token, 1));
+
+    assertThat(e.getDetails()).isEqualTo("Malformed continuation token");
+  }
+
+  @Test
+  void expectTokenOfOtherKeySizeRejected() {
+    var token = ContinuationTokenUtils.encode(List.of("Roman", ID));
+
+    var e = assertThrows(ConstraintViolationException.class,
+        () -> ContinuationTokenUtils.decode(token, 1));
+
+    assertThat(e.getKafkaResponseStatus()).isEqualTo(Status.CONSTRAINT_VIOLATION);
+    assertThat(e.getDetails()).isEqualTo("Continuation token doesn't match the search");
+  }
+
+  @Test
+  void expectTokenWithNullValueRejected() {
+    var token = Base64.getUrlEncoder()
+        .encodeToString("[\"Roman\",null]".getBytes(StandardCharsets.UTF_8));
+
+    var e = assertThrows(ConstraintViolationException.class,
+        () -> ContinuationTokenUtils.decode(token, 2));
+
+    assertThat(e.getDetails()).isEqualTo("Continuation token doesn't match the search");
+  }
+}